@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.parasoft.findings.utils.results.violations.IViolation;
+import com.parasoft.findings.utils.results.violations.XmlReportViolations;
+import com.parasoft.findings.utils.results.violations.XmlReportViolationsImporter;
+
+/**
+ * Scales the static analysis reports in {@code src/test/resources/xml} up to any number of violations for the
+ * benchmarks. The violations of a report are repeated with shifted line numbers, so the generated report has the
+ * same mix of rules, files and violation kinds as the original one.
+ */
+public final class SyntheticReports
+{
+    /**
+     * The directory of the report fixtures, relative to the project directory in which the benchmarks are run.
+     */
+    public static final File FIXTURES_DIR = new File("src/test/resources/xml"); //$NON-NLS-1$
+
+    private static final String VIOLATIONS_START = "<StdViols>"; //$NON-NLS-1$
+    private static final String VIOLATIONS_END = "</StdViols>"; //$NON-NLS-1$
+
+    private static final Pattern VIOLATION = Pattern.compile("<(StdViol|FlowViol|DupViol|MetViol)\\s"); //$NON-NLS-1$
+    private static final Pattern LINE_ATTRIBUTE = Pattern.compile("(\\s(?:ln|locStartln|locEndLn)=\")(\\d+)\""); //$NON-NLS-1$
+
+    private SyntheticReports()
+    {}
+
+    /**
+     * @param fixture       the name of the report in {@link #FIXTURES_DIR}
+     * @param minViolations the minimal number of violations of the generated report, or 0 for the fixture itself
+     * @return the fixture, or a temporary report which is deleted on exit
+     */
+    public static File generate(String fixture, int minViolations)
+            throws IOException
+    {
+        File source = new File(FIXTURES_DIR, fixture);
+        if (minViolations <= 0) {
+            return source;
+        }
+        String content = Files.readString(source.toPath(), StandardCharsets.UTF_8);
+        int start = content.indexOf(VIOLATIONS_START);
+        int end = content.lastIndexOf(VIOLATIONS_END);
+        if (start < 0 || end < start) {
+            throw new IOException("No violations in " + source); //$NON-NLS-1$
+        }
+        start += VIOLATIONS_START.length();
+        String violations = content.substring(start, end);
+        int count = countViolations(violations);
+        if (count == 0) {
+            throw new IOException("No violations in " + source); //$NON-NLS-1$
+        }
+
+        File report = File.createTempFile("parasoft-benchmark", ".xml"); //$NON-NLS-1$ //$NON-NLS-2$
+        report.deleteOnExit();
+        try (Writer writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(content, 0, start);
+            int copies = (minViolations + count - 1) / count;
+            for (int copy = 0; copy < copies; copy++) {
+                writer.write(shiftLines(violations, copy));
+            }
+            writer.write(content, end, content.length() - end);
+        }
+        return report;
+    }
+
+    /**
+     * @return the violations of the given type imported from the report
+     */
+    public static <T extends IViolation> List<T> importViolations(File report, Class<T> type)
+    {
+        List<T> result = new ArrayList<>();
+        XmlReportViolations violations = new XmlReportViolationsImporter(new Properties()).performImport(report);
+        while (violations != null && violations.hasNext()) {
+            IViolation violation = violations.next();
+            if (type.isInstance(violation)) {
+                result.add(type.cast(violation));
+            }
+        }
+        return result;
+    }
+
+    private static int countViolations(String violations)
+    {
+        int count = 0;
+        Matcher matcher = VIOLATION.matcher(violations);
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String shiftLines(String violations, int offset)
+    {
+        if (offset == 0) {
+            return violations;
+        }
+        Matcher matcher = LINE_ATTRIBUTE.matcher(violations);
+        StringBuilder result = new StringBuilder(violations.length() + violations.length() / 16);
+        while (matcher.find()) {
+            int line = Integer.parseInt(matcher.group(2)) + offset;
+            matcher.appendReplacement(result, matcher.group(1) + line + '"');
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Provides the coverage reports for the benchmarks: either one of the test fixtures or a synthetic report whose
+ * number of files, lines per file and branch density are given by a specification like
+ * {@code synthetic:<files>x<linesPerFile>:<branchDensity>}. The synthetic reports are deterministic, so the results
+ * of different commits can be compared.
+ */
+public final class SyntheticCoverageReports {
+    /** The directory of the coverage fixtures, relative to the project directory. */
+    public static final Path FIXTURES_DIR = Paths.get("src/test/resources/com/parasoft/findings/jenkins/coverage");
+
+    private static final String SYNTHETIC_PREFIX = "synthetic:"; // $NON-NLS-1$
+    private static final int FILES_PER_PACKAGE = 10;
+    private static final int LINES_PER_METHOD = 10;
+
+    private SyntheticCoverageReports() {
+    }
+
+    /**
+     * @param specification
+     *         a fixture relative to {@link #FIXTURES_DIR} or {@code synthetic:<files>x<linesPerFile>}
+     *
+     * @return the content of a Parasoft coverage report
+     */
+    public static String getParasoftReport(final String specification) throws IOException {
+        if (!specification.startsWith(SYNTHETIC_PREFIX)) {
+            return Files.readString(FIXTURES_DIR.resolve(specification), StandardCharsets.UTF_8);
+        }
+        String[] dimensions = specification.substring(SYNTHETIC_PREFIX.length()).split("[x:]");
+        return createParasoftReport(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]));
+    }
+
+    /**
+     * @param specification
+     *         a fixture relative to {@link #FIXTURES_DIR} or {@code synthetic:<files>x<linesPerFile>:<branchDensity>}
+     *
+     * @return the content of a Cobertura report
+     */
+    public static String getCoberturaReport(final String specification) throws IOException {
+        if (!specification.startsWith(SYNTHETIC_PREFIX)) {
+            return Files.readString(FIXTURES_DIR.resolve(specification), StandardCharsets.UTF_8);
+        }
+        String[] dimensions = specification.substring(SYNTHETIC_PREFIX.length()).split("[x:]");
+        return createCoberturaReport(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]),
+                dimensions.length > 2 ? Double.parseDouble(dimensions[2]) : 0);
+    }
+
+    /**
+     * Creates a Parasoft line coverage report. Every other line is covered by a test.
+     */
+    public static String createParasoftReport(final int files, final int linesPerFile) {
+        StringBuilder locations = new StringBuilder();
+        StringBuilder coverageData = new StringBuilder();
+        for (int file = 0; file < files; file++) {
+            String uri = String.format("file:///workspace/%s", getFileName(file));
+            locations.append(String.format("<Loc uri=\"%s\" locRef=\"%d\"/>%n", uri, file + 1));
+
+            StringBuilder items = new StringBuilder();
+            StringBuilder statCvgs = new StringBuilder();
+            StringBuilder coveredLines = new StringBuilder();
+            for (int method = 0; method < getMethodCount(linesPerFile); method++) {
+                int itemRef = method + 1;
+                items.append(String.format("<Item name=\"method%d()\" itemRef=\"%d\"/>", method, itemRef));
+                StringBuilder elems = new StringBuilder();
+                StringBuilder hashes = new StringBuilder();
+                for (int line = getFirstLine(method); line <= getLastLine(method, linesPerFile); line++) {
+                    elems.append(line).append(' ');
+                    hashes.append(line * 31).append(' ');
+                    if (line % 2 == 0) {
+                        coveredLines.append(line).append(' ');
+                    }
+                }
+                statCvgs.append(String.format("<StatCvg itemRef=\"%d\" elems=\"%s\" hashes=\"%s\"/>",
+                        itemRef, elems.toString().trim(), hashes.toString().trim()));
+            }
+            coverageData.append(String.format("<CvgData locRef=\"%d\" uri=\"%s\"><Stats>%s</Stats>"
+                            + "<Static>%s</Static><Dynamic><DynCvg><CtxCvg elemRefs=\"%s\" testRefs=\"1\"/></DynCvg>"
+                            + "</Dynamic></CvgData>%n",
+                    file + 1, uri, items, statCvgs, coveredLines.toString().trim()));
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<Coverage ver=\"2\" toolId=\"jtest\" toolDispName=\"Jtest\" toolVer=\"2023.2.0\">\n"
+                + "<Locations>\n" + locations + "</Locations>\n"
+                + "<CoverageData type=\"LC\">\n" + coverageData + "</CoverageData>\n"
+                + "</Coverage>\n";
+    }
+
+    /**
+     * Creates a Cobertura report. Every other line is covered and the given fraction of the lines are branches.
+     */
+    public static String createCoberturaReport(final int files, final int linesPerFile, final double branchDensity) {
+        StringBuilder report = new StringBuilder();
+        report.append("<?xml version=\"1.0\"?>\n")
+                .append("<coverage line-rate=\"0.5\" branch-rate=\"0.5\" version=\"1.9\" timestamp=\"0\">\n")
+                .append("<sources><source>/workspace</source></sources>\n<packages>\n");
+        for (int file = 0; file < files; file++) {
+            if (file % FILES_PER_PACKAGE == 0) {
+                if (file > 0) {
+                    report.append("</classes></package>\n");
+                }
+                report.append(String.format("<package name=\"package%d\" line-rate=\"0.5\" branch-rate=\"0.5\""
+                        + " complexity=\"1.0\"><classes>%n", file / FILES_PER_PACKAGE));
+            }
+            report.append(String.format("<class name=\"package%d.File%d\" filename=\"%s\" line-rate=\"0.5\""
+                    + " branch-rate=\"0.5\" complexity=\"1.0\"><methods>%n",
+                    file / FILES_PER_PACKAGE, file, getFileName(file)));
+            StringBuilder classLines = new StringBuilder();
+            for (int method = 0; method < getMethodCount(linesPerFile); method++) {
+                StringBuilder methodLines = new StringBuilder();
+                for (int line = getFirstLine(method); line <= getLastLine(method, linesPerFile); line++) {
+                    methodLines.append(createCoberturaLine(line, branchDensity));
+                }
+                report.append(String.format("<method name=\"method%d\" signature=\"()V\" line-rate=\"0.5\""
+                        + " branch-rate=\"0.5\" complexity=\"1\"><lines>%n%s</lines></method>%n", method, methodLines));
+                classLines.append(methodLines);
+            }
+            report.append("</methods><lines>\n").append(classLines).append("</lines></class>\n");
+        }
+        if (files > 0) {
+            report.append("</classes></package>\n");
+        }
+        return report.append("</packages>\n</coverage>\n").toString();
+    }
+
+    private static String createCoberturaLine(final int line, final double branchDensity) {
+        int hits = line % 2 == 0 ? line : 0;
+        boolean isBranch = (int) (line * branchDensity) != (int) ((line - 1) * branchDensity);
+        if (!isBranch) {
+            return String.format("<line number=\"%d\" hits=\"%d\" branch=\"false\"/>%n", line, hits);
+        }
+        String conditionCoverage = hits == 0 ? "0% (0/2)" : line % 4 == 0 ? "100% (2/2)" : "50% (1/2)";
+        return String.format("<line number=\"%d\" hits=\"%d\" branch=\"true\" condition-coverage=\"%s\"/>%n",
+                line, hits, conditionCoverage);
+    }
+
+    private static String getFileName(final int file) {
+        return String.format("package%d/File%d.java", file / FILES_PER_PACKAGE, file);
+    }
+
+    private static int getMethodCount(final int linesPerFile) {
+        return Math.max(1, (linesPerFile + LINES_PER_METHOD - 1) / LINES_PER_METHOD);
+    }
+
+    private static int getFirstLine(final int method) {
+        return method * LINES_PER_METHOD + 1;
+    }
+
+    private static int getLastLine(final int method, final int linesPerFile) {
+        return Math.min((method + 1) * LINES_PER_METHOD, Math.max(linesPerFile, 1));
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+
+import edu.hm.hafner.util.FilteredLog;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.xml.sax.InputSource;
+
+import com.parasoft.findings.jenkins.coverage.SyntheticCoverageReports;
+import com.parasoft.findings.jenkins.coverage.api.metrics.source.SourceCodePainter;
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
+
+import hudson.FilePath;
+import hudson.model.FreeStyleBuild;
+
+import io.jenkins.plugins.prism.SourceCodeRetention;
+
+/**
+ * Measures each stage of recording coverage results on its own: the conversion of Parasoft reports to Cobertura,
+ * parsing Cobertura reports, merging the coverage trees, resolving and painting the source files, writing and
+ * reading the stored tree, and filtering the tree by modified lines.
+ * <p>
+ * Reports are given as fixtures relative to {@link SyntheticCoverageReports#FIXTURES_DIR} or as synthetic reports
+ * like {@code -p report=synthetic:10000x200:0.25}, see {@link SyntheticCoverageReports}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CoveragePipelineBenchmark {
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+    private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
+    private static final String SOURCES_ID = "parasoft-coverage";
+    private static final int MERGED_REPORTS = 4;
+    private static final int MODIFIED_LINES_STEP = 10;
+
+    /**
+     * A Parasoft coverage report to convert.
+     */
+    @State(Scope.Benchmark)
+    public static class ParasoftReport {
+        @Param({"parasoft_coverage.xml", "synthetic:1000x100"})
+        public String parasoftReport;
+
+        private String xsl;
+        private String content;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            xsl = IOUtils.toString(Objects.requireNonNull(
+                    CoveragePipelineBenchmark.class.getResourceAsStream(COBERTURA_XSL)), StandardCharsets.UTF_8);
+            content = SyntheticCoverageReports.getParasoftReport(parasoftReport);
+        }
+    }
+
+    /**
+     * A Cobertura report with everything the later stages need: the parsed trees, a workspace with the source files
+     * of the report and the tree as stored in a build.
+     */
+    @State(Scope.Benchmark)
+    public static class CoberturaReport {
+        @Param({"model/parser/cobertura-lots-of-data.xml",
+                "api/metrics/steps/forensics_integration.xml",
+                "api/metrics/steps/forensics_integration_reference.xml",
+                "synthetic:1000x100:0.1"})
+        public String report;
+
+        private String content;
+        private Node tree;
+        private List<Node> reports;
+        private Node modifiedTree;
+        private Path workspace;
+        private Path buildRoot;
+        private FreeStyleBuild build;
+        private Path storedTree;
+        private Path writtenTree;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            content = SyntheticCoverageReports.getCoberturaReport(report);
+            tree = parse(content);
+            reports = new ArrayList<>();
+            for (int i = 0; i < MERGED_REPORTS; i++) {
+                reports.add(parse(content));
+            }
+
+            modifiedTree = tree.copyTree();
+            for (FileNode file : modifiedTree.getAllFileNodes()) {
+                file.getLinesWithCoverage().stream()
+                        .filter(line -> line % MODIFIED_LINES_STEP == 0)
+                        .forEach(line -> file.addModifiedLines(line));
+            }
+
+            workspace = Files.createTempDirectory("coverage-benchmark-workspace");
+            for (FileNode file : tree.getAllFileNodes()) {
+                Path source = workspace.resolve(file.getRelativePath());
+                Files.createDirectories(source.getParent());
+                int lines = file.getLinesWithCoverage().isEmpty() ? 1 : file.getLinesWithCoverage().last();
+                Files.write(source, Collections.nCopies(lines, "        int value = compute(value);"),
+                        StandardCharsets.UTF_8);
+            }
+            buildRoot = Files.createTempDirectory("coverage-benchmark-build");
+            build = Mockito.mock(FreeStyleBuild.class);
+            Mockito.when(build.getRootDir()).thenReturn(buildRoot.toFile());
+
+            storedTree = buildRoot.resolve("coverage.xml");
+            new CoverageXmlStream().write(storedTree, tree);
+            writtenTree = buildRoot.resolve("written.xml");
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileUtils.deleteDirectory(workspace.toFile());
+            FileUtils.deleteDirectory(buildRoot.toFile());
+        }
+    }
+
+    @Benchmark
+    public void convert(final ParasoftReport state) throws Exception {
+        Map<QName, XdmValue> params = Map.of(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue("/workspace"));
+        new ConversionService().convert(new StreamSource(new StringReader(state.xsl)),
+                new InputSource(new StringReader(state.content)), OutputStream.nullOutputStream(), params);
+    }
+
+    @Benchmark
+    public ModuleNode parse(final CoberturaReport state) {
+        return parse(state.content);
+    }
+
+    @Benchmark
+    public Node merge(final CoberturaReport state) {
+        return Node.merge(state.reports);
+    }
+
+    @Benchmark
+    public Map<String, String> resolvePaths(final CoberturaReport state) throws InterruptedException {
+        return new PathResolver().resolvePaths(state.tree.getFiles(), new FilePath(state.workspace.toFile()),
+                createLog());
+    }
+
+    @Benchmark
+    public void paintSources(final CoberturaReport state) throws InterruptedException {
+        new SourceCodePainter(state.build, new FilePath(state.workspace.toFile()), SOURCES_ID)
+                .processSourceCodePainting(state.tree, state.tree.getAllFileNodes(), "UTF-8",
+                        SourceCodeRetention.EVERY_BUILD, createLog());
+    }
+
+    @Benchmark
+    public void writeTree(final CoberturaReport state) {
+        new CoverageXmlStream().write(state.writtenTree, state.tree);
+    }
+
+    @Benchmark
+    public Node readTree(final CoberturaReport state) {
+        return new CoverageXmlStream().read(state.storedTree);
+    }
+
+    @Benchmark
+    public Node filterByModifiedLines(final CoberturaReport state) {
+        return state.modifiedTree.filterByModifiedLines();
+    }
+
+    private static ModuleNode parse(final String content) {
+        return new CoberturaParser().parse(new StringReader(content), createLog());
+    }
+
+    private static FilteredLog createLog() {
+        return new FilteredLog("Errors in coverage benchmark:");
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import edu.hm.hafner.util.FilteredLog;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.parasoft.findings.jenkins.coverage.SyntheticCoverageReports;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageTableModel.CoverageRow;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageViewModel.CoverageOverview;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
+
+import hudson.model.Run;
+
+import io.jenkins.plugins.datatables.TableModel;
+
+/**
+ * Measures loading the coverage details page of a build: creating the {@link CoverageViewModel}, the overview chart
+ * and all rows of the coverage tables. The page is loaded for a tree that has just been read from the build and for a
+ * tree that has already been shown before.
+ * <p>
+ * Reports are given as fixtures relative to {@link SyntheticCoverageReports#FIXTURES_DIR} or as synthetic reports
+ * like {@code -p report=synthetic:50000x100:0.1}, see {@link SyntheticCoverageReports}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CoverageViewModelBenchmark {
+    private static final int MODIFIED_LINES_STEP = 10;
+
+    /**
+     * The coverage tree of a build along with the build folder.
+     */
+    @State(Scope.Benchmark)
+    public static class CoverageTree {
+        @Param({"model/parser/cobertura-lots-of-data.xml", "synthetic:5000x100:0.1"})
+        public String report;
+
+        private Node tree;
+        private Node loadedTree;
+        private Path buildRoot;
+        private Run<?, ?> build;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            tree = new CoberturaParser().parse(
+                    new StringReader(SyntheticCoverageReports.getCoberturaReport(report)), createLog());
+            for (FileNode file : tree.getAllFileNodes()) {
+                file.getLinesWithCoverage().stream()
+                        .filter(line -> line % MODIFIED_LINES_STEP == 0)
+                        .forEach(line -> file.addModifiedLines(line));
+            }
+
+            buildRoot = Files.createTempDirectory("coverage-benchmark-build");
+            build = Mockito.mock(Run.class);
+            Mockito.when(build.getRootDir()).thenReturn(buildRoot.toFile());
+        }
+
+        @Setup(Level.Invocation)
+        public void loadTree() {
+            loadedTree = tree.copyTree();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            FileUtils.deleteDirectory(buildRoot.toFile());
+        }
+    }
+
+    @Benchmark
+    public void loadFirstPage(final CoverageTree state, final Blackhole blackhole) {
+        loadPage(state.build, state.loadedTree, blackhole);
+    }
+
+    @Benchmark
+    public void reloadPage(final CoverageTree state, final Blackhole blackhole) {
+        loadPage(state.build, state.tree, blackhole);
+    }
+
+    @Benchmark
+    public void aggregateValues(final CoverageTree state, final Blackhole blackhole) {
+        blackhole.consume(state.loadedTree.aggregateValues());
+    }
+
+    private static void loadPage(final Run<?, ?> build, final Node tree, final Blackhole blackhole) {
+        var model = new CoverageViewModel(build, "coverage", StringUtils.EMPTY, tree, createLog(), i -> i);
+
+        CoverageOverview overview = model.getOverview();
+        blackhole.consume(overview.getMetrics());
+        blackhole.consume(overview.getCovered());
+        blackhole.consume(overview.getMissed());
+
+        consumeRows(model.getTableModel(CoverageViewModel.ABSOLUTE_COVERAGE_TABLE_ID), blackhole);
+        consumeRows(model.getTableModel(CoverageViewModel.MODIFIED_LINES_COVERAGE_TABLE_ID), blackhole);
+    }
+
+    private static void consumeRows(final TableModel table, final Blackhole blackhole) {
+        for (Object row : table.getRows()) {
+            var coverageRow = (CoverageRow) row;
+            blackhole.consume(coverageRow.getPackageName());
+            blackhole.consume(coverageRow.getCoverageOfNode(Metric.LINE));
+            blackhole.consume(coverageRow.getCoverageOfNode(Metric.BRANCH));
+            blackhole.consume(coverageRow.getLoc());
+            blackhole.consume(coverageRow.getComplexity());
+        }
+    }
+
+    private static FilteredLog createLog() {
+        return new FilteredLog("Errors in coverage benchmark:");
+    }
+}
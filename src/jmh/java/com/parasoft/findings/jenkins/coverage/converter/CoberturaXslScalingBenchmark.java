@@ -0,0 +1,80 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.converter;
+
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import javax.xml.transform.stream.StreamSource;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.parasoft.findings.jenkins.coverage.SyntheticCoverageReports;
+
+/**
+ * Measures how the conversion of Parasoft reports with {@code cobertura.xsl} scales with the number of files. The
+ * stylesheet is compiled once, so only the transformation is measured. Since the stylesheet looks up the coverage
+ * data of each location and item by key, the time per conversion should grow linearly with the number of files,
+ * i.e. the largest report should take about eight times as long as the smallest one.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CoberturaXslScalingBenchmark {
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+    private static final int LINES_PER_FILE = 12;
+
+    @Param({"250", "500", "1000", "2000"})
+    public int files;
+
+    private Processor processor;
+    private XsltExecutable stylesheet;
+    private String report;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        processor = new Processor(false);
+        stylesheet = processor.newXsltCompiler().compile(new StreamSource(Paths.get(Objects.requireNonNull(
+                CoberturaXslScalingBenchmark.class.getResource(COBERTURA_XSL)).toURI()).toFile()));
+        report = SyntheticCoverageReports.createParasoftReport(files, LINES_PER_FILE);
+    }
+
+    @Benchmark
+    public void convert() throws SaxonApiException {
+        stylesheet.load30().transform(new StreamSource(new StringReader(report)),
+                processor.newSerializer(OutputStream.nullOutputStream()));
+    }
+}
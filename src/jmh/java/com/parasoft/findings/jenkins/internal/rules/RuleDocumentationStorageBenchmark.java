@@ -0,0 +1,90 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures storing the documentation of a rule from a local rules directory or archive into an empty build
+ * directory. A new storage and build directory are set up for each invocation, as a rule is stored only once.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class RuleDocumentationStorageBenchmark
+{
+    private static final String ANALYZER = "com.parasoft.jtest.standards.checkers.java"; //$NON-NLS-1$
+    private static final String RULE_ID = "APSC_DV.000160.SRD"; //$NON-NLS-1$
+
+    @Param({"src/test/resources/rule", "src/test/resources/rule/doc.zip"})
+    public String rules;
+
+    private Properties _settings;
+    private File _buildRoot;
+    private RuleDocumentationStorage _storage;
+
+    @Setup(Level.Trial)
+    public void setUpSettings()
+            throws IOException
+    {
+        _settings = new Properties();
+        _settings.put("report.rules", new File(rules).toURI().toURL().getPath()); //$NON-NLS-1$
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp()
+            throws IOException
+    {
+        _buildRoot = Files.createTempDirectory("parasoft-benchmark").toFile(); //$NON-NLS-1$
+        _storage = new RuleDocumentationStorage(_buildRoot, _settings);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown()
+            throws IOException
+    {
+        FileUtils.deleteDirectory(_buildRoot);
+    }
+
+    @Benchmark
+    public void storeRuleDoc()
+    {
+        _storage.storeRuleDoc(ANALYZER, RULE_ID);
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.parasoft.findings.jenkins.benchmark.SyntheticReports;
+import com.parasoft.findings.utils.results.violations.IViolation;
+import com.parasoft.findings.utils.results.violations.XmlReportViolations;
+import com.parasoft.findings.utils.results.violations.XmlReportViolationsImporter;
+import com.parasoft.findings.utils.results.xml.RulesImportHandler;
+
+import edu.hm.hafner.analysis.FileReaderFactory;
+import edu.hm.hafner.analysis.Report;
+
+/**
+ * Measures the import of static analysis reports: {@link ParasoftParser#parse} reads a report file and converts its
+ * violations, {@link ParasoftParser#convert} only converts violations imported in advance.
+ * <p>
+ * Besides the operations per second, the {@code violations} counter reports the converted violations per second.
+ * Reports with millions of violations are generated with {@code -p violations=1000000}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ParasoftParserBenchmark
+{
+    @Param({"jtest_10.5.2_static.xml", "jTest_10_static_with_annotations.xml", "cppTest_10.4.2_engine_metrics.xml"})
+    public String fixture;
+
+    // 0 for the fixture as it is
+    @Param({"0", "100000"})
+    public int violations;
+
+    private File _report;
+    private ParasoftParser _parser;
+    private List<IViolation> _imported;
+    private RulesImportHandler _rulesImportHandler;
+
+    @Setup(Level.Trial)
+    public void setUp()
+            throws IOException
+    {
+        _report = SyntheticReports.generate(fixture, violations);
+        _parser = new ParasoftParser(new Properties(), null);
+
+        XmlReportViolations importedData = new XmlReportViolationsImporter(new Properties()).performImport(_report);
+        _imported = new ArrayList<>();
+        while (importedData.hasNext()) {
+            _imported.add(importedData.next());
+        }
+        _rulesImportHandler = importedData.getRulesImportHandler();
+    }
+
+    @Benchmark
+    public Report parse(ViolationCounter counter)
+    {
+        Report report = _parser.parse(new FileReaderFactory(_report.toPath(), StandardCharsets.UTF_8));
+        counter.violations += report.getSize();
+        return report;
+    }
+
+    @Benchmark
+    public Report convert(ViolationCounter counter)
+    {
+        Report report = _parser.convert(_imported.iterator(), _rulesImportHandler);
+        counter.violations += report.getSize();
+        return report;
+    }
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class ViolationCounter
+    {
+        public long violations;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            violations = 0;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.parasoft.findings.jenkins.benchmark.SyntheticReports;
+import com.parasoft.findings.utils.results.violations.DupCodeViolation;
+import com.parasoft.findings.utils.results.violations.IFlowAnalysisViolation;
+
+/**
+ * Measures building the paths of flow analysis and duplicate code violations, and rendering the call hierarchy of
+ * a deeply nested flow analysis path. The violations are imported from the fixtures in advance, scaled with
+ * {@code -p violations=...}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class ViolationPathBenchmark
+{
+    private static final String FLOW_FIXTURE = "jTest_10_static_with_annotations.xml"; //$NON-NLS-1$
+    private static final String DUP_FIXTURE = "jTest_10_static_code_dup.xml"; //$NON-NLS-1$
+
+    @State(Scope.Benchmark)
+    public static class FlowViolations
+    {
+        // 0 for the violations of the fixture as they are
+        @Param({"0", "100000"})
+        public int violations;
+
+        List<IFlowAnalysisViolation> _violations;
+        ExecutorService _executor;
+
+        @Setup(Level.Trial)
+        public void setUp()
+                throws IOException
+        {
+            _violations = SyntheticReports.importViolations(SyntheticReports.generate(FLOW_FIXTURE, violations),
+                    IFlowAnalysisViolation.class);
+            _executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown()
+        {
+            _executor.shutdownNow();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DupViolations
+    {
+        // 0 for the violations of the fixture as they are
+        @Param({"0", "100000"})
+        public int violations;
+
+        List<DupCodeViolation> _violations;
+
+        @Setup(Level.Trial)
+        public void setUp()
+                throws IOException
+        {
+            _violations = SyntheticReports.importViolations(SyntheticReports.generate(DUP_FIXTURE, violations),
+                    DupCodeViolation.class);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class DeepPath
+    {
+        @Param({"50", "500"})
+        public int depth;
+    }
+
+    @Benchmark
+    public void buildFlowPaths(FlowViolations state, Blackhole blackhole)
+    {
+        FilePathDictionary files = new FilePathDictionary();
+        for (IFlowAnalysisViolation violation : state._violations) {
+            blackhole.consume(new FlowAnalysisPathBuilder(violation, null, files).getPath());
+        }
+    }
+
+    @Benchmark
+    public void buildFlowPathsInParallel(FlowViolations state, Blackhole blackhole)
+    {
+        FlowAnalysisPathStage stage = new FlowAnalysisPathStage(null, state._executor);
+        for (IFlowAnalysisViolation violation : state._violations) {
+            FlowIssueAdditionalProperties properties = new FlowIssueAdditionalProperties();
+            stage.add(violation, properties);
+            blackhole.consume(properties);
+        }
+        stage.flush();
+    }
+
+    @Benchmark
+    public void buildDupCodePaths(DupViolations state, Blackhole blackhole)
+    {
+        for (DupCodeViolation violation : state._violations) {
+            blackhole.consume(new DupCodePathBuilder(violation, "parent").getPath()); //$NON-NLS-1$
+        }
+    }
+
+    @Benchmark
+    public String renderDeepCallHierarchy(DeepPath state)
+    {
+        FlowAnalysisPath.Builder builder = new FlowAnalysisPath.Builder(new FilePathDictionary());
+        int[] elements = new int[state.depth];
+        for (int i = 0; i < state.depth; i++) {
+            elements[i] = builder.addElement("src/Foo.java", i + 1, i + 1, 0, 0, "call " + i, null, false); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        for (int i = state.depth - 1; i >= 0; i--) {
+            builder.endElement(elements[i]);
+        }
+        // a new path each time, so it is rendered instead of taken from the cache
+        return builder.build().getCallHierarchy(null);
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import hudson.util.ListBoxModel;
+import org.jvnet.localizer.Localizable;
+
+/**
+ * Defines how Parasoft coverage reports are processed by {@link ParasoftCoverageRecorder}.
+ */
+public enum CoverageProcessingMode {
+    /** Converts the reports to intermediate Cobertura reports with XSLT and parses these reports afterwards. */
+    XSLT(Messages._ProcessingMode_Xslt()),
+    /** Parses the reports directly in a single pass, no intermediate reports are created. */
+    STREAMING(Messages._ProcessingMode_Streaming()),
+    /**
+     * Converts the reports with XSLT and streams the Cobertura output directly into the Cobertura parser, no
+     * intermediate reports are written to the workspace.
+     */
+    PIPED(Messages._ProcessingMode_Piped());
+
+    private final Localizable displayName;
+
+    CoverageProcessingMode(final Localizable displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName.toString();
+    }
+
+    /**
+     * Returns all available processing modes as a {@link ListBoxModel}.
+     *
+     * @return the processing modes
+     */
+    public static ListBoxModel getItems() {
+        ListBoxModel items = new ListBoxModel();
+        for (CoverageProcessingMode mode : values()) {
+            items.add(mode.getDisplayName(), mode.name());
+        }
+        return items;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import edu.hm.hafner.util.FilteredLog;
+import hudson.remoting.VirtualChannel;
+import io.jenkins.plugins.util.AgentFileVisitor;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.File;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link AgentFileVisitor} which processes the matched files concurrently with a bounded number of workers.
+ * The files are collected by the default file visiting and processed afterward in a fixed thread pool. Each file is
+ * logged into its own {@link FilteredLog}, the logs and results are merged in the order the files have been found, so
+ * the output is the same as with sequential processing.
+ *
+ * @param <T> type of the results
+ */
+public abstract class ParallelAgentFileVisitor<T extends Serializable> extends AgentFileVisitor<T> {
+    private static final long serialVersionUID = -3214402580391752396L;
+
+    private final int workerCount;
+
+    private transient List<Path> pendingFiles;
+    private transient Charset pendingCharset;
+
+    protected ParallelAgentFileVisitor(final String filePattern, final String encoding,
+                                       final boolean followSymbolicLinks, final boolean errorOnEmptyFiles,
+                                       final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, errorOnEmptyFiles);
+
+        this.workerCount = Math.max(workerCount, 1);
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    @Override
+    public FileVisitorResult<T> invoke(final File workspace, final VirtualChannel channel) {
+        if (workerCount == 1) {
+            return super.invoke(workspace, channel);
+        }
+
+        pendingFiles = new ArrayList<>();
+        try {
+            FileVisitorResult<T> visitorResult = super.invoke(workspace, channel);
+            FilteredLog log = visitorResult.getLog();
+            List<T> results = new ArrayList<>(visitorResult.getResults());
+            processPendingFiles(results, log);
+            return new FileVisitorResult<>(log, results);
+        } finally {
+            pendingFiles = null;
+        }
+    }
+
+    @Override
+    protected final Optional<T> processFile(final Path file, final Charset charset, final FilteredLog log) {
+        if (pendingFiles != null) {
+            pendingFiles.add(file);
+            pendingCharset = charset;
+            return Optional.empty();
+        }
+        return processReportFile(file, charset, log);
+    }
+
+    /**
+     * Processes the specified file. Might be called concurrently for different files.
+     *
+     * @param file    the file to process
+     * @param charset the charset to use when reading the file
+     * @param log     the log of this file
+     * @return the result of the file, or an empty optional if the file could not be processed
+     */
+    protected abstract Optional<T> processReportFile(Path file, Charset charset, FilteredLog log);
+
+    private void processPendingFiles(final List<T> results, final FilteredLog log) {
+        if (pendingFiles.isEmpty()) {
+            return;
+        }
+
+        int poolSize = Math.min(workerCount, pendingFiles.size());
+        log.logInfo("Processing %s with %s", plural(pendingFiles.size(), "file"), plural(poolSize, "worker"));
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<FileResult<T>>> futures = new ArrayList<>();
+            for (Path file : pendingFiles) {
+                Charset charset = pendingCharset;
+                futures.add(executor.submit(() -> {
+                    FilteredLog fileLog = new FilteredLog("Errors while processing file '" + file + "':");
+                    return new FileResult<>(processReportFile(file, charset, fileLog), fileLog);
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    FileResult<T> fileResult = futures.get(i).get();
+                    log.merge(fileResult.log);
+                    fileResult.result.ifPresent(results::add);
+                } catch (ExecutionException exception) {
+                    log.logError("Processing of file '%s' failed due to an exception: %s",
+                            pendingFiles.get(i), ExceptionUtils.getRootCauseMessage(exception));
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            log.logError("Processing of files has been interrupted");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String plural(final int count, final String noun) {
+        return count + " " + (count == 1 ? noun : noun + "s");
+    }
+
+    private static class FileResult<T> {
+        private final Optional<T> result;
+        private final FilteredLog log;
+
+        FileResult(final Optional<T> result, final FilteredLog log) {
+            this.result = result;
+            this.log = log;
+        }
+    }
+}
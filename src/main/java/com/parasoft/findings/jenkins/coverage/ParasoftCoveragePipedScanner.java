@@ -0,0 +1,133 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.xml.sax.InputSource;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Converts Parasoft coverage reports with XSLT and parses the Cobertura output on the agent. The output of the
+ * conversion is streamed through a bounded pipe into {@link CoberturaParser}, so no intermediate Cobertura report
+ * is written to the workspace.
+ */
+public class ParasoftCoveragePipedScanner extends ParallelAgentFileVisitor<ModuleNode> {
+    private static final long serialVersionUID = 4725216520913624107L;
+
+    private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
+    private static final int PIPE_SIZE = 64 * 1024;
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
+
+    private final String xslContent;
+    private final String workspaceLoc;
+
+    public ParasoftCoveragePipedScanner(final String filePattern, final String xslContent, final String workspaceLoc,
+                                        final String encoding, final boolean followSymbolicLinks,
+                                        final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
+
+        this.xslContent = xslContent;
+        this.workspaceLoc = workspaceLoc;
+    }
+
+    @Override
+    protected Optional<ModuleNode> processReportFile(final Path file, final Charset charset, final FilteredLog log) {
+        try (InputStream input = ParasoftCoverageReportScanner.openReportFile(file)) {
+            Map<QName, XdmValue> params = Map.of(new QName(WORKING_DIRECTORY_PARAM),
+                    new XdmAtomicValue(ParasoftCoverageReportScanner.getCanonicalPath(workspaceLoc)));
+            ModuleNode node = convertAndParse(input, params, log);
+            log.logInfo("Successfully converted and parsed Parasoft coverage report file '%s'",
+                    PATH_UTIL.getAbsolutePath(file));
+            return Optional.of(node);
+        } catch (Exception exception) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to ensure exceptions during coverage report processing don't cause the build to fail."
+            log.logError("Parsing of Parasoft coverage report file '%s' failed due to an exception: %s",
+                    file, ExceptionUtils.getRootCauseMessage(exception));
+            return Optional.empty();
+        }
+    }
+
+    private ModuleNode convertAndParse(final InputStream input, final Map<QName, XdmValue> params,
+                                       final FilteredLog log) throws IOException, InterruptedException {
+        AtomicReference<Exception> conversionFailure = new AtomicReference<>();
+        AtomicBoolean pipeClosedByParser = new AtomicBoolean();
+        try (PipedInputStream pipedInput = new PipedInputStream(PIPE_SIZE)) {
+            PipedOutputStream pipedOutput = new PipedOutputStream(pipedInput);
+            Thread converter = new Thread(() -> {
+                try (pipedOutput) {
+                    new ConversionService().convert(new StreamSource(new StringReader(xslContent)),
+                            new InputSource(input), pipedOutput, params);
+                } catch (Exception exception) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to report the conversion failure to the parsing thread."
+                    // A failure after the parser closed the pipe is caused by the closed pipe, not by the report
+                    if (!pipeClosedByParser.get()) {
+                        conversionFailure.set(exception);
+                    }
+                }
+            }, "Parasoft coverage conversion");
+            converter.setDaemon(true);
+            converter.start();
+
+            ModuleNode node;
+            try (Reader reader = new InputStreamReader(pipedInput, StandardCharsets.UTF_8)) {
+                node = new CoberturaParser().parse(reader, log);
+                // Consume the remaining output, otherwise the conversion fails writing to a closed pipe
+                pipedInput.transferTo(OutputStream.nullOutputStream());
+            } catch (RuntimeException exception) {
+                // Closing the pipe stops the conversion if the parser fails before all output is consumed
+                pipeClosedByParser.set(true);
+                pipedInput.close();
+                converter.join();
+                if (conversionFailure.get() == null) {
+                    throw exception;
+                }
+                // The conversion failed first, so the parser just saw the truncated output
+                IOException failure = new IOException(conversionFailure.get());
+                failure.addSuppressed(exception);
+                throw failure;
+            }
+            converter.join();
+            if (conversionFailure.get() != null) {
+                throw new IOException(conversionFailure.get());
+            }
+            return node;
+        }
+    }
+}
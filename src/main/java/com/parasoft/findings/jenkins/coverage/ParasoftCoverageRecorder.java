@@ -35,6 +35,7 @@ import hudson.tasks.Publisher;
 import hudson.tasks.Recorder;
 import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 import io.jenkins.plugins.util.*;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -58,6 +59,7 @@ public class ParasoftCoverageRecorder extends Recorder {
     public static final String PARASOFT_COVERAGE_ID = "parasoft-coverage"; // $NON-NLS-1$
     public static final String PARASOFT_COVERAGE_NAME = "Parasoft Coverage"; // $NON-NLS-1$
     static final String DEFAULT_PATTERN = "**/coverage.xml"; // $NON-NLS-1$
+    static final int DEFAULT_WORKER_COUNT = 1;
     private static final String COBERTURA_XSL_NAME = "cobertura.xsl"; // $NON-NLS-1$
     private static final String FILE_PATTERN_SEPARATOR = ","; // $NON-NLS-1$
     private static final ValidationUtilities VALIDATION_UTILITIES = new ValidationUtilities();
@@ -67,6 +69,8 @@ public class ParasoftCoverageRecorder extends Recorder {
     private List<CoverageQualityGate> coverageQualityGates = new ArrayList<>();
     private String referenceJob = StringUtils.EMPTY;
     private String referenceBuild = StringUtils.EMPTY;
+    private CoverageProcessingMode processingMode = CoverageProcessingMode.XSLT;
+    private int workerCount = DEFAULT_WORKER_COUNT;
 
     @DataBoundConstructor
     public ParasoftCoverageRecorder() {
@@ -134,6 +138,32 @@ public class ParasoftCoverageRecorder extends Recorder {
         return referenceBuild;
     }
 
+    @DataBoundSetter
+    public void setProcessingMode(final CoverageProcessingMode processingMode) {
+        this.processingMode = processingMode;
+    }
+
+    public CoverageProcessingMode getProcessingMode() {
+        // Null for jobs which have been configured before the processing mode was introduced
+        return processingMode == null ? CoverageProcessingMode.XSLT : processingMode;
+    }
+
+    /**
+     * Sets the number of workers used on the agent to process the matched coverage report files concurrently.
+     * A value of 1 processes the files one after another.
+     *
+     * @param workerCount the number of workers
+     */
+    @DataBoundSetter
+    public void setWorkerCount(final int workerCount) {
+        this.workerCount = Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
+    public int getWorkerCount() {
+        // 0 for jobs which have been configured before the worker count was introduced
+        return Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
     @Override
     public BuildStepMonitor getRequiredMonitorService() {
         return BuildStepMonitor.NONE;
@@ -192,6 +222,10 @@ public class ParasoftCoverageRecorder extends Recorder {
 
     private List<Node> recordCoverageResults(final Run<?, ?> run, final FilePath workspace,
                                              final FilteredLogChain logChain) throws InterruptedException {
+        if (getProcessingMode() != CoverageProcessingMode.XSLT) {
+            return recordParasoftCoverageResults(run, workspace, logChain);
+        }
+
         // Return Cobertura patterns and temporary coverage directories for this build.
         CoverageConversionResult coverageConversionResult = convertParasoftCoverageReportToCobertura(run, workspace, logChain);
 
@@ -237,6 +271,41 @@ public class ParasoftCoverageRecorder extends Recorder {
         }
     }
 
+    private List<Node> recordParasoftCoverageResults(final Run<?, ?> run, final FilePath workspace,
+                                                     final FilteredLogChain logChain) throws InterruptedException {
+        FilteredLog log = logChain.addNewFilteredLog("Errors while parsing Parasoft code coverage:");
+        log.logInfo("Processing Parasoft coverage report...");
+        try {
+            List<Node> results = new ArrayList<>();
+            try {
+                AgentFileVisitor.FileVisitorResult<ModuleNode> result = workspace.act(
+                        createParasoftCoverageScanner(resolvePattern(run, log), workspace));
+                log.merge(result.getLog());
+
+                if (result.hasErrors()) {
+                    log.logInfo("Ignore errors and continue processing");
+                }
+                results.addAll(result.getResults());
+            } catch (IOException exception) {
+                log.logError("Exception while processing Parasoft coverage report: %s", ExceptionUtils.getRootCauseMessage(exception)); // $NON-NLS-1$
+            }
+
+            return results;
+        } finally {
+            logChain.getLogHandler().log(log);
+        }
+    }
+
+    private ParallelAgentFileVisitor<ModuleNode> createParasoftCoverageScanner(final String expandedPattern,
+                                                                             final FilePath workspace) throws IOException {
+        if (getProcessingMode() == CoverageProcessingMode.PIPED) {
+            return new ParasoftCoveragePipedScanner(expandedPattern, getCoberturaXslContent(), workspace.getRemote(),
+                    StandardCharsets.UTF_8.name(), false, getWorkerCount());
+        }
+        return new ParasoftCoverageStreamingScanner(expandedPattern, workspace.getRemote(),
+                StandardCharsets.UTF_8.name(), false, getWorkerCount());
+    }
+
     private void resolveAbsolutePaths(final Node rootNode, final FilePath workspace,
                                       FilteredLogChain logChain) throws InterruptedException {
         FilteredLog log = logChain.addNewFilteredLog("Errors while resolving source code files:");
@@ -261,13 +330,7 @@ public class ParasoftCoverageRecorder extends Recorder {
         FilteredLog log = logChain.addNewFilteredLog("Errors while converting Parasoft code coverage:");
         log.logInfo("Processing Parasoft coverage report...");
         try {
-            String expandedPattern = formatExpandedPattern(expandPattern(run, pattern));
-            if (StringUtils.isBlank(expandedPattern)) {
-                log.logInfo("Using default pattern '%s' for '%s' since specified pattern is empty", DEFAULT_PATTERN, pattern); // $NON-NLS-1$
-                expandedPattern = DEFAULT_PATTERN;
-            } else if (!expandedPattern.equals(pattern)) {
-                log.logInfo("Expanded pattern '%s' to '%s'", pattern, expandedPattern); // $NON-NLS-1$
-            }
+            String expandedPattern = resolvePattern(run, log);
 
             Set<String> coberturaPatterns = new HashSet<>();
             Set<String> generatedCoverageBuildDirs = new HashSet<>();
@@ -275,7 +338,7 @@ public class ParasoftCoverageRecorder extends Recorder {
             try {
                 AgentFileVisitor.FileVisitorResult<ProcessedFileResult> result = workspace.act(
                         new ParasoftCoverageReportScanner(expandedPattern, getCoberturaXslContent(), workspace.getRemote(),
-                                StandardCharsets.UTF_8.name(), false));
+                                StandardCharsets.UTF_8.name(), false, getWorkerCount()));
                 log.merge(result.getLog());
 
                 List<ProcessedFileResult> coverageResults = result.getResults();
@@ -299,6 +362,17 @@ public class ParasoftCoverageRecorder extends Recorder {
         }
     }
 
+    private String resolvePattern(final Run<?, ?> run, final FilteredLog log) {
+        String expandedPattern = formatExpandedPattern(expandPattern(run, pattern));
+        if (StringUtils.isBlank(expandedPattern)) {
+            log.logInfo("Using default pattern '%s' for '%s' since specified pattern is empty", DEFAULT_PATTERN, pattern); // $NON-NLS-1$
+            return DEFAULT_PATTERN;
+        } else if (!expandedPattern.equals(pattern)) {
+            log.logInfo("Expanded pattern '%s' to '%s'", pattern, expandedPattern); // $NON-NLS-1$
+        }
+        return expandedPattern;
+    }
+
     // Resolves build parameters in the pattern.
     private String expandPattern(final Run<?, ?> run, final String pattern) {
         try {
@@ -403,6 +477,26 @@ public class ParasoftCoverageRecorder extends Recorder {
             return VALIDATION_UTILITIES.validateCharset(canonicalizeCharset(sourceCodeEncoding));
         }
 
+        @POST
+        @SuppressWarnings("unused") // used by Stapler view data binding
+        public ListBoxModel doFillProcessingModeItems(@AncestorInPath final AbstractProject<?, ?> project) {
+            if (JENKINS.hasPermission(Item.CONFIGURE, project)) {
+                return CoverageProcessingMode.getItems();
+            }
+            return new ListBoxModel();
+        }
+
+        @POST
+        @SuppressWarnings("unused") // used by Stapler view data binding
+        public FormValidation doCheckWorkerCount(@AncestorInPath final AbstractProject<?, ?> project,
+                                                 @QueryParameter final String workerCount) {
+            if (!JENKINS.hasPermission(Item.CONFIGURE, project)) {
+                return FormValidation.ok();
+            }
+
+            return FormValidation.validatePositiveInteger(workerCount);
+        }
+
         private String canonicalizeCharset(String sourceCodeEncoding) {
             return sourceCodeEncoding == null ? StringUtils.EMPTY : sourceCodeEncoding.trim();
         }
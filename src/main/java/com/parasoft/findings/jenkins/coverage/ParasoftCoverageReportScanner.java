@@ -19,68 +19,77 @@ package com.parasoft.findings.jenkins.coverage;
 import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
 import edu.hm.hafner.util.FilteredLog;
 import edu.hm.hafner.util.PathUtil;
-import io.jenkins.plugins.util.AgentFileVisitor;
 import net.sf.saxon.s9api.QName;
 import net.sf.saxon.s9api.XdmAtomicValue;
 import net.sf.saxon.s9api.XdmValue;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.xml.sax.InputSource;
 
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.stream.StreamSource;
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringReader;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class ParasoftCoverageReportScanner extends AgentFileVisitor<ProcessedFileResult> {
+public class ParasoftCoverageReportScanner extends ParallelAgentFileVisitor<ProcessedFileResult> {
 
     private static final long serialVersionUID = 6940864958150044554L;
 
     private static final String GENERATED_COVERAGE_DIR = "generatedCoverageFiles";
     private static final String GENERATED_COBERTURA_REPORT_FILE_NAME_FORMAT = "%s-cobertura_%s.xml";
-    private static final String COVERAGE_TAG_START = "<Coverage ";
+    private static final String COVERAGE_TAG = "Coverage";
     private static final String WORKING_DIRECTORY_PARAM = "pipelineBuildWorkingDirectory";
     private static final String XML_EXTENSION = ".xml";
     private static final String COVERAGE_ATTRIBUTE = "ver";
     private static final String QUESTION_MARK = "?";
+    // The root element of a Parasoft coverage report is expected within the first bytes of the file
+    private static final int REPORT_PREFIX_SIZE = 8 * 1024;
 
     private static final PathUtil PATH_UTIL = new PathUtil();
 
     private final String xslContent;
     private final String workspaceLoc;
 
-    private final Map<String, String> generatedCoverageDirsMap = new HashMap<>();
+    private final Map<String, String> generatedCoverageDirsMap = new ConcurrentHashMap<>();
 
     public ParasoftCoverageReportScanner(final String filePattern, final String xslContent, final String workspaceLoc,
                                          final String encoding, final boolean followSymbolicLinks) {
-        super(filePattern, encoding, followSymbolicLinks, true);
+        this(filePattern, xslContent, workspaceLoc, encoding, followSymbolicLinks, 1);
+    }
+
+    public ParasoftCoverageReportScanner(final String filePattern, final String xslContent, final String workspaceLoc,
+                                         final String encoding, final boolean followSymbolicLinks,
+                                         final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
 
         this.xslContent = xslContent;
         this.workspaceLoc = workspaceLoc;
     }
 
     @Override
-    protected Optional<ProcessedFileResult> processFile(Path file, Charset charset, FilteredLog log) {
-        try {
-            if (!PATH_UTIL.getAbsolutePath(file).endsWith(XML_EXTENSION)) {
-                throw new IOException("Unrecognized report file '" + file + "'");
-            }
-            validateParasoftReport(file, charset);
+    protected Optional<ProcessedFileResult> processReportFile(Path file, Charset charset, FilteredLog log) {
+        try (InputStream input = openReportFile(file)) {
             Path generatedCoverageBuildDir = createGeneratedCoverageFileDir(file);
             Path outputCoberturaReport = generatedCoverageBuildDir.resolve(
                     String.format(GENERATED_COBERTURA_REPORT_FILE_NAME_FORMAT, file.getFileName(),
                             UUID.randomUUID()));
             Map<QName, XdmValue> params = new HashMap<>();
-            String workspaceCanonicalPath = StringUtils.removeEnd(new File(workspaceLoc).getCanonicalPath(),
-                    File.separator);
-            params.put(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(workspaceCanonicalPath));
+            params.put(new QName(WORKING_DIRECTORY_PARAM), new XdmAtomicValue(getCanonicalPath(workspaceLoc)));
             new ConversionService().convert(new StreamSource(new StringReader(xslContent)),
-                    file.toFile(), outputCoberturaReport.toFile(), params);
+                    new InputSource(input), outputCoberturaReport.toFile(), params);
             log.logInfo("Successfully converted Parasoft coverage report file '%s' to intermediate Cobertura report file '%s'", PATH_UTIL.getAbsolutePath(file), PATH_UTIL.getAbsolutePath(outputCoberturaReport));
             String coberturaPattern = StringUtils.replace(PATH_UTIL.getRelativePath(Paths.get(workspaceLoc),
                     outputCoberturaReport), StringUtils.SPACE, QUESTION_MARK);
@@ -92,35 +101,72 @@ public class ParasoftCoverageReportScanner extends AgentFileVisitor<ProcessedFil
         }
     }
 
-    private static void validateParasoftReport(Path parasoftReport, Charset charset) throws IOException {
-        try (BufferedReader reader = Files.newBufferedReader(parasoftReport, charset)) {
-            boolean hasCoverageTagAttr = false;
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // "COVERAGE_ATTRIBUTE" check is required to differentiate <Coverage> in coverage.xml with <Coverage> inside <Exec> in report.xml
-                if (StringUtils.contains(line, COVERAGE_TAG_START) && StringUtils.contains(line, COVERAGE_ATTRIBUTE)) {
-                    hasCoverageTagAttr = true;
-                    break;
+    /**
+     * Opens the specified Parasoft coverage report after validating its root element. Only a bounded prefix of the
+     * file is read for the validation, the returned stream is reset to the start of the file and can be handed to
+     * the converter or parser.
+     *
+     * @param file the report file
+     * @return the stream of the report file, the caller is responsible for closing it
+     * @throws IOException if the file cannot be read or is not a Parasoft coverage report
+     */
+    static InputStream openReportFile(Path file) throws IOException {
+        if (!PATH_UTIL.getAbsolutePath(file).endsWith(XML_EXTENSION)) {
+            throw new IOException("Unrecognized report file '" + file + "'");
+        }
+        BufferedInputStream input = new BufferedInputStream(Files.newInputStream(file), REPORT_PREFIX_SIZE);
+        try {
+            input.mark(REPORT_PREFIX_SIZE);
+            byte[] prefix = input.readNBytes(REPORT_PREFIX_SIZE);
+            input.reset();
+            validateParasoftReport(prefix);
+            return input;
+        } catch (IOException | RuntimeException exception) {
+            input.close();
+            throw exception;
+        }
+    }
+
+    static String getCanonicalPath(String workspaceLoc) throws IOException {
+        return StringUtils.removeEnd(new File(workspaceLoc).getCanonicalPath(), File.separator);
+    }
+
+    private static void validateParasoftReport(byte[] reportPrefix) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        boolean hasCoverageTagAttr = false;
+        try {
+            XMLStreamReader reader = factory.createXMLStreamReader(new ByteArrayInputStream(reportPrefix));
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                        // "COVERAGE_ATTRIBUTE" check is required to differentiate <Coverage> in coverage.xml with <Coverage> inside <Exec> in report.xml
+                        hasCoverageTagAttr = COVERAGE_TAG.equals(reader.getLocalName())
+                                && reader.getAttributeValue(null, COVERAGE_ATTRIBUTE) != null;
+                        break;
+                    }
                 }
+            } finally {
+                reader.close();
             }
+        } catch (XMLStreamException exception) {
+            // The root element is missing or not within the prefix, so this is not a Parasoft coverage report
+        }
 
-            if (!hasCoverageTagAttr) {
-                throw new NoSuchElementException("No Parasoft coverage information found in the specified file.");
-            }
+        if (!hasCoverageTagAttr) {
+            throw new NoSuchElementException("No Parasoft coverage information found in the specified file.");
         }
     }
 
     private Path createGeneratedCoverageFileDir(Path file) throws IOException {
         Path generatedCoverageDir = file.resolveSibling(GENERATED_COVERAGE_DIR);
-        Path generatedCoverageBuildDir;
         // If there are multiple Parasoft coverage files in the same directory,
         // the generated coverage files are put in the same subdirectory(use UUID as name) for this build.
-        if (generatedCoverageDirsMap.containsKey(generatedCoverageDir.toString())) {
-            generatedCoverageBuildDir = Paths.get(generatedCoverageDirsMap.get(generatedCoverageDir.toString()));
-        } else {
-            generatedCoverageBuildDir = generatedCoverageDir.resolve(UUID.randomUUID().toString());
-            generatedCoverageDirsMap.put(generatedCoverageDir.toString(), generatedCoverageBuildDir.toString());
-        }
+        // The directory is resolved atomically since the files might be processed concurrently.
+        Path generatedCoverageBuildDir = Paths.get(generatedCoverageDirsMap.computeIfAbsent(
+                generatedCoverageDir.toString(), dir -> generatedCoverageDir.resolve(UUID.randomUUID().toString()).toString()));
         Files.createDirectories(generatedCoverageBuildDir);
         return generatedCoverageBuildDir;
     }
@@ -26,6 +26,7 @@ import hudson.model.*;
 
 import hudson.util.ComboBoxModel;
 import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
 import io.jenkins.plugins.util.*;
 import org.apache.commons.lang3.StringUtils;
 import org.jenkinsci.plugins.workflow.graph.FlowNode;
@@ -53,6 +54,8 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
     private List<CoverageQualityGate> CoverageQualityGates = new ArrayList<>();
     private String referenceJob = StringUtils.EMPTY;
     private String referenceBuild = StringUtils.EMPTY;
+    private CoverageProcessingMode processingMode = CoverageProcessingMode.XSLT;
+    private int workerCount = DEFAULT_WORKER_COUNT;
 
     @DataBoundConstructor
     public ParasoftCoverageStep(){
@@ -118,6 +121,24 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
         return CoverageQualityGates;
     }
 
+    @DataBoundSetter
+    public void setProcessingMode(final CoverageProcessingMode processingMode) {
+        this.processingMode = processingMode;
+    }
+
+    public CoverageProcessingMode getProcessingMode() {
+        return processingMode;
+    }
+
+    @DataBoundSetter
+    public void setWorkerCount(final int workerCount) {
+        this.workerCount = Math.max(workerCount, DEFAULT_WORKER_COUNT);
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
     @SuppressFBWarnings(value = "THROWS", justification = "false positive")
     static class Execution extends AbstractExecution<Void> {
         private static final long serialVersionUID = -6177818067217577567L;
@@ -139,6 +160,8 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
             RunResultHandler runResultHandler = new RunResultHandler(run);
             ParasoftCoverageRecorder recorder = setUpCoverageRecorder(step.getPattern(), step.getSourceCodeEncoding(),
                     step.getCoverageQualityGates(), step.getReferenceJob(), step.getReferenceBuild());
+            recorder.setProcessingMode(step.getProcessingMode());
+            recorder.setWorkerCount(step.getWorkerCount());
 
             recorder.perform(run, workspace, taskListener, runResultHandler);
             return UNUSED;
@@ -195,6 +218,26 @@ public class ParasoftCoverageStep extends Step implements Serializable { // para
             return VALIDATION_UTILITIES.validateCharset(canonicalizeCharset(sourceCodeEncoding));
         }
 
+        @POST
+        @SuppressWarnings("unused") // used by Stapler view data binding
+        public ListBoxModel doFillProcessingModeItems(@AncestorInPath final AbstractProject<?, ?> project) {
+            if (JENKINS.hasPermission(Item.CONFIGURE, project)) {
+                return CoverageProcessingMode.getItems();
+            }
+            return new ListBoxModel();
+        }
+
+        @POST
+        @SuppressWarnings("unused") // used by Stapler view data binding
+        public FormValidation doCheckWorkerCount(@AncestorInPath final AbstractProject<?, ?> project,
+                                                 @QueryParameter final String workerCount) {
+            if (!JENKINS.hasPermission(Item.CONFIGURE, project)) {
+                return FormValidation.ok();
+            }
+
+            return FormValidation.validatePositiveInteger(workerCount);
+        }
+
         private String canonicalizeCharset(String sourceCodeEncoding) {
             return sourceCodeEncoding == null ? StringUtils.EMPTY : sourceCodeEncoding.trim();
         }
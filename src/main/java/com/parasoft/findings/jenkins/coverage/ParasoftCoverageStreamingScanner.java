@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage;
+
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.parser.ParasoftCoverageParser;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Parses Parasoft coverage reports on the agent with {@link ParasoftCoverageParser}. In contrast to
+ * {@link ParasoftCoverageReportScanner} no intermediate Cobertura report is written to the workspace.
+ */
+public class ParasoftCoverageStreamingScanner extends ParallelAgentFileVisitor<ModuleNode> {
+    private static final long serialVersionUID = -1418960218371265372L;
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
+
+    private final String workspaceLoc;
+
+    public ParasoftCoverageStreamingScanner(final String filePattern, final String workspaceLoc,
+                                            final String encoding, final boolean followSymbolicLinks) {
+        this(filePattern, workspaceLoc, encoding, followSymbolicLinks, 1);
+    }
+
+    public ParasoftCoverageStreamingScanner(final String filePattern, final String workspaceLoc,
+                                            final String encoding, final boolean followSymbolicLinks,
+                                            final int workerCount) {
+        super(filePattern, encoding, followSymbolicLinks, true, workerCount);
+
+        this.workspaceLoc = workspaceLoc;
+    }
+
+    @Override
+    protected Optional<ModuleNode> processReportFile(final Path file, final Charset charset, final FilteredLog log) {
+        try {
+            ParasoftCoverageParser parser =
+                    new ParasoftCoverageParser(ParasoftCoverageReportScanner.getCanonicalPath(workspaceLoc));
+            ModuleNode node;
+            try (Reader reader = new InputStreamReader(ParasoftCoverageReportScanner.openReportFile(file), charset)) {
+                node = parser.parse(reader, log);
+            }
+            log.logInfo("Successfully parsed Parasoft coverage report file '%s'", PATH_UTIL.getAbsolutePath(file));
+            node.aggregateValues().forEach(v -> log.logInfo("%s", v));
+            return Optional.of(node);
+        } catch (Exception exception) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to ensure exceptions during coverage report processing don't cause the build to fail."
+            log.logError("Parsing of Parasoft coverage report file '%s' failed due to an exception: %s",
+                    file, ExceptionUtils.getRootCauseMessage(exception));
+            return Optional.empty();
+        }
+    }
+}
@@ -200,8 +200,7 @@ public class SourceCodeFacade {
      * @return the filtered HTML sourcecode view
      */
     public String calculateModifiedLinesCoverageSourceCode(final String content, final FileNode fileNode) {
-        Set<Integer> lines = fileNode.getLinesWithCoverage();
-        lines.retainAll(fileNode.getModifiedLines());
+        Set<Integer> lines = fileNode.getCoveredAndModifiedLines();
         Set<String> linesAsText = lines.stream().map(String::valueOf).collect(Collectors.toSet());
         Document doc = Jsoup.parse(content, Parser.xmlParser());
         Elements elements = doc.select("tr");
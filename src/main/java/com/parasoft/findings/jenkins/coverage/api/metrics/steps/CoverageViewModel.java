@@ -426,7 +426,7 @@ public class CoverageViewModel extends DefaultAsyncTableContentProvider implemen
         private Stream<Coverage> getSortedCoverageValues() {
             return Metric.getCoverageMetrics()
                     .stream()
-                    .map(m -> m.getValueFor(coverage))
+                    .map(coverage::getValue)
                     .flatMap(Optional::stream)
                     .filter(value -> value instanceof Coverage)
                     .map(Coverage.class::cast);
@@ -26,6 +26,7 @@ package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
 
 import java.util.AbstractMap.SimpleEntry;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
@@ -55,6 +56,7 @@ import com.parasoft.findings.jenkins.coverage.model.Coverage;
 import com.parasoft.findings.jenkins.coverage.model.CyclomaticComplexity;
 import com.parasoft.findings.jenkins.coverage.model.FileNode;
 import com.parasoft.findings.jenkins.coverage.model.FractionValue;
+import com.parasoft.findings.jenkins.coverage.model.LineCounters;
 import com.parasoft.findings.jenkins.coverage.model.LinesOfCode;
 import com.parasoft.findings.jenkins.coverage.model.MethodNode;
 import com.parasoft.findings.jenkins.coverage.model.Metric;
@@ -98,10 +100,11 @@ class CoverageXmlStream extends AbstractXmlStream<Node> {
         xStream.alias("class", ClassNode.class);
         xStream.alias("method", MethodNode.class);
 
-        xStream.registerLocalConverter(FileNode.class, "coveredPerLine", new IntegerLineMapConverter());
-        xStream.registerLocalConverter(FileNode.class, "missedPerLine", new IntegerLineMapConverter());
+        xStream.registerLocalConverter(FileNode.class, "coveredPerLine", new LineCountersConverter());
+        xStream.registerLocalConverter(FileNode.class, "missedPerLine", new LineCountersConverter());
 
         xStream.registerLocalConverter(FileNode.class, "changedLines", new IntegerSetConverter());
+        xStream.registerLocalConverter(FileNode.class, "modifiedLines", new LineRangesConverter());
         xStream.registerLocalConverter(FileNode.class, "coverageDelta", new MetricFractionMapConverter());
     }
 
@@ -280,6 +283,117 @@ class CoverageXmlStream extends AbstractXmlStream<Node> {
         }
     }
 
+    /**
+     * {@link Converter} for the {@link LineCounters} of a file. Stores the counters in the same condensed format
+     * {@code line1: counter1, line2: counter2, ...} as {@link IntegerLineMapConverter}, so coverage trees that have been
+     * stored with a {@link TreeMap} of counters can still be read.
+     */
+    static final class LineCountersConverter implements Converter {
+        private final IntegerLineMapConverter mapConverter = new IntegerLineMapConverter();
+
+        @Override
+        @SuppressWarnings("PMD.NullAssignment")
+        public void marshal(final Object source, final HierarchicalStreamWriter writer,
+                final MarshallingContext context) {
+            writer.setValue(source instanceof LineCounters ? marshal((LineCounters) source) : null);
+        }
+
+        String marshal(final LineCounters counters) {
+            var builder = new StringBuilder(counters.size() * 8 + 2).append('[');
+            for (int i = 0; i < counters.size(); i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(counters.getLine(i)).append(": ").append(counters.getCounter(i));
+            }
+            return builder.append(']').toString();
+        }
+
+        @Override
+        public LineCounters unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            return unmarshal(reader.getValue());
+        }
+
+        LineCounters unmarshal(final String value) {
+            var counters = new LineCounters();
+            mapConverter.unmarshal(value).forEach(counters::put);
+            return counters;
+        }
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return type == LineCounters.class;
+        }
+    }
+
+    /**
+     * {@link Converter} for a {@link BitSet} of line numbers. Stores the lines in the condensed format
+     * {@code [line1, line2-line3, ...]}, where consecutive lines are written as a range. Coverage trees that have been
+     * stored with a {@link TreeSet} of lines can still be read.
+     */
+    static final class LineRangesConverter implements Converter {
+        private static final char RANGE_SEPARATOR = '-';
+
+        @Override
+        @SuppressWarnings("PMD.NullAssignment")
+        public void marshal(final Object source, final HierarchicalStreamWriter writer,
+                final MarshallingContext context) {
+            writer.setValue(source instanceof BitSet ? marshal((BitSet) source) : null);
+        }
+
+        String marshal(final BitSet lines) {
+            var builder = new StringBuilder().append('[');
+            for (int from = lines.nextSetBit(0); from >= 0; from = lines.nextSetBit(from)) {
+                int to = lines.nextClearBit(from) - 1;
+                if (builder.length() > 1) {
+                    builder.append(", ");
+                }
+                builder.append(from);
+                if (to > from) {
+                    builder.append(RANGE_SEPARATOR).append(to);
+                }
+                from = to + 1;
+            }
+            return builder.append(']').toString();
+        }
+
+        @Override
+        public BitSet unmarshal(final HierarchicalStreamReader reader, final UnmarshallingContext context) {
+            if (!reader.hasMoreChildren()) {
+                return unmarshal(reader.getValue());
+            }
+
+            var lines = new BitSet();
+            while (reader.hasMoreChildren()) { // lines that have been stored as TreeSet
+                reader.moveDown();
+                if (StringUtils.isNumeric(reader.getValue())) {
+                    lines.set(Integer.parseInt(reader.getValue()));
+                }
+                reader.moveUp();
+            }
+            return lines;
+        }
+
+        BitSet unmarshal(final String value) {
+            var lines = new BitSet();
+            for (String range : toArray(value)) {
+                if (StringUtils.contains(range, RANGE_SEPARATOR)) {
+                    lines.set(Integer.parseInt(StringUtils.substringBefore(range, RANGE_SEPARATOR)),
+                            Integer.parseInt(StringUtils.substringAfter(range, RANGE_SEPARATOR)) + 1);
+                }
+                else {
+                    lines.set(Integer.parseInt(range));
+                }
+            }
+            return lines;
+        }
+
+        @Override
+        public boolean canConvert(final Class type) {
+            return type == BitSet.class;
+        }
+    }
+
     /**
      * {@link Converter} for a {@link TreeSet} of integers that serializes just the values. After
      * reading the values back from the stream, the string representation will be converted to an actual instance
@@ -16,8 +16,8 @@
 
 package com.parasoft.findings.jenkins.coverage.converter;
 
-import net.sf.saxon.lib.Feature;
 import net.sf.saxon.s9api.*;
+import org.apache.commons.io.IOUtils;
 import org.xml.sax.EntityResolver;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -26,6 +26,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.transform.Source;
 import javax.xml.transform.stream.StreamSource;
 import java.io.*;
+import java.net.URL;
 import java.util.Map;
 
 // Adapted from: https://github.com/jenkinsci/libdtkit/blob/dtkit-frmk-3.0.0/dtkit-metrics-util/src/main/java/org/jenkinsci/lib/dtkit/util/converter/ConversionService.java
@@ -74,30 +75,40 @@ public class ConversionService implements Serializable {
     public void convert(StreamSource xslSource, InputSource inputFile, File outFile, Map<QName, XdmValue> params)
             throws ConversionException {
         try (OutputStream os = new FileOutputStream(outFile)) {
-            convert(xslSource, inputFile, os, params);
+            transform(xslSource, inputFile, os, params);
         } catch (Exception e) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to wrap exceptions with customized exception: ConversionException."
             throw asConversionException(e);
         }
     }
 
-    private void convert(StreamSource xslSource, InputSource inputFile, OutputStream output,
-                         Map<QName, XdmValue> params) throws SaxonApiException {
-        // create the conversion processor with a XSLT compiler
-        Processor processor = new Processor(false);
-        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS, CoverageEntityResolver.class.getName());
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
-        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
-        // remove DTD validation warning messages on system error
-        processor.getUnderlyingConfiguration().setValidation(false);
-        XsltCompiler compiler = processor.newXsltCompiler();
+    /**
+     * Launches an XSLT conversion from a source to an OutputStream.
+     * This methods uses the net.sf.saxon packages.
+     *
+     * @param xslSource the source of the xsl
+     * @param inputFile the input file
+     * @param output    the output stream, it is not closed by this method
+     * @param params    the parameter map
+     * @throws ConversionException the convert exception
+     */
+    public void convert(StreamSource xslSource, InputSource inputFile, OutputStream output, Map<QName, XdmValue> params)
+            throws ConversionException {
+        try {
+            transform(xslSource, inputFile, output, params);
+        } catch (Exception e) { // parasoft-suppress OWASP2021.A5.NCE "This is intentionally designed to wrap exceptions with customized exception: ConversionException."
+            throw asConversionException(e);
+        }
+    }
 
-        // compile and load the XSL file
-        XsltExecutable stylesheet = compiler.compile(xslSource);
+    private void transform(StreamSource xslSource, InputSource inputFile, OutputStream output,
+                           Map<QName, XdmValue> params) throws SaxonApiException, IOException {
+        // get the compiled XSL file, it is only compiled once per JVM
+        XsltExecutable stylesheet = getExecutable(xslSource);
         Xslt30Transformer transformer = stylesheet.load30();
         transformer.setStylesheetParameters(params);
 
         // create the output with its options
-        Serializer out = processor.newSerializer(output);
+        Serializer out = stylesheet.getProcessor().newSerializer(output);
         out.setOutputProperty(Serializer.Property.INDENT, "yes");
 
         // unwrap input stream to maintain APIs back compatible
@@ -106,6 +117,23 @@ public class ConversionService implements Serializable {
         transformer.transform(source, out);
     }
 
+    private static XsltExecutable getExecutable(StreamSource xslSource) throws IOException {
+        XsltExecutableCache cache = XsltExecutableCache.getInstance();
+        String systemId = xslSource.getSystemId();
+        if (xslSource.getReader() != null) {
+            return cache.getExecutable(IOUtils.toString(xslSource.getReader()), systemId);
+        }
+        if (xslSource.getInputStream() != null) {
+            return cache.getExecutable(IOUtils.toByteArray(xslSource.getInputStream()), systemId);
+        }
+        if (systemId != null) {
+            try (InputStream input = new URL(systemId).openStream()) {
+                return cache.getExecutable(IOUtils.toByteArray(input), systemId);
+            }
+        }
+        throw new IOException("The XSL source has no content");
+    }
+
     private ConversionException asConversionException(Exception e) {
         if (e instanceof FileNotFoundException) {
             return new ConversionException(e);
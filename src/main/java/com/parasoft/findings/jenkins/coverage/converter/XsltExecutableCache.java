@@ -0,0 +1,146 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.converter;
+
+import net.sf.saxon.lib.Feature;
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.apache.commons.codec.digest.DigestUtils;
+
+import javax.xml.transform.stream.StreamSource;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * JVM-wide cache of compiled XSL stylesheets. Stylesheets are identified by the SHA-256 hash of their content and
+ * their location, so
+ * the same stylesheet is compiled only once per JVM (controller or agent) no matter how many reports or builds
+ * are converted with it. A compiled {@link XsltExecutable} is immutable and thread-safe, each conversion loads its
+ * own transformer from it.
+ */
+public final class XsltExecutableCache {
+    private static final XsltExecutableCache INSTANCE = new XsltExecutableCache();
+
+    private final Processor processor;
+    private final Map<String, XsltExecutable> executables = new ConcurrentHashMap<>();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+
+    XsltExecutableCache() {
+        processor = new Processor(false);
+        processor.setConfigurationProperty(Feature.ENTITY_RESOLVER_CLASS,
+                ConversionService.CoverageEntityResolver.class.getName());
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION, false);
+        processor.setConfigurationProperty(Feature.DTD_VALIDATION_RECOVERABLE, true);
+        // remove DTD validation warning messages on system error
+        processor.getUnderlyingConfiguration().setValidation(false);
+    }
+
+    public static XsltExecutableCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the compiled stylesheet for the specified content, compiling it on the first request.
+     *
+     * @param xslContent the content of the XSL stylesheet
+     * @return the compiled stylesheet
+     * @throws ConversionException if the stylesheet cannot be compiled
+     */
+    public XsltExecutable getExecutable(final byte[] xslContent) {
+        return getExecutable(xslContent, null);
+    }
+
+    /**
+     * Returns the compiled stylesheet for the specified content and location, compiling it on the first request. The
+     * content is compiled as is, so its own encoding declaration applies.
+     *
+     * @param xslContent the raw content of the XSL stylesheet
+     * @param systemId   the location of the stylesheet, relative URIs in {@code xsl:include}, {@code xsl:import}
+     *                   and {@code document()} are resolved against it, may be null
+     * @return the compiled stylesheet
+     * @throws ConversionException if the stylesheet cannot be compiled
+     */
+    public XsltExecutable getExecutable(final byte[] xslContent, final String systemId) {
+        return getExecutable("bytes:" + DigestUtils.sha256Hex(xslContent), systemId,
+                () -> new StreamSource(new ByteArrayInputStream(xslContent)));
+    }
+
+    /**
+     * Returns the compiled stylesheet for the specified characters and location, compiling it on the first request.
+     *
+     * @param xslContent the content of the XSL stylesheet, already decoded
+     * @param systemId   the location of the stylesheet, relative URIs in {@code xsl:include}, {@code xsl:import}
+     *                   and {@code document()} are resolved against it, may be null
+     * @return the compiled stylesheet
+     * @throws ConversionException if the stylesheet cannot be compiled
+     */
+    public XsltExecutable getExecutable(final String xslContent, final String systemId) {
+        return getExecutable("chars:" + DigestUtils.sha256Hex(xslContent), systemId,
+                () -> new StreamSource(new StringReader(xslContent)));
+    }
+
+    private XsltExecutable getExecutable(final String contentKey, final String systemId,
+            final Supplier<StreamSource> xslSource) {
+        // the same content may include different stylesheets depending on its location
+        String key = systemId == null ? contentKey : contentKey + '@' + systemId;
+        boolean[] compiled = {false};
+        XsltExecutable executable = executables.computeIfAbsent(key, k -> {
+            compiled[0] = true;
+            StreamSource source = xslSource.get();
+            source.setSystemId(systemId);
+            return compile(source);
+        });
+        (compiled[0] ? missCount : hitCount).incrementAndGet();
+        return executable;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public int size() {
+        return executables.size();
+    }
+
+    /**
+     * Removes all compiled stylesheets and resets the counters.
+     */
+    public void clear() {
+        executables.clear();
+        hitCount.set(0);
+        missCount.set(0);
+    }
+
+    private XsltExecutable compile(final StreamSource xslSource) {
+        try {
+            // the compiler is not thread-safe, so a new one is used for each stylesheet
+            return processor.newXsltCompiler().compile(xslSource);
+        } catch (SaxonApiException e) {
+            throw new ConversionException("Error to compile the XSL stylesheet", e);
+        }
+    }
+}
@@ -25,6 +25,7 @@
 package com.parasoft.findings.jenkins.coverage.model;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -56,12 +57,12 @@ import edu.hm.hafner.util.TreeString;
 public final class FileNode extends Node {
     private static final long serialVersionUID = -3795695377267542624L; // Set to 1 when release 1.0.0 is ready
 
-    private final NavigableMap<Integer, Integer> coveredPerLine = new TreeMap<>();
-    private final NavigableMap<Integer, Integer> missedPerLine = new TreeMap<>();
+    private final LineCounters coveredPerLine = new LineCounters();
+    private final LineCounters missedPerLine = new LineCounters();
 
     private final List<Mutation> mutations = new ArrayList<>();
 
-    private final SortedSet<Integer> modifiedLines = new TreeSet<>();
+    private final BitSet modifiedLines = new BitSet();
     private final NavigableMap<Integer, Integer> indirectCoverageChanges = new TreeMap<>();
     private final NavigableMap<Metric, Fraction> coverageDelta = new TreeMap<>();
 
@@ -113,7 +114,7 @@ public final class FileNode extends Node {
         file.coveredPerLine.putAll(coveredPerLine);
         file.missedPerLine.putAll(missedPerLine);
 
-        file.modifiedLines.addAll(modifiedLines);
+        file.modifiedLines.or(modifiedLines);
 
         file.mutations.addAll(mutations);
 
@@ -140,7 +141,7 @@ public final class FileNode extends Node {
     }
 
     public SortedSet<Integer> getModifiedLines() {
-        return modifiedLines;
+        return modifiedLines.stream().boxed().collect(Collectors.toCollection(TreeSet::new));
     }
 
     /**
@@ -162,18 +163,35 @@ public final class FileNode extends Node {
      * @return {@code true} if this file has been modified at the specified line, {@code false} otherwise
      */
     public boolean hasModifiedLine(final int line) {
-        return modifiedLines.contains(line);
+        return line >= 0 && modifiedLines.get(line);
     }
 
     /**
-     * Marks the specified lines as being modified.
+     * Marks the specified lines as being modified. Negative lines are ignored.
      *
      * @param lines
      *         the modified code lines
      */
     public void addModifiedLines(final int... lines) {
         for (int line : lines) {
-            modifiedLines.add(line);
+            if (line >= 0) {
+                modifiedLines.set(line);
+            }
+        }
+    }
+
+    /**
+     * Marks all lines of the specified range as being modified. Negative lines of the range are ignored.
+     *
+     * @param fromLine
+     *         the first modified code line
+     * @param toLine
+     *         the last modified code line (inclusive)
+     */
+    public void addModifiedLineRange(final int fromLine, final int toLine) {
+        int firstLine = Math.max(fromLine, 0);
+        if (firstLine <= toLine) {
+            modifiedLines.set(firstLine, toLine + 1);
         }
     }
 
@@ -184,7 +202,7 @@ public final class FileNode extends Node {
         }
 
         var copy = new FileNode(getName(), relativePath);
-        copy.modifiedLines.addAll(modifiedLines);
+        copy.modifiedLines.or(modifiedLines);
 
         filterLineAndBranchCoverage(copy);
         filterMutations(copy);
@@ -197,9 +215,13 @@ public final class FileNode extends Node {
         var lineBuilder = new CoverageBuilder().setMetric(Metric.LINE);
         var branchCoverage = Coverage.nullObject(Metric.BRANCH);
         var branchBuilder = new CoverageBuilder().setMetric(Metric.BRANCH);
-        for (int line : getCoveredAndModifiedLines()) {
-            var covered = coveredPerLine.getOrDefault(line, 0);
-            var missed = missedPerLine.getOrDefault(line, 0);
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            int line = coveredPerLine.getLine(i);
+            if (!hasModifiedLine(line)) {
+                continue;
+            }
+            var covered = coveredPerLine.getCounter(i);
+            var missed = missedPerLine.getCounter(i);
             var total = covered + missed;
             copy.addCounters(line, covered, missed);
             if (total == 0) {
@@ -219,7 +241,7 @@ public final class FileNode extends Node {
     }
 
     private void filterMutations(final FileNode copy) {
-        mutations.stream().filter(mutation -> modifiedLines.contains(mutation.getLine())).forEach(copy::addMutation);
+        mutations.stream().filter(mutation -> hasModifiedLine(mutation.getLine())).forEach(copy::addMutation);
         if (!copy.mutations.isEmpty()) {
             var builder = new CoverageBuilder().setMetric(Metric.MUTATION).setMissed(0).setCovered(0);
             copy.mutations.stream().filter(Mutation::isDetected).forEach(mutation -> builder.incrementCovered());
@@ -311,7 +333,11 @@ public final class FileNode extends Node {
 
     // TODO: the API does not work yet for mutations
     public NavigableSet<Integer> getLinesWithCoverage() {
-        return new TreeSet<>(coveredPerLine.keySet());
+        var lines = new TreeSet<Integer>();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            lines.add(coveredPerLine.getLine(i));
+        }
+        return lines;
     }
 
     /**
@@ -323,7 +349,7 @@ public final class FileNode extends Node {
      * @return {@code true} if this file has a coverage result for the specified line, {@code false} otherwise
      */
     public boolean hasCoverageForLine(final int line) {
-        return coveredPerLine.containsKey(line);
+        return coveredPerLine.containsLine(line);
     }
 
     private Coverage getLineCoverage(final int line) {
@@ -413,9 +439,9 @@ public final class FileNode extends Node {
      * @return the lines with code coverage that also have been modified
      */
     public SortedSet<Integer> getCoveredAndModifiedLines() {
-        SortedSet<Integer> coveredDelta = getLinesWithCoverage();
-        coveredDelta.retainAll(getModifiedLines());
-        return coveredDelta;
+        var coveredDelta = getLinesWithCoverageAsBits();
+        coveredDelta.and(modifiedLines);
+        return coveredDelta.stream().boxed().collect(Collectors.toCollection(TreeSet::new));
     }
 
     /**
@@ -425,7 +451,18 @@ public final class FileNode extends Node {
      *         otherwise.
      */
     public boolean hasCoveredAndModifiedLines() {
-        return !getCoveredAndModifiedLines().isEmpty();
+        return !modifiedLines.isEmpty() && getLinesWithCoverageAsBits().intersects(modifiedLines);
+    }
+
+    private BitSet getLinesWithCoverageAsBits() {
+        var lines = new BitSet();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            int line = coveredPerLine.getLine(i);
+            if (line >= 0) {
+                lines.set(line);
+            }
+        }
+        return lines;
     }
 
     /**
@@ -444,11 +481,11 @@ public final class FileNode extends Node {
     }
 
     public int[] getCoveredCounters() {
-        return entriesToArray(coveredPerLine);
+        return coveredPerLine.getCounters();
     }
 
     public int[] getMissedCounters() {
-        return entriesToArray(missedPerLine);
+        return missedPerLine.getCounters();
     }
 
     /**
@@ -460,7 +497,7 @@ public final class FileNode extends Node {
      * @return the number of covered items for the specified line
      */
     public int getCoveredOfLine(final int line) {
-        return coveredPerLine.getOrDefault(line, 0);
+        return coveredPerLine.get(line, 0);
     }
 
     /**
@@ -472,11 +509,7 @@ public final class FileNode extends Node {
      * @return the number of missed items for the specified line
      */
     public int getMissedOfLine(final int line) {
-        return missedPerLine.getOrDefault(line, 0);
-    }
-
-    private int[] entriesToArray(final NavigableMap<Integer, Integer> map) {
-        return map.values().stream().mapToInt(i -> i).toArray();
+        return missedPerLine.get(line, 0);
     }
 
     /**
@@ -486,9 +519,13 @@ public final class FileNode extends Node {
      * @return the lines that have no line coverage
      */
     public NavigableSet<Integer> getMissedLines() {
-        return getLinesWithCoverage().stream()
-                .filter(line -> getCoveredOfLine(line) == 0 && getMissedOfLine(line) == 1)
-                .collect(Collectors.toCollection(TreeSet::new));
+        var lines = new TreeSet<Integer>();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            if (coveredPerLine.getCounter(i) == 0 && missedPerLine.getCounter(i) == 1) {
+                lines.add(coveredPerLine.getLine(i));
+            }
+        }
+        return lines;
     }
 
     /**
@@ -524,14 +561,18 @@ public final class FileNode extends Node {
      * @return the mapping of not fully covered lines to the number of missed branches
      */
     public NavigableMap<Integer, Integer> getPartiallyCoveredLines() {
-        return getLinesWithCoverage().stream()
-                .filter(line -> getCoveredOfLine(line) + getMissedOfLine(line) > 1)
-                .filter(line -> getMissedOfLine(line) > 0)
-                .collect(Collectors.toMap(line -> line, missedPerLine::get, (a, b) -> a, TreeMap::new));
+        var lines = new TreeMap<Integer, Integer>();
+        for (int i = 0; i < coveredPerLine.size(); i++) {
+            int missed = missedPerLine.getCounter(i);
+            if (missed > 0 && coveredPerLine.getCounter(i) + missed > 1) {
+                lines.put(coveredPerLine.getLine(i), missed);
+            }
+        }
+        return lines;
     }
 
     public NavigableMap<Integer, Integer> getCounters() {
-        return Collections.unmodifiableNavigableMap(coveredPerLine);
+        return Collections.unmodifiableNavigableMap(coveredPerLine.toMap());
     }
 
     /**
@@ -564,8 +605,8 @@ public final class FileNode extends Node {
     }
 
     /**
-     * Searches for the specified class node. If the class node is not found then a new class node will be created and
-     * linked to this file node.
+     * Searches for the specified class node in the children of this file node. If the class node is not found then a
+     * new class node will be created and linked to this file node.
      *
      * @param className
      *         the class name
@@ -574,7 +615,8 @@ public final class FileNode extends Node {
      * @see #createClassNode(String)
      */
     public ClassNode findOrCreateClassNode(final String className) {
-        return findClass(className).orElseGet(() -> createClassNode(className));
+        return findChild(Metric.CLASS, className).map(ClassNode.class::cast)
+                .orElseGet(() -> createClassNode(className));
     }
 
     /**
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * A map of line numbers to counters, like the covered or missed items of each line of a file. The lines and counters
+ * are stored in two parallel {@code int} arrays sorted by line number, which needs a fraction of the memory of a
+ * {@link TreeMap} of boxed integers. Lines are usually added in ascending order, which appends to the arrays.
+ */
+public final class LineCounters implements Serializable {
+    private static final long serialVersionUID = 4617153206315863416L;
+
+    private static final int[] EMPTY = new int[0];
+    private static final int MINIMUM_CAPACITY = 8;
+
+    private int[] lines = EMPTY;
+    private int[] counters = EMPTY;
+    private int size;
+
+    /**
+     * Sets the counter of the specified line.
+     *
+     * @param line
+     *         the line number
+     * @param counter
+     *         the counter of the line
+     */
+    public void put(final int line, final int counter) {
+        if (size == 0 || line > lines[size - 1]) {
+            insert(size, line, counter);
+            return;
+        }
+        int index = Arrays.binarySearch(lines, 0, size, line);
+        if (index >= 0) {
+            counters[index] = counter;
+        }
+        else {
+            insert(-index - 1, line, counter);
+        }
+    }
+
+    /**
+     * Sets the counters of all lines of the specified counters.
+     *
+     * @param other
+     *         the counters to add
+     */
+    public void putAll(final LineCounters other) {
+        if (size == 0) {
+            lines = Arrays.copyOf(other.lines, other.size);
+            counters = Arrays.copyOf(other.counters, other.size);
+            size = other.size;
+        }
+        else {
+            for (int i = 0; i < other.size; i++) {
+                put(other.lines[i], other.counters[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns the counter of the specified line.
+     *
+     * @param line
+     *         the line number
+     * @param defaultCounter
+     *         the counter to return if there is no counter for the line
+     *
+     * @return the counter of the line, or {@code defaultCounter} if there is none
+     */
+    public int get(final int line, final int defaultCounter) {
+        int index = Arrays.binarySearch(lines, 0, size, line);
+        return index >= 0 ? counters[index] : defaultCounter;
+    }
+
+    /**
+     * Returns whether there is a counter for the specified line.
+     *
+     * @param line
+     *         the line number
+     *
+     * @return {@code true} if there is a counter for the line, {@code false} otherwise
+     */
+    public boolean containsLine(final int line) {
+        return Arrays.binarySearch(lines, 0, size, line) >= 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the line at the specified position, lines are sorted in ascending order.
+     *
+     * @param index
+     *         the position, between 0 and {@link #size()}
+     *
+     * @return the line number
+     */
+    public int getLine(final int index) {
+        return lines[index];
+    }
+
+    /**
+     * Returns the counter of the line at the specified position.
+     *
+     * @param index
+     *         the position, between 0 and {@link #size()}
+     *
+     * @return the counter of the line
+     */
+    public int getCounter(final int index) {
+        return counters[index];
+    }
+
+    /**
+     * Returns all lines in ascending order.
+     *
+     * @return a copy of the lines
+     */
+    public int[] getLines() {
+        return Arrays.copyOf(lines, size);
+    }
+
+    /**
+     * Returns the counters of all lines, in the order of the lines.
+     *
+     * @return a copy of the counters
+     */
+    public int[] getCounters() {
+        return Arrays.copyOf(counters, size);
+    }
+
+    /**
+     * Returns the counters as a map of line numbers to counters.
+     *
+     * @return a new map with the counters
+     */
+    public NavigableMap<Integer, Integer> toMap() {
+        NavigableMap<Integer, Integer> map = new TreeMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(lines[i], counters[i]);
+        }
+        return map;
+    }
+
+    private void insert(final int index, final int line, final int counter) {
+        if (size == lines.length) {
+            int capacity = Math.max(MINIMUM_CAPACITY, size + (size >> 1));
+            lines = Arrays.copyOf(lines, capacity);
+            counters = Arrays.copyOf(counters, capacity);
+        }
+        System.arraycopy(lines, index, lines, index + 1, size - index);
+        System.arraycopy(counters, index, counters, index + 1, size - index);
+        lines[index] = line;
+        counters[index] = counter;
+        size++;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        LineCounters that = (LineCounters) o;
+        return Arrays.equals(lines, 0, size, that.lines, 0, that.size)
+                && Arrays.equals(counters, 0, size, that.counters, 0, that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < size; i++) {
+            result = 31 * result + lines[i];
+            result = 31 * result + counters[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -209,7 +209,7 @@ public enum Metric {
 
         @Override
         Optional<Value> compute(final Node node, final Metric searchMetric) {
-            return LINE.getValueFor(node).map(leaf -> new LinesOfCode(((Coverage) leaf).getTotal()));
+            return node.getValue(LINE).map(leaf -> new LinesOfCode(((Coverage) leaf).getTotal()));
         }
     }
 
@@ -221,8 +221,8 @@ public enum Metric {
 
         @Override
         Optional<Value> compute(final Node node, final Metric searchMetric) {
-            var locValue = LOC.getValueFor(node);
-            var complexityValue = COMPLEXITY.getValueFor(node);
+            var locValue = node.getValue(LOC);
+            var complexityValue = node.getValue(COMPLEXITY);
             if (locValue.isPresent() && complexityValue.isPresent()) {
                 var loc = (LinesOfCode) locValue.get();
                 if (loc.getValue() > 0) {
@@ -243,12 +243,12 @@ public enum Metric {
         @Override
         Optional<Value> compute(final Node node, final Metric searchMetric) {
             if (node.getMetric() == Metric.METHOD) {
-                return COMPLEXITY.getValueFor(node)
+                return node.getValue(COMPLEXITY)
                         .map(c -> new CyclomaticComplexity(((CyclomaticComplexity)c).getValue(),
                                 Metric.COMPLEXITY_MAXIMUM));
             }
             return node.getChildren().stream()
-                    .map(c -> compute(c, searchMetric))
+                    .map(c -> c.getValue(searchMetric))
                     .flatMap(Optional::stream)
                     .reduce(Value::max);
         }
@@ -120,23 +120,16 @@ public final class ModuleNode extends Node {
     }
 
     private void mergeSinglePackage(final Node packageNode) {
-        for (Node existing : getChildren()) {
-            if (isEqual(packageNode, existing)) {
-                // replace existing with merged two nodes
-                removeChild(existing);
-                Node merged = existing.merge(packageNode);
-                addChild(merged);
-
-                return;
-            }
+        var existing = findChild(packageNode.getMetric(), packageNode.getName());
+        if (existing.isPresent()) {
+            // replace existing with merged two nodes
+            removeChild(existing.get());
+            Node merged = existing.get().merge(packageNode);
+            addChild(merged);
+        }
+        else {
+            addChild(packageNode); // fallback: if the package does not yet exist add it as new package node
         }
-
-        addChild(packageNode); // fallback: if the package does not yet exist add it as new package node
-    }
-
-    private static boolean isEqual(final Node packageNode, final Node existing) {
-        return existing.getMetric().equals(packageNode.getMetric())
-                && existing.getName().equals(packageNode.getName());
     }
 
     private PackageNode createPackageNode(final String subPackage, final List<Value> existingValues) {
@@ -160,8 +153,8 @@ public final class ModuleNode extends Node {
     }
 
     /**
-     * Searches for the specified package node. If the package node is not found then a new package node will be created
-     * and linked to this module node.
+     * Searches for the specified package node in the children of this module node. If the package node is not found
+     * then a new package node will be created and linked to this module node.
      *
      * @param packageName
      *         the package name
@@ -170,7 +163,8 @@ public final class ModuleNode extends Node {
      * @see #createPackageNode(String)
      */
     public PackageNode findOrCreatePackageNode(final String packageName) {
-        return findPackage(packageName).orElseGet(() -> createPackageNode(packageName));
+        return findChild(Metric.PACKAGE, packageName).map(PackageNode.class::cast)
+                .orElseGet(() -> createPackageNode(packageName));
     }
 
     @Override
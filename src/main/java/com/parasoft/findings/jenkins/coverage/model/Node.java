@@ -27,7 +27,10 @@ package com.parasoft.findings.jenkins.coverage.model;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -37,6 +40,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -70,6 +74,15 @@ public abstract class Node implements Serializable {
     @CheckForNull
     private Node parent;
 
+    // aggregated values of the subtree, computed on demand and cleared when the subtree changes
+    @CheckForNull
+    private transient volatile Map<Metric, Optional<Value>> aggregatedValues;
+    @CheckForNull
+    private transient volatile NavigableSet<Metric> aggregatedMetrics;
+    // the first child of each name, created on demand and updated when children are added or removed
+    @CheckForNull
+    private transient Map<String, Node> childrenByName;
+
     /**
      * Creates a new node with the given name.
      *
@@ -117,6 +130,15 @@ public abstract class Node implements Serializable {
      * @return the elements in this tree
      */
     public NavigableSet<Metric> getMetrics() {
+        var metrics = aggregatedMetrics;
+        if (metrics == null) {
+            metrics = computeMetrics();
+            aggregatedMetrics = metrics;
+        }
+        return new TreeSet<>(metrics);
+    }
+
+    private NavigableSet<Metric> computeMetrics() {
         NavigableSet<Metric> elements = children.stream()
                 .map(Node::getMetrics)
                 .flatMap(Collection::stream)
@@ -183,6 +205,10 @@ public abstract class Node implements Serializable {
     public void addChild(final Node child) {
         children.add(child);
         child.setParent(this);
+        if (childrenByName != null) {
+            childrenByName.putIfAbsent(child.getName(), child);
+        }
+        invalidateAggregatedValues();
     }
 
     @SuppressWarnings("PMD.NullAssignment") // remove link to parent
@@ -191,6 +217,44 @@ public abstract class Node implements Serializable {
 
         children.remove(child);
         child.parent = null;
+        if (childrenByName != null && childrenByName.get(child.getName()) == child) {
+            childrenByName.remove(child.getName());
+            children.stream()
+                    .filter(c -> c.getName().equals(child.getName()))
+                    .findFirst()
+                    .ifPresent(c -> childrenByName.put(c.getName(), c));
+        }
+        invalidateAggregatedValues();
+    }
+
+    /**
+     * Returns the first child of this node that has the specified metric and name. In contrast to
+     * {@link #find(Metric, String)}, only the direct children of this node are searched.
+     *
+     * @param searchMetric
+     *         the metric of the child
+     * @param searchName
+     *         the name of the child
+     *
+     * @return the first matching child or an empty result, if no such child exists
+     */
+    protected Optional<Node> findChild(final Metric searchMetric, final String searchName) {
+        var child = getChildrenByName().get(searchName);
+        if (child == null || child.getMetric().equals(searchMetric)) {
+            return Optional.ofNullable(child);
+        }
+        return children.stream() // another child with the same name but a different metric
+                .filter(c -> c.getMetric().equals(searchMetric) && c.getName().equals(searchName))
+                .findFirst();
+    }
+
+    private Map<String, Node> getChildrenByName() {
+        if (childrenByName == null) {
+            var index = new HashMap<String, Node>();
+            children.forEach(child -> index.putIfAbsent(child.getName(), child));
+            childrenByName = index;
+        }
+        return childrenByName;
     }
 
     /**
@@ -272,6 +336,19 @@ public abstract class Node implements Serializable {
                 .findAny()
                 .ifPresent(values::remove);
         values.add(value);
+        invalidateAggregatedValues();
+    }
+
+    /**
+     * Clears the aggregated values of this node and all of its parents, so that they will be computed again with
+     * the changed subtree.
+     */
+    @SuppressWarnings("PMD.NullAssignment")
+    private void invalidateAggregatedValues() {
+        for (Node node = this; node != null; node = node.parent) {
+            node.aggregatedValues = null;
+            node.aggregatedMetrics = null;
+        }
     }
 
     protected void addAllValues(final Collection<? extends Value> additionalValues) {
@@ -317,7 +394,17 @@ public abstract class Node implements Serializable {
      * @return coverage ratio
      */
     public Optional<Value> getValue(final Metric searchMetric) {
-        return searchMetric.getValueFor(this);
+        var cache = aggregatedValues;
+        if (cache == null) {
+            cache = new ConcurrentHashMap<>();
+            aggregatedValues = cache;
+        }
+        var value = cache.get(searchMetric);
+        if (value == null) { // computeIfAbsent is not possible since evaluators ask this node for other metrics
+            value = searchMetric.getValueFor(this);
+            cache.put(searchMetric, value);
+        }
+        return value;
     }
 
     /**
@@ -334,7 +421,7 @@ public abstract class Node implements Serializable {
      * @return coverage ratio
      */
     public <T extends Value> T getTypedValue(final Metric searchMetric, final T defaultValue) {
-        var possiblyValue = searchMetric.getValueFor(this);
+        var possiblyValue = getValue(searchMetric);
 
         //noinspection unchecked
         return possiblyValue.map(value -> (T) defaultValue.getClass().cast(value)).orElse(defaultValue);
@@ -595,7 +682,8 @@ public abstract class Node implements Serializable {
 
     /**
      * Creates a new tree of merged {@link Node nodes} if all nodes have the same name and metric. If the nodes have
-     * different names or metrics, then these nodes will be attached to a new {@link ContainerNode} node.
+     * different names or metrics, then these nodes will be attached to a new {@link ContainerNode} node. The subtrees
+     * of the children of the merged root are merged in parallel.
      *
      * @param nodes
      *         the nodes to merge
@@ -611,10 +699,7 @@ public abstract class Node implements Serializable {
         }
 
         if (haveSameNameAndMetric(nodes)) {
-            return nodes.stream()
-                    .map(t -> (Node) t) // parasoft-suppress OPT.UNC-3 "Expected"
-                    .reduce(Node::merge)
-                    .orElseThrow(() -> new NoSuchElementException("No node found"));
+            return mergeAll(nodes);
         }
 
         var container = new ContainerNode("Container");
@@ -659,6 +744,78 @@ public abstract class Node implements Serializable {
         }
     }
 
+    /**
+     * Merges all nodes into a single new tree. The result is the same as merging the nodes one after another with
+     * {@link #merge(Node)}, but no intermediate trees are copied. The values and children of the roots are merged
+     * first. Then the subtrees of the children, which are disjoint, are copied and merged in parallel.
+     *
+     * @param nodes
+     *         the nodes to merge, all with the same name and metric
+     *
+     * @return a new tree with the merged {@link Node nodes}
+     */
+    @SuppressWarnings({"ReferenceEquality", "PMD.CompareObjectsWithEquals"})
+    private static Node mergeAll(final List<? extends Node> nodes) {
+        Node first = nodes.get(0);
+        int start = 1;
+        while (start < nodes.size() && nodes.get(start) == first) { // parasoft-suppress PB.CUB.UEIC-2 "Expected"
+            start++; // merging a node with itself changes nothing
+        }
+        if (start == nodes.size()) {
+            return first;
+        }
+        List<? extends Node> others = nodes.subList(start, nodes.size());
+
+        Node combined = first.copyNode();
+        Map<Node, List<Node>> sourcesOfChildren = new IdentityHashMap<>();
+        for (Node child : first.children) {
+            addChildToMerge(combined, child, sourcesOfChildren);
+        }
+        for (Node other : others) {
+            other.values.forEach(combined::mergeValues);
+            for (Node otherChild : other.children) {
+                var existingChild = combined.getChildrenByName().get(otherChild.getName());
+                if (existingChild == null) {
+                    addChildToMerge(combined, otherChild, sourcesOfChildren);
+                }
+                else {
+                    sourcesOfChildren.get(existingChild).add(otherChild);
+                }
+            }
+        }
+        sourcesOfChildren.entrySet().parallelStream().forEach(e -> mergeChild(e.getKey(), e.getValue()));
+
+        var toolName = first.getParasoftToolName();
+        if (toolName != null && others.stream().map(Node::getParasoftToolName).allMatch(toolName::equals)) {
+            combined.setParasoftToolName(toolName);
+        }
+        return combined;
+    }
+
+    private static void addChildToMerge(final Node combined, final Node child,
+            final Map<Node, List<Node>> sourcesOfChildren) {
+        var copy = child.copyNode();
+        combined.addChild(copy);
+        List<Node> sources = new ArrayList<>();
+        sources.add(child);
+        sourcesOfChildren.put(copy, sources);
+    }
+
+    /**
+     * Merges the subtrees of the specified sources into the copy of the first source.
+     *
+     * @param copy
+     *         the copy of the first source, without children
+     * @param sources
+     *         the nodes to merge, in the order of the merged trees
+     */
+    private static void mergeChild(final Node copy, final List<Node> sources) {
+        sources.get(0).children.forEach(child -> copy.addChild(child.copyTree()));
+        for (Node source : sources.subList(1, sources.size())) {
+            copy.mergeChildren(source);
+        }
+    }
+
     public void setParasoftToolName(String toolName) {
         this.parasoftToolName = toolName;
     }
@@ -669,16 +826,15 @@ public abstract class Node implements Serializable {
 
     private void mergeChildren(final Node other) {
         other.values.forEach(this::mergeValues);
-        other.getChildren().forEach(otherChild -> {
-            Optional<Node> existingChild = getChildren().stream()
-                    .filter(c -> c.getName().equals(otherChild.getName())).findFirst();
-            if (existingChild.isPresent()) {
-                existingChild.get().mergeChildren(otherChild);
+        for (Node otherChild : other.children) {
+            var existingChild = getChildrenByName().get(otherChild.getName());
+            if (existingChild != null) {
+                existingChild.mergeChildren(otherChild);
             }
             else {
                 addChild(otherChild.copyTree());
             }
-        });
+        }
     }
 
     private void mergeValues(final Value otherValue) {
@@ -71,8 +71,8 @@ public final class PackageNode extends Node {
     }
 
     /**
-     * Searches for the specified file node. If the file node is not found then a new file node will be created and
-     * linked to this package node.
+     * Searches for the specified file node in the children of this package node. If the file node is not found then a
+     * new file node will be created and linked to this package node.
      *
      * @param fileName
      *         the file name
@@ -83,12 +83,13 @@ public final class PackageNode extends Node {
      * @see #createFileNode(String, TreeString)
      */
     public FileNode findOrCreateFileNode(final String fileName, final TreeString relativePath) {
-        return findFile(fileName).orElseGet(() -> createFileNode(fileName, relativePath));
+        return findChild(Metric.FILE, fileName).map(FileNode.class::cast)
+                .orElseGet(() -> createFileNode(fileName, relativePath));
     }
 
     /**
-     * Searches for the specified class node. If the class node is not found then a new class node will be created and
-     * linked to this file node.
+     * Searches for the specified class node in the children of this package node. If the class node is not found then
+     * a new class node will be created and linked to this package node.
      *
      * @param className
      *         the class name
@@ -97,7 +98,8 @@ public final class PackageNode extends Node {
      * @see #createClassNode(String)
      */
     public ClassNode findOrCreateClassNode(final String className) {
-        return findClass(className).orElseGet(() -> createClassNode(className));
+        return findChild(Metric.CLASS, className).map(ClassNode.class::cast)
+                .orElseGet(() -> createClassNode(className));
     }
 
     /**
@@ -0,0 +1,497 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.coverage.model.parser;
+
+import java.io.Reader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.regex.Pattern;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.parasoft.findings.jenkins.coverage.model.Coverage;
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.CoverageParser;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.Metric;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import com.parasoft.findings.jenkins.coverage.model.PackageNode;
+import edu.hm.hafner.util.FilteredLog;
+import edu.hm.hafner.util.PathUtil;
+import edu.hm.hafner.util.SecureXmlParserFactory;
+import edu.hm.hafner.util.SecureXmlParserFactory.ParsingException;
+
+/**
+ * Parses Parasoft coverage reports (coverage.xml) directly into a hierarchical Java Object Model. The report is read in
+ * a single forward pass, so no intermediate Cobertura report is required. The created tree is the same as the tree
+ * that is created by converting the report with {@code cobertura.xsl} and parsing the result with
+ * {@link CoberturaParser}.
+ */
+@SuppressWarnings({"checkstyle:ClassDataAbstractionCoupling", "PMD.GodClass"})
+public class ParasoftCoverageParser extends CoverageParser {
+    private static final long serialVersionUID = 2659871203367012854L;
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
+
+    private static final QName COVERAGE = new QName("Coverage");
+    private static final QName LOC = new QName("Loc");
+    private static final QName CVG_DATA = new QName("CvgData");
+    private static final QName STATS = new QName("Stats");
+    private static final QName ITEM = new QName("Item");
+    private static final QName STAT_CVG = new QName("StatCvg");
+    private static final QName CTX_CVG = new QName("CtxCvg");
+
+    private static final QName TOOL_ID = new QName("toolId");
+    private static final QName TOOL_DISPLAY_NAME = new QName("toolDispName");
+    private static final QName TOOL_VERSION = new QName("toolVer");
+    private static final QName WORKING_DIRECTORY = new QName("pipelineBuildWorkingDirectory");
+    private static final QName LOC_REF = new QName("locRef");
+    private static final QName URI = new QName("uri");
+    private static final QName PROJECT_ID = new QName("projId");
+    private static final QName ITEM_REF = new QName("itemRef");
+    private static final QName NAME = new QName("name");
+    private static final QName ELEMENTS = new QName("elems");
+    private static final QName ELEMENT_REFS = new QName("elemRefs");
+    private static final QName TEST_REFS = new QName("testRefs");
+
+    private static final String JTEST = "jtest";
+    private static final String DOTTEST = "dottest";
+    private static final String CPPTEST = "c++test";
+    private static final String DEFAULT_PACKAGE = "<default>";
+    private static final String NO_PACKAGE = "<none>";
+    private static final String SLASH = "/";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern FILE_URI_WITHOUT_HOST = Pattern.compile("^file:///([^/\\\\]+).*", Pattern.DOTALL);
+    private static final Pattern FILE_URI_WITH_HOST = Pattern.compile("^file://([^/]+)/([^/\\\\]+).*", Pattern.DOTALL);
+    private static final Pattern FILE_URI_SHORT = Pattern.compile("^file:/([^/\\\\]+).*", Pattern.DOTALL);
+    private static final Pattern WINDOWS_PATH = Pattern.compile("^[A-Za-z]:[/\\\\].*", Pattern.DOTALL);
+
+    private static final Coverage LINE_COVERED = new CoverageBuilder(Metric.LINE).setCovered(1).setMissed(0).build();
+    private static final Coverage LINE_MISSED = new CoverageBuilder(Metric.LINE).setCovered(0).setMissed(1).build();
+
+    private final String workingDirectory;
+
+    /**
+     * Creates a new parser that resolves the relative source file paths using the working directory that is stored in
+     * the report.
+     */
+    public ParasoftCoverageParser() {
+        this(StringUtils.EMPTY);
+    }
+
+    /**
+     * Creates a new parser.
+     *
+     * @param workingDirectory
+     *         the working directory of the build, used to create relative source file paths
+     */
+    public ParasoftCoverageParser(final String workingDirectory) {
+        super();
+
+        this.workingDirectory = StringUtils.defaultString(workingDirectory);
+    }
+
+    /**
+     * Parses the Parasoft coverage report. The report is expected to be in XML format.
+     *
+     * @param reader
+     *         the reader to read the report from
+     */
+    @Override
+    protected ModuleNode parseReport(final Reader reader, final FilteredLog log) {
+        try {
+            var eventReader = new SecureXmlParserFactory().createXmlEventReader(reader);
+
+            var root = new ModuleNode("-");
+            ReportContext context = null;
+
+            while (eventReader.hasNext()) {
+                XMLEvent event = eventReader.nextEvent();
+
+                if (event.isStartElement()) {
+                    var startElement = event.asStartElement();
+                    var tagName = startElement.getName();
+                    if (context == null) {
+                        if (!COVERAGE.equals(tagName)) {
+                            break; // not a Parasoft coverage report
+                        }
+                        context = readCoverage(startElement, root);
+                    }
+                    else if (LOC.equals(tagName)) {
+                        context.addLocation(getValueOf(startElement, LOC_REF), getValueOf(startElement, URI),
+                                getOptionalValueOf(startElement, PROJECT_ID).orElse(StringUtils.EMPTY));
+                    }
+                    else if (CVG_DATA.equals(tagName)) {
+                        readCoverageData(eventReader, startElement, root, context);
+                    }
+                }
+            }
+            if (!root.hasChildren()) {
+                throw new NoSuchElementException("No coverage information found in the specified file.");
+            }
+            return root;
+        }
+        catch (XMLStreamException exception) {
+            throw new ParsingException(exception);
+        }
+    }
+
+    private ReportContext readCoverage(final StartElement coverageElement, final ModuleNode root) {
+        var toolId = getOptionalValueOf(coverageElement, TOOL_ID).orElse(StringUtils.EMPTY);
+        var version = getOptionalValueOf(coverageElement, TOOL_DISPLAY_NAME).orElse(StringUtils.EMPTY)
+                + StringUtils.SPACE + getOptionalValueOf(coverageElement, TOOL_VERSION).orElse(StringUtils.EMPTY);
+        root.setParasoftToolName(version.split(StringUtils.SPACE)[0]);
+
+        var buildWorkingDirectory = StringUtils.isEmpty(workingDirectory)
+                ? getOptionalValueOf(coverageElement, WORKING_DIRECTORY).orElse(StringUtils.EMPTY)
+                : workingDirectory;
+        return new ReportContext(toolId, buildWorkingDirectory);
+    }
+
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.CognitiveComplexity"})
+    private void readCoverageData(final XMLEventReader reader, final StartElement cvgDataElement,
+            final ModuleNode root, final ReportContext context) throws XMLStreamException {
+        var data = new CoverageData();
+        List<Item> openItems = new ArrayList<>();
+        boolean inStats = false;
+
+        while (reader.hasNext()) {
+            XMLEvent event = reader.nextEvent();
+
+            if (event.isStartElement()) {
+                var element = event.asStartElement();
+                var tagName = element.getName();
+                if (STATS.equals(tagName)) {
+                    inStats = true;
+                }
+                else if (ITEM.equals(tagName) && inStats) {
+                    var item = new Item(getOptionalValueOf(element, ITEM_REF).orElse(StringUtils.EMPTY),
+                            getOptionalValueOf(element, NAME).orElse(StringUtils.EMPTY));
+                    if (!openItems.isEmpty()) {
+                        openItems.get(openItems.size() - 1).children.add(item);
+                    }
+                    openItems.add(item);
+                    data.items.add(item);
+                }
+                else if (STAT_CVG.equals(tagName)) {
+                    data.addStaticCoverage(getOptionalValueOf(element, ITEM_REF).orElse(StringUtils.EMPTY),
+                            getOptionalValueOf(element, ELEMENTS).orElse(StringUtils.EMPTY));
+                }
+                else if (CTX_CVG.equals(tagName)) {
+                    data.addDynamicCoverage(getOptionalValueOf(element, ELEMENT_REFS).orElse(StringUtils.EMPTY),
+                            getOptionalValueOf(element, TEST_REFS).orElse(StringUtils.EMPTY));
+                }
+            }
+            else if (event.isEndElement()) {
+                var tagName = event.asEndElement().getName();
+                if (ITEM.equals(tagName) && inStats && !openItems.isEmpty()) {
+                    openItems.remove(openItems.size() - 1);
+                }
+                else if (STATS.equals(tagName)) {
+                    inStats = false;
+                }
+                else if (CVG_DATA.equals(tagName)) {
+                    var location = context.getLocation(getValueOf(cvgDataElement, LOC_REF));
+                    if (location != null) {
+                        createClasses(root, context, location, data);
+                    }
+                    return;
+                }
+            }
+        }
+        throw createEofException();
+    }
+
+    private void createClasses(final ModuleNode root, final ReportContext context, final Location location,
+            final CoverageData data) {
+        if (context.isJtest()) {
+            for (Item type : data.items) {
+                if (type.isType()) {
+                    List<String> methodItemRefs = new ArrayList<>();
+                    type.children.stream()
+                            .filter(child -> !child.isType())
+                            .forEach(child -> methodItemRefs.add(child.itemRef));
+                    createClass(root, location, getDisplayClassNameForJava(location.packageName, type.name),
+                            methodItemRefs, data);
+                }
+            }
+        }
+        else {
+            List<String> allItemRefs = new ArrayList<>();
+            data.items.forEach(item -> allItemRefs.add(item.itemRef));
+            createClass(root, location, StringUtils.substringAfterLast(SLASH + location.filePath, SLASH),
+                    allItemRefs, data);
+        }
+    }
+
+    private void createClass(final ModuleNode root, final Location location, final String className,
+            final List<String> itemRefs, final CoverageData data) {
+        Set<String> lineNumbers = data.getLineNumbers(itemRefs);
+        if (lineNumbers.isEmpty()) {
+            return;
+        }
+
+        PackageNode packageNode = root.findOrCreatePackageNode(location.packageName);
+        var relativePath = PATH_UTIL.getRelativePath(location.filePath);
+        FileNode fileNode = packageNode.findOrCreateFileNode(getFileName(location.filePath),
+                getTreeStringBuilder().intern(relativePath));
+        Node classNode = fileNode.createClassNode(className);
+
+        var lineCoverage = Coverage.nullObject(Metric.LINE);
+        for (String lineNumber : lineNumbers) {
+            var coverage = data.isCovered(lineNumber) ? LINE_COVERED : LINE_MISSED;
+            lineCoverage = lineCoverage.add(coverage);
+            fileNode.addCounters(parseInteger(lineNumber), coverage.getCovered(), coverage.getMissed());
+        }
+        classNode.addValue(lineCoverage);
+    }
+
+    private String getFileName(final String relativePath) {
+        var path = Paths.get(PATH_UTIL.getAbsolutePath(relativePath)).getFileName();
+        if (path == null) {
+            return relativePath;
+        }
+        return path.toString();
+    }
+
+    private static String getDisplayClassNameForJava(final String packageName, final String originalClassName) {
+        var className = StringUtils.replaceChars(originalClassName, '$', '#');
+        if (DEFAULT_PACKAGE.equals(packageName)) {
+            return className;
+        }
+        return packageName + "." + className;
+    }
+
+    static String getUriWithoutFilePrefix(final String rawUri) {
+        if (FILE_URI_WITHOUT_HOST.matcher(rawUri).matches()) {
+            return makeUriSystemCompatible(StringUtils.substringAfter(rawUri, "file:///"));
+        }
+        var matcher = FILE_URI_WITH_HOST.matcher(rawUri);
+        if (matcher.matches()) {
+            return makeUriSystemCompatible(StringUtils.substringAfter(rawUri, "file://" + matcher.group(1) + SLASH));
+        }
+        if (FILE_URI_SHORT.matcher(rawUri).matches()) {
+            return makeUriSystemCompatible(StringUtils.substringAfter(rawUri, "file:/"));
+        }
+        return rawUri;
+    }
+
+    private static String makeUriSystemCompatible(final String uriWithoutFilePrefix) {
+        if (WINDOWS_PATH.matcher(uriWithoutFilePrefix).matches()) {
+            return uriWithoutFilePrefix;
+        }
+        return SLASH + uriWithoutFilePrefix;
+    }
+
+    private static String decode(final String path) {
+        return StringUtils.replace(StringUtils.replace(path, "%25", "%"), "%20", StringUtils.SPACE);
+    }
+
+    private static List<String> tokenize(final String value) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : WHITESPACE.split(value)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Global properties of the report and the resolved locations (source files) of the report.
+     */
+    private static class ReportContext {
+        private final String toolId;
+        private final String uncodedWorkingDirectory;
+        private final String encodedWorkingDirectory;
+        /** Maps the parent URI of a location to the package properties of the first location in that folder. */
+        private final Map<String, PackageProperties> packagesByFolder = new HashMap<>();
+        private final Map<String, Location> locationsByRef = new HashMap<>();
+
+        ReportContext(final String toolId, final String workingDirectory) {
+            this.toolId = toolId;
+            if (StringUtils.isEmpty(workingDirectory)) {
+                uncodedWorkingDirectory = StringUtils.EMPTY;
+                encodedWorkingDirectory = StringUtils.EMPTY;
+            }
+            else {
+                uncodedWorkingDirectory = StringUtils.replaceChars(workingDirectory, '\\', '/') + SLASH;
+                encodedWorkingDirectory = StringUtils.replace(
+                        StringUtils.replace(uncodedWorkingDirectory, "%", "%25"), StringUtils.SPACE, "%20");
+            }
+        }
+
+        boolean isJtest() {
+            return JTEST.equals(toolId);
+        }
+
+        Location getLocation(final String locRef) {
+            return locationsByRef.get(locRef);
+        }
+
+        void addLocation(final String locRef, final String uri, final String projectId) {
+            var folder = StringUtils.substringBefore(uri, StringUtils.substringAfterLast(SLASH + uri, SLASH));
+            var packageProperties = packagesByFolder.computeIfAbsent(folder,
+                    key -> createPackageProperties(getUriWithoutFilePrefix(uri), projectId));
+
+            var sourceFile = getUriWithoutFilePrefix(uri);
+            String filePath;
+            if (packageProperties.isExternalReport()) {
+                filePath = decode(sourceFile);
+            }
+            else {
+                filePath = decode(StringUtils.substringAfter(sourceFile, packageProperties.workingDirectory));
+            }
+            locationsByRef.put(locRef, new Location(packageProperties.name, filePath));
+        }
+
+        private PackageProperties createPackageProperties(final String firstSourceFile, final String projectId) {
+            String processedWorkingDirectory;
+            if (!uncodedWorkingDirectory.isEmpty() && firstSourceFile.contains(uncodedWorkingDirectory)) {
+                processedWorkingDirectory = uncodedWorkingDirectory;
+            }
+            // Using the encoded working directory when the uri of the <Loc> tag is encoded (e.g. jtest report)
+            else if (!encodedWorkingDirectory.isEmpty() && firstSourceFile.contains(encodedWorkingDirectory)) {
+                processedWorkingDirectory = encodedWorkingDirectory;
+            }
+            else {
+                processedWorkingDirectory = StringUtils.EMPTY;
+            }
+
+            String projectPath = processedWorkingDirectory.isEmpty()
+                    ? firstSourceFile
+                    : StringUtils.substringAfter(firstSourceFile, processedWorkingDirectory);
+            return new PackageProperties(getPackageName(projectPath, projectId), processedWorkingDirectory);
+        }
+
+        private String getPackageName(final String projectPath, final String projectId) {
+            String[] segments = StringUtils.splitByWholeSeparatorPreserveAllTokens(projectPath, SLASH);
+            if (segments == null || segments.length <= 1) {
+                return NO_PACKAGE;
+            }
+            var fileName = segments[segments.length - 1];
+            var folder = StringUtils.substringBefore(projectPath, SLASH + fileName);
+            if (isJtest()) {
+                var packageNamePrefix = StringUtils.substringBefore(projectId, ":");
+                if (projectPath.contains(StringUtils.replaceChars(packageNamePrefix, '.', '/'))) {
+                    var formattedProjectPath = StringUtils.replace(folder, SLASH, ".");
+                    var prefixStart = formattedProjectPath.indexOf(packageNamePrefix);
+                    return prefixStart < 0 ? formattedProjectPath : formattedProjectPath.substring(prefixStart);
+                }
+                return DEFAULT_PACKAGE;
+            }
+            if (DOTTEST.equals(toolId) || CPPTEST.equals(toolId)) {
+                return decode(folder);
+            }
+            return StringUtils.EMPTY;
+        }
+    }
+
+    /**
+     * The package properties that are shared by all locations in the same folder.
+     */
+    private static class PackageProperties {
+        private final String name;
+        private final String workingDirectory;
+
+        PackageProperties(final String name, final String workingDirectory) {
+            this.name = name;
+            this.workingDirectory = workingDirectory;
+        }
+
+        boolean isExternalReport() {
+            return workingDirectory.isEmpty();
+        }
+    }
+
+    /**
+     * A source file of the report.
+     */
+    private static class Location {
+        private final String packageName;
+        private final String filePath;
+
+        Location(final String packageName, final String filePath) {
+            this.packageName = packageName;
+            this.filePath = filePath;
+        }
+    }
+
+    /**
+     * An element of the {@code Stats} section: either a type (if it has child items) or a method.
+     */
+    private static class Item {
+        private final String itemRef;
+        private final String name;
+        private final List<Item> children = new ArrayList<>();
+
+        Item(final String itemRef, final String name) {
+            this.itemRef = itemRef;
+            this.name = name;
+        }
+
+        boolean isType() {
+            return !children.isEmpty();
+        }
+    }
+
+    /**
+     * The coverage information of a single {@code CvgData} element, i.e. of a single source file.
+     */
+    private static class CoverageData {
+        /** All items in document order. */
+        private final List<Item> items = new ArrayList<>();
+        private final Map<String, List<String>> elementsByItemRef = new HashMap<>();
+        private final Set<String> coveredLines = new HashSet<>();
+
+        void addStaticCoverage(final String itemRef, final String elements) {
+            elementsByItemRef.computeIfAbsent(itemRef, key -> new ArrayList<>()).addAll(tokenize(elements));
+        }
+
+        void addDynamicCoverage(final String elementRefs, final String testRefs) {
+            if (!tokenize(testRefs).isEmpty()) {
+                coveredLines.addAll(tokenize(elementRefs));
+            }
+        }
+
+        Set<String> getLineNumbers(final List<String> itemRefs) {
+            Set<String> lineNumbers = new LinkedHashSet<>();
+            for (String itemRef : new LinkedHashSet<>(itemRefs)) {
+                lineNumbers.addAll(elementsByItemRef.getOrDefault(itemRef, List.of()));
+            }
+            return lineNumbers;
+        }
+
+        boolean isCovered(final String lineNumber) {
+            return coveredLines.contains(lineNumber);
+        }
+    }
+}
@@ -27,6 +27,7 @@ package com.parasoft.findings.jenkins.coverage.model.registry;
 import com.parasoft.findings.jenkins.coverage.model.CoverageParser;
 import com.parasoft.findings.jenkins.coverage.model.parser.CoberturaParser;
 import com.parasoft.findings.jenkins.coverage.model.parser.JacocoParser;
+import com.parasoft.findings.jenkins.coverage.model.parser.ParasoftCoverageParser;
 
 /**
  * Provides a registry for all available {@link CoverageParserType parsers}.
@@ -37,7 +38,8 @@ public class ParserRegistry {
     /** Supported parsers. */
     public enum CoverageParserType {
         COBERTURA,
-        JACOCO
+        JACOCO,
+        PARASOFT
     }
 
     /**
@@ -66,6 +68,8 @@ public class ParserRegistry {
                 return new CoberturaParser();
             case JACOCO:
                 return new JacocoParser();
+            case PARASOFT:
+                return new ParasoftCoverageParser();
             default:
                 throw new IllegalArgumentException("Unknown parser type: " + parser);
         }
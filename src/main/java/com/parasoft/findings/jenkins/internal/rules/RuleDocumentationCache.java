@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.internal.rules;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.parasoft.findings.utils.common.IStringConstants;
+import com.parasoft.findings.utils.common.util.FileUtil;
+
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.RunListener;
+import jenkins.util.SystemProperties;
+
+/**
+ * Controller-wide cache of the rule documentation files read for the issues tables of all builds. The cache is
+ * bounded by the approximate number of bytes of the cached documentation and evicts the least recently used
+ * entries first. Entries of a build are invalidated when the build is deleted, entries of the shared rule
+ * documentation store of a job when the job is deleted.
+ */
+public final class RuleDocumentationCache
+{
+    private static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+    private static final RuleDocumentationCache INSTANCE = new RuleDocumentationCache(
+            SystemProperties.getLong(RuleDocumentationCache.class.getName() + ".maxBytes", DEFAULT_MAX_BYTES)); //$NON-NLS-1$
+
+    private final long _maxBytes;
+
+    private final LinkedHashMap<String, String> _ruleDocs = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long _bytes = 0;
+
+    private long _hitCount = 0;
+
+    private long _missCount = 0;
+
+    private long _evictionCount = 0;
+
+    public RuleDocumentationCache(long maxBytes)
+    {
+        _maxBytes = maxBytes;
+    }
+
+    public static RuleDocumentationCache getInstance()
+    {
+        return INSTANCE;
+    }
+
+    /**
+     * @param ruleDoc the rule documentation file
+     * @return the contents of the file, or an empty string if the file does not exist or cannot be read
+     */
+    public String getRuleDoc(File ruleDoc)
+    {
+        String key = getKey(ruleDoc);
+        synchronized (this) {
+            String contents = _ruleDocs.get(key);
+            if (contents != null) {
+                _hitCount++;
+                return contents;
+            }
+            _missCount++;
+        }
+        if (!ruleDoc.exists()) {
+            return IStringConstants.EMPTY;
+        }
+        String contents;
+        try {
+            contents = FileUtil.readFile(ruleDoc, IStringConstants.UTF_8);
+        } catch (IOException e) {
+            Logger.getLogger().error(e);
+            return IStringConstants.EMPTY;
+        }
+        put(key, contents);
+        return contents;
+    }
+
+    private synchronized void put(String key, String contents)
+    {
+        long weight = getWeight(contents);
+        if (weight > _maxBytes) {
+            return;
+        }
+        String previous = _ruleDocs.put(key, contents);
+        if (previous != null) {
+            _bytes -= getWeight(previous);
+        }
+        _bytes += weight;
+        Iterator<Map.Entry<String, String>> entries = _ruleDocs.entrySet().iterator();
+        while (_bytes > _maxBytes && entries.hasNext()) {
+            _bytes -= getWeight(entries.next().getValue());
+            entries.remove();
+            _evictionCount++;
+        }
+    }
+
+    /**
+     * Removes all cached files located in the given directory.
+     *
+     * @param dir the directory, e.g. the root directory of a deleted build
+     */
+    public synchronized void invalidate(File dir)
+    {
+        String prefix = getKey(dir) + File.separatorChar;
+        Iterator<Map.Entry<String, String>> entries = _ruleDocs.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, String> entry = entries.next();
+            if (entry.getKey().startsWith(prefix)) {
+                _bytes -= getWeight(entry.getValue());
+                entries.remove();
+            }
+        }
+    }
+
+    public synchronized void clear()
+    {
+        _ruleDocs.clear();
+        _bytes = 0;
+    }
+
+    public synchronized int size()
+    {
+        return _ruleDocs.size();
+    }
+
+    public synchronized long getBytes()
+    {
+        return _bytes;
+    }
+
+    public synchronized long getHitCount()
+    {
+        return _hitCount;
+    }
+
+    public synchronized long getMissCount()
+    {
+        return _missCount;
+    }
+
+    public synchronized long getEvictionCount()
+    {
+        return _evictionCount;
+    }
+
+    public synchronized double getHitRatio()
+    {
+        long requestCount = _hitCount + _missCount;
+        return requestCount == 0 ? 0 : (double) _hitCount / requestCount;
+    }
+
+    // the stored documentation is read through paths like <build>/../../<store>, so the same file gets one key and is
+    // not considered to be located in the build directory
+    private static String getKey(File file)
+    {
+        return file.toPath().toAbsolutePath().normalize().toString();
+    }
+
+    // Java strings take up to two bytes per character
+    private static long getWeight(String contents)
+    {
+        return 2L * contents.length();
+    }
+
+    /**
+     * Invalidates the cached rule documentation of deleted builds.
+     */
+    @Extension
+    public static final class BuildDeletionListener
+            extends RunListener<Run<?, ?>>
+    {
+        @Override
+        public void onDeleted(Run<?, ?> run)
+        {
+            INSTANCE.invalidate(run.getRootDir());
+        }
+    }
+
+    /**
+     * Invalidates the cached rule documentation of deleted jobs, including their shared rule documentation store.
+     */
+    @Extension
+    public static final class JobDeletionListener
+            extends ItemListener
+    {
+        @Override
+        public void onDeleted(Item item)
+        {
+            INSTANCE.invalidate(item.getRootDir());
+        }
+    }
+}
@@ -17,20 +17,30 @@
 package com.parasoft.findings.jenkins.internal.rules;
 
 import com.parasoft.findings.utils.common.IStringConstants;
-import com.parasoft.findings.utils.common.util.FileUtil;
-import com.parasoft.findings.utils.common.util.StringUtil;
+import com.parasoft.findings.utils.common.util.IOUtils;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.Properties;
 
+/**
+ * Reads the rule documentation stored for a build by {@link RuleDocumentationStorage}. The documentation is resolved
+ * through the index of the build in the store of the build or of its job, builds without an index keep the
+ * documentation files in the build directory.
+ * The contents of the files are shared by all readers through {@link RuleDocumentationCache}.
+ */
 public class RuleDocumentationReader
 {
     private File _buildRoot = null;
+    private File _jobRoot = null;
     private String _rulesDocDir = null;
 
-    private Map<String, String> _ruleDocMap = null;
+    private Properties _index = null;
+
+    private final RuleDocumentationCache _cache;
 
     public RuleDocumentationReader(File buildRoot)
     {
@@ -38,30 +48,76 @@ public class RuleDocumentationReader
     }
 
     public RuleDocumentationReader(File buildRoot, String rulesDocDir)
+    {
+        this(buildRoot, rulesDocDir, RuleDocumentationCache.getInstance());
+    }
+
+    /**
+     * @param buildRoot the root directory of the build
+     * @param jobRoot   the current root directory of the job of the build, which keeps the store shared by its builds
+     */
+    public RuleDocumentationReader(File buildRoot, File jobRoot)
+    {
+        this(buildRoot, jobRoot, DEFAULT_RULES_DIR, RuleDocumentationCache.getInstance());
+    }
+
+    public RuleDocumentationReader(File buildRoot, String rulesDocDir, RuleDocumentationCache cache)
+    {
+        this(buildRoot, buildRoot, rulesDocDir, cache);
+    }
+
+    public RuleDocumentationReader(File buildRoot, File jobRoot, String rulesDocDir, RuleDocumentationCache cache)
     {
         _buildRoot = buildRoot;
+        _jobRoot = jobRoot;
         _rulesDocDir = rulesDocDir;
-        _ruleDocMap = new HashMap<>();
+        _cache = cache;
     }
 
     public String getRuleDoc(String analyzer, String ruleId)
     {
-        String key = getRuleDocKey(analyzer, ruleId);
-        String contents = _ruleDocMap.get(key);
-        if (StringUtil.isNonEmpty(contents)) {
-            return contents;
+        return _cache.getRuleDoc(getRuleDocFile(analyzer, ruleId));
+    }
+
+    private synchronized File getRuleDocFile(String analyzer, String ruleId)
+    {
+        Properties index = getIndex();
+        String hash = index.getProperty(getRuleDocKey(analyzer, ruleId));
+        String store = index.getProperty(INDEX_STORE_KEY);
+        if (hash != null && store != null) {
+            File storeRoot = INDEX_STORE_JOB.equals(store) ? _jobRoot : _buildRoot;
+            return new File(new File(storeRoot, DEFAULT_STORE_DIR), getStoredRuleDocRelativePath(hash));
         }
-        File ruleDoc = new File(_buildRoot, getRuleDocRelativePath(_rulesDocDir, analyzer, ruleId));
-        if (ruleDoc.exists()) {
+        // builds stored before the index was introduced
+        return new File(_buildRoot, getRuleDocRelativePath(_rulesDocDir, analyzer, ruleId));
+    }
+
+    private Properties getIndex()
+    {
+        if (_index == null) {
+            _index = loadIndex(new File(_buildRoot, getRuleDocIndexRelativePath(_rulesDocDir)));
+        }
+        return _index;
+    }
+
+    /**
+     * @return the contents of the given index file, empty if the file does not exist
+     */
+    static Properties loadIndex(File indexFile)
+    {
+        Properties index = new Properties();
+        if (indexFile.exists()) {
+            Reader reader = null;
             try {
-                contents = FileUtil.readFile(ruleDoc, IStringConstants.UTF_8);
+                reader = new InputStreamReader(new FileInputStream(indexFile), IStringConstants.UTF_8); // parasoft-suppress BD.RES.LEAKS "Closed in finally"
+                index.load(reader);
             } catch (IOException e) {
                 Logger.getLogger().error(e);
+            } finally {
+                IOUtils.close(reader);
             }
         }
-        contents = contents != null ? contents : IStringConstants.EMPTY; //Messages.RULE_DOCUMENTATION_UNAVAILABLE;
-        _ruleDocMap.put(key, contents);
-        return contents;
+        return index;
     }
 
     public static String getRuleDocRelativePath(String rulesDocDir, String analyzer, String ruleId)
@@ -69,10 +125,33 @@ public class RuleDocumentationReader
         return rulesDocDir + '/' + analyzer + '/' + ruleId + ".html"; //$NON-NLS-1$
     }
 
+    public static String getRuleDocIndexRelativePath(String rulesDocDir)
+    {
+        return rulesDocDir + '/' + INDEX_FILE_NAME;
+    }
+
+    public static String getStoredRuleDocRelativePath(String hash)
+    {
+        return hash.substring(0, 2) + '/' + hash + STORED_RULE_DOC_EXTENSION;
+    }
+
     public static String getRuleDocKey(String analyzer, String ruleId)
     {
         return analyzer + '_' + ruleId;
     }
 
     static final String DEFAULT_RULES_DIR = "parasoft-findings-rules"; //$NON-NLS-1$
+
+    static final String DEFAULT_STORE_DIR = "parasoft-findings-rules-store"; //$NON-NLS-1$
+
+    static final String INDEX_FILE_NAME = "index.properties"; //$NON-NLS-1$
+
+    static final String INDEX_STORE_KEY = "@store"; //$NON-NLS-1$
+
+    // the values of the store key: the store is in the directory of the job or of the build itself
+    static final String INDEX_STORE_JOB = "job"; //$NON-NLS-1$
+
+    static final String INDEX_STORE_BUILD = "build"; //$NON-NLS-1$
+
+    static final String STORED_RULE_DOC_EXTENSION = ".html"; //$NON-NLS-1$
 }
@@ -17,13 +17,38 @@
 package com.parasoft.findings.jenkins.internal.rules;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Reader;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.common.util.IOUtils;
@@ -31,78 +56,231 @@ import com.parasoft.findings.utils.common.util.StringUtil;
 import com.parasoft.findings.utils.doc.RuleDocumentationProvider;
 import org.jenkinsci.remoting.RoleChecker;
 
+import hudson.Extension;
 import hudson.FilePath;
 import hudson.FilePath.FileCallable;
+import hudson.model.Job;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
 import hudson.remoting.VirtualChannel;
 
+/**
+ * Stores the documentation of the rules reported in a build, so it is available when the build results are viewed.
+ * <p>
+ * The documentation is kept in a content-addressed store, usually shared by all builds of a job, where each file is
+ * named by the hash of the analyzer, rule id and contents. A build keeps only an index which maps its rules to the
+ * stored files, see {@link RuleDocumentationReader}. The index does not keep the location of the store, readers
+ * resolve it from the job the build currently belongs to, so the index stays valid when the job is renamed or moved
+ * and with custom build directories. Files of the store which are no longer referenced by any build of the job are
+ * deleted together with a build.
+ * <p>
+ * The storage is thread-safe and each rule documentation is stored only once.
+ */
 public class RuleDocumentationStorage
 {
+    private static final int MAX_FETCH_THREADS = 8;
+
     private File _buildRoot = null;
 
     private String _rulesDocDir = null;
 
-    private Set<String> _ruleDocs = null;
+    private final File _storeDir;
 
-    private final RuleDocumentationProvider _docProvider;
+    private final boolean _jobStore;
+
+    private final Set<String> _ruleDocs;
+
+    private final Properties _settings;
 
     public RuleDocumentationStorage(File buildRoot, Properties settings)
     {
-        this(buildRoot, RuleDocumentationReader.DEFAULT_RULES_DIR, settings);
+        this(buildRoot, buildRoot, settings);
     }
 
     public RuleDocumentationStorage(File buildRoot, String rulesDocDir, Properties settings)
+    {
+        this(buildRoot, buildRoot, rulesDocDir, settings);
+    }
+
+    /**
+     * @param buildRoot the root directory of the build which gets the rule documentation index
+     * @param storeRoot the root directory of the shared rule documentation store, e.g. the root directory of the job
+     * @param settings  the settings with the rule documentation locations
+     */
+    public RuleDocumentationStorage(File buildRoot, File storeRoot, Properties settings)
+    {
+        this(buildRoot, storeRoot, RuleDocumentationReader.DEFAULT_RULES_DIR, settings);
+    }
+
+    public RuleDocumentationStorage(File buildRoot, File storeRoot, String rulesDocDir, Properties settings)
     {
         _buildRoot = buildRoot;
-        _ruleDocs = new HashSet<>();
+        _ruleDocs = ConcurrentHashMap.newKeySet();
         _rulesDocDir = rulesDocDir;
-        _docProvider = new RuleDocumentationProvider(settings);
+        _storeDir = new File(storeRoot, RuleDocumentationReader.DEFAULT_STORE_DIR);
+        _jobStore = !buildRoot.toPath().toAbsolutePath().normalize()
+                .equals(storeRoot.toPath().toAbsolutePath().normalize());
+        _settings = settings;
     }
 
     public void storeRuleDoc(String analyzer, String ruleId)
     {
-        String key = RuleDocumentationReader.getRuleDocKey(analyzer, ruleId);
-        if (_ruleDocs.contains(key)) {
+        storeRuleDocs(Collections.singletonMap(analyzer, Collections.singleton(ruleId)));
+    }
+
+    /**
+     * Fetches the documentation of all given rules concurrently and stores it in a single call.
+     *
+     * @param ruleIdsByAnalyzer the rule ids to store, grouped by analyzer id
+     */
+    public void storeRuleDocs(Map<String, ? extends Collection<String>> ruleIdsByAnalyzer)
+    {
+        List<RuleKey> newRules = new ArrayList<>();
+        for (Entry<String, ? extends Collection<String>> entry : ruleIdsByAnalyzer.entrySet()) {
+            for (String ruleId : entry.getValue()) {
+                RuleKey rule = new RuleKey(entry.getKey(), ruleId);
+                if (_ruleDocs.add(rule.getRuleDocKey())) {
+                    newRules.add(rule);
+                }
+            }
+        }
+        if (newRules.isEmpty()) {
             return;
         }
-        String ruleDocLocation = _docProvider.getRuleDocLocation(analyzer, ruleId);
 
-        String contents = _docProvider.getRuleDocContent(ruleDocLocation);
-        if (StringUtil.isNonEmptyTrimmed(contents)) {
-            storeRuleDoc(new FilePath(_buildRoot), _rulesDocDir, analyzer, ruleId, contents);
+        Map<String, String> hashesByKey = new LinkedHashMap<>();
+        Map<String, String> contentsByHash = new LinkedHashMap<>();
+        Map<RuleKey, String> contentsByRule = fetchRuleDocs(newRules);
+        for (Entry<RuleKey, String> entry : contentsByRule.entrySet()) {
+            RuleKey rule = entry.getKey();
+            String hash = DigestUtils.sha256Hex(rule._analyzer + '\n' + rule._ruleId + '\n' + entry.getValue());
+            hashesByKey.put(rule.getRuleDocKey(), hash);
+            contentsByHash.put(hash, entry.getValue());
+        }
+        if (!hashesByKey.isEmpty()) {
+            storeRuleDocs(new FilePath(_buildRoot), hashesByKey, contentsByHash);
         }
-        _ruleDocs.add(key);
     }
 
-    private void storeRuleDoc(FilePath rootDir, String ruleDocDir, String analyzer, String ruleId, String contents)
+    private Map<RuleKey, String> fetchRuleDocs(List<RuleKey> rules)
     {
+        Map<RuleKey, String> contentsByRule = new LinkedHashMap<>();
+        // RuleDocumentationProvider is not documented as thread-safe, so each worker uses its own instance
+        ThreadLocal<RuleDocumentationProvider> docProviders =
+                ThreadLocal.withInitial(() -> new RuleDocumentationProvider(_settings));
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(rules.size(), MAX_FETCH_THREADS));
         try {
-            rootDir.act(new InternalStoreRuleDocFileCallable(ruleDocDir, analyzer, ruleId, contents));
+            List<Future<String>> futures = new ArrayList<>(rules.size());
+            for (RuleKey rule : rules) {
+                futures.add(executor.submit(() -> {
+                    RuleDocumentationProvider docProvider = docProviders.get();
+                    return docProvider.getRuleDocContent(docProvider.getRuleDocLocation(rule._analyzer, rule._ruleId));
+                }));
+            }
+            for (int i = 0; i < rules.size(); i++) {
+                RuleKey rule = rules.get(i);
+                try {
+                    String contents = futures.get(i).get();
+                    if (StringUtil.isNonEmptyTrimmed(contents)) {
+                        contentsByRule.put(rule, contents);
+                    }
+                } catch (ExecutionException e) {
+                    // the documentation of the other rules is still stored, this rule may be fetched again later
+                    Logger.getLogger().warn("Cannot fetch documentation of rule " + rule._ruleId + " of " + rule._analyzer); //$NON-NLS-1$ //$NON-NLS-2$
+                    Logger.getLogger().errorTrace(e);
+                    _ruleDocs.remove(rule.getRuleDocKey());
+                }
+            }
+        } catch (InterruptedException e) {
+            Logger.getLogger().errorTrace(e);
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdownNow();
+        }
+        return contentsByRule;
+    }
+
+    private void storeRuleDocs(FilePath rootDir, Map<String, String> hashesByKey, Map<String, String> contentsByHash)
+    {
+        try {
+            rootDir.act(new InternalStoreRuleDocsFileCallable(_rulesDocDir, _storeDir,
+                    _jobStore ? RuleDocumentationReader.INDEX_STORE_JOB : RuleDocumentationReader.INDEX_STORE_BUILD,
+                    hashesByKey, contentsByHash));
         } catch (IOException | InterruptedException e) {
             Logger.getLogger().errorTrace(e);
         }
     }
 
-    private static final class InternalStoreRuleDocFileCallable implements FileCallable<Boolean> {
+    /**
+     * The analyzer and id of a rule.
+     */
+    private static final class RuleKey
+    {
+        private final String _analyzer;
+        private final String _ruleId;
+
+        RuleKey(String analyzer, String ruleId)
+        {
+            _analyzer = analyzer;
+            _ruleId = ruleId;
+        }
+
+        String getRuleDocKey()
+        {
+            return RuleDocumentationReader.getRuleDocKey(_analyzer, _ruleId);
+        }
 
-        private static final long serialVersionUID = 1L;
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RuleKey)) {
+                return false;
+            }
+            RuleKey other = (RuleKey) obj;
+            return Objects.equals(_analyzer, other._analyzer) && Objects.equals(_ruleId, other._ruleId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(_analyzer, _ruleId);
+        }
+    }
+
+    private static final class InternalStoreRuleDocsFileCallable implements FileCallable<Boolean> {
+
+        private static final long serialVersionUID = 3L;
 
         private final String ruleDocDir;
-        private final String analyzer;
-        private final String ruleId;
-        private final String contents;
+        private final File storeDir;
+        private final String store;
+        private final Map<String, String> hashesByKey;
+        private final Map<String, String> contentsByHash;
 
-        InternalStoreRuleDocFileCallable(String ruleDocDir, String analyzer, String ruleId, String contents) {
+        InternalStoreRuleDocsFileCallable(String ruleDocDir, File storeDir, String store,
+                Map<String, String> hashesByKey, Map<String, String> contentsByHash) {
             this.ruleDocDir = ruleDocDir;
-            this.analyzer = analyzer;
-            this.ruleId = ruleId;
-            this.contents = contents;
+            this.storeDir = storeDir;
+            this.store = store;
+            this.hashesByKey = new LinkedHashMap<>(hashesByKey);
+            this.contentsByHash = new LinkedHashMap<>(contentsByHash);
         }
 
         @Override
         public Boolean invoke(File file, VirtualChannel channel)
                 throws IOException, InterruptedException
         {
-            internalStoreRuleDoc(file, RuleDocumentationReader.getRuleDocRelativePath(ruleDocDir, analyzer, ruleId), contents);
+            // several scans of one build may update the index, and the store must not be pruned before the
+            // stored files are referenced by the index
+            synchronized (RuleDocumentationStorage.class) {
+                for (Entry<String, String> entry : contentsByHash.entrySet()) {
+                    internalStoreRuleDoc(storeDir, RuleDocumentationReader.getStoredRuleDocRelativePath(entry.getKey()), entry.getValue());
+                }
+                internalUpdateIndex(new File(file, RuleDocumentationReader.getRuleDocIndexRelativePath(ruleDocDir)), store, hashesByKey);
+            }
             return Boolean.TRUE;
         }
 
@@ -112,23 +290,122 @@ public class RuleDocumentationStorage
         {}
     }
 
-    private static void internalStoreRuleDoc(File rootDir, String ruleDocFile, String contents)
+    private static void internalStoreRuleDoc(File storeDir, String ruleDocFile, String contents)
+    {
+        File file = new File(storeDir, ruleDocFile);
+        if (file.exists()) {
+            // the name is the hash of the contents, so the file is already up to date
+            return;
+        }
+        File parent = file.getParentFile();
+        if (!parent.exists()) {
+            if (parent.mkdirs()){
+                Logger.getLogger().debug("Created rules dir: " + parent.getAbsolutePath()); //$NON-NLS-1$
+            }
+        }
+        Path tempFile = null;
+        try {
+            // other builds of the job may store the same file at the same time
+            tempFile = Files.createTempFile(parent.toPath(), file.getName(), ".tmp"); //$NON-NLS-1$
+            Files.write(tempFile, contents.getBytes(StandardCharsets.UTF_8));
+            Files.move(tempFile, file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            Logger.getLogger().debug("Rule documentation already stored: " + file.getAbsolutePath()); //$NON-NLS-1$
+        } catch (IOException e) {
+            Logger.getLogger().warnTrace(e);
+        } finally {
+            if (tempFile != null) {
+                tempFile.toFile().delete();
+            }
+        }
+    }
+
+    private static void internalUpdateIndex(File indexFile, String store, Map<String, String> hashesByKey)
     {
+        Properties index = new Properties();
+        Reader reader = null;
         Writer writer = null;
         try {
-            File file = new File(rootDir, ruleDocFile);
-            File parent = file.getParentFile();
-            if (!parent.exists()) {
-                if (parent.mkdirs()){
-                    Logger.getLogger().debug("Created rules dir: " + parent.getAbsolutePath()); //$NON-NLS-1$
-                }
+            if (indexFile.exists()) {
+                reader = new InputStreamReader(new FileInputStream(indexFile), IStringConstants.UTF_8); // parasoft-suppress BD.RES.LEAKS "Closed in finally"
+                index.load(reader);
+            } else if (indexFile.getParentFile().mkdirs()) {
+                Logger.getLogger().debug("Created rules dir: " + indexFile.getParentFile().getAbsolutePath()); //$NON-NLS-1$
             }
-            writer = new OutputStreamWriter(new FileOutputStream(file.getAbsolutePath()), IStringConstants.UTF_8); // parasoft-suppress BD.RES.LEAKS "Closed in finally"
-            writer.write(contents);
+            index.setProperty(RuleDocumentationReader.INDEX_STORE_KEY, store);
+            index.putAll(hashesByKey);
+            writer = new OutputStreamWriter(new FileOutputStream(indexFile), IStringConstants.UTF_8); // parasoft-suppress BD.RES.LEAKS "Closed in finally"
+            index.store(writer, null);
         } catch (IOException e) {
             Logger.getLogger().warnTrace(e);
         } finally {
+            IOUtils.close(reader);
             IOUtils.close(writer);
         }
     }
+
+    /**
+     * Deletes the files of the rule documentation store of a job which are not referenced by the index of any of the
+     * given builds.
+     *
+     * @param jobRoot    the root directory of the job
+     * @param buildRoots the root directories of the builds of the job which are kept
+     */
+    public static void pruneStore(File jobRoot, Collection<File> buildRoots)
+    {
+        File storeDir = new File(jobRoot, RuleDocumentationReader.DEFAULT_STORE_DIR);
+        if (!storeDir.isDirectory()) {
+            return;
+        }
+        synchronized (RuleDocumentationStorage.class) {
+            Set<String> referencedHashes = new HashSet<>();
+            for (File buildRoot : buildRoots) {
+                Properties index = RuleDocumentationReader.loadIndex(new File(buildRoot,
+                        RuleDocumentationReader.getRuleDocIndexRelativePath(RuleDocumentationReader.DEFAULT_RULES_DIR)));
+                if (RuleDocumentationReader.INDEX_STORE_JOB.equals(index.getProperty(RuleDocumentationReader.INDEX_STORE_KEY))) {
+                    for (String key : index.stringPropertyNames()) {
+                        referencedHashes.add(index.getProperty(key));
+                    }
+                }
+            }
+            File[] hashDirs = storeDir.listFiles(File::isDirectory);
+            for (File hashDir : hashDirs == null ? new File[0] : hashDirs) {
+                File[] files = hashDir.listFiles((dir, name) -> name.endsWith(RuleDocumentationReader.STORED_RULE_DOC_EXTENSION));
+                for (File file : files == null ? new File[0] : files) {
+                    String hash = StringUtils.removeEnd(file.getName(), RuleDocumentationReader.STORED_RULE_DOC_EXTENSION);
+                    if (!referencedHashes.contains(hash) && !file.delete()) {
+                        Logger.getLogger().warn("Cannot delete unused rule documentation: " + file.getAbsolutePath()); //$NON-NLS-1$
+                    }
+                }
+                String[] remaining = hashDir.list();
+                if (remaining != null && remaining.length == 0 && !hashDir.delete()) {
+                    Logger.getLogger().debug("Cannot delete empty rules dir: " + hashDir.getAbsolutePath()); //$NON-NLS-1$
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the stored rule documentation which was only referenced by deleted builds. The indexes of all other
+     * builds of the job are read for this, so it is only done for jobs with a rule documentation store.
+     */
+    @Extension
+    public static final class BuildDeletionListener
+            extends RunListener<Run<?, ?>>
+    {
+        @Override
+        public void onDeleted(Run<?, ?> run)
+        {
+            Job<?, ?> job = run.getParent();
+            if (!new File(job.getRootDir(), RuleDocumentationReader.DEFAULT_STORE_DIR).isDirectory()) {
+                return;
+            }
+            // called before the directory of the deleted build is removed
+            File deletedRoot = run.getRootDir();
+            File[] buildRoots = job.getBuildDir().listFiles(file -> file.isDirectory()
+                    && !Files.isSymbolicLink(file.toPath()) && !file.getName().startsWith(".") //$NON-NLS-1$
+                    && !file.equals(deletedRoot));
+            pruneStore(job.getRootDir(), buildRoots == null ? Collections.emptyList() : Arrays.asList(buildRoots));
+        }
+    }
 }
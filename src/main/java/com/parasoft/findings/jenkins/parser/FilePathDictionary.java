@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * File paths referenced by the flow analysis paths of one report. Each path is stored once and the path elements
+ * only keep its index, see {@link FlowAnalysisPath}.
+ */
+public final class FilePathDictionary
+        implements Serializable
+{
+    private static final long serialVersionUID = -4583129466120637524L;
+
+    private final List<String> _paths = new ArrayList<>();
+
+    private transient Map<String, Integer> _indexes;
+    // file paths as reported by the analyzer to the index of their resolved path
+    private transient Map<String, Integer> _reportedIndexes;
+
+    /**
+     * @param path the file path to add
+     * @return the index of the path in this dictionary
+     */
+    public synchronized int add(String path)
+    {
+        if (_indexes == null) {
+            _indexes = new HashMap<>();
+            for (int i = 0; i < _paths.size(); i++) {
+                _indexes.put(_paths.get(i), i);
+            }
+        }
+        Integer index = _indexes.get(path);
+        if (index == null) {
+            index = _paths.size();
+            _paths.add(path);
+            _indexes.put(path, index);
+        }
+        return index;
+    }
+
+    /**
+     * Adds a file path as reported by the analyzer. Each reported path is resolved only once, also if several
+     * paths are built in parallel.
+     *
+     * @param reportedPath the file path as found in the report
+     * @param resolver     resolves the reported path to the path to add
+     * @return the index of the resolved path in this dictionary
+     */
+    public synchronized int add(String reportedPath, UnaryOperator<String> resolver)
+    {
+        if (_reportedIndexes == null) {
+            _reportedIndexes = new HashMap<>();
+        }
+        Integer index = _reportedIndexes.get(reportedPath);
+        if (index == null) {
+            index = add(resolver.apply(reportedPath));
+            _reportedIndexes.put(reportedPath, index);
+        }
+        return index;
+    }
+
+    public synchronized String get(int index)
+    {
+        return _paths.get(index);
+    }
+
+    public synchronized int size()
+    {
+        return _paths.size();
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.io.Serializable;
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+
+import com.parasoft.findings.jenkins.html.Colors;
+import com.parasoft.findings.jenkins.html.IHtmlTags;
+
+import edu.hm.hafner.analysis.IssueBuilder;
+import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
+
+/**
+ * Compact form of the path of a flow analysis violation. The elements are stored in pre-order in parallel arrays,
+ * the file paths are shared by all paths of a report through a {@link FilePathDictionary} and the HTML of the
+ * elements is only created when the call hierarchy is rendered.
+ */
+public final class FlowAnalysisPath
+        implements Serializable
+{
+    private static final long serialVersionUID = 7346851298562307814L;
+
+    static final int NO_FILE = -1;
+
+    private static final byte HAS_LOCATION = 1;
+    private static final byte IMPORTANT = 2;
+
+    private final FilePathDictionary _files;
+    private final int[] _fileIndexes;
+    private final int[] _lineStarts;
+    private final int[] _lineEnds;
+    private final int[] _columnStarts;
+    private final int[] _columnEnds;
+    // number of elements of the subtree starting with the element, including the element itself
+    private final int[] _subtreeSizes;
+    private final byte[] _flags;
+    private final String[] _descriptions;
+    private final String[] _messages;
+    private final String[] _causes;
+    private final String[] _points;
+
+    // the call hierarchy without links, kept with the path until memory gets low
+    private transient volatile SoftReference<String> _callHierarchy;
+
+    private FlowAnalysisPath(Builder builder)
+    {
+        int size = builder._size;
+        _files = builder._files;
+        _fileIndexes = Arrays.copyOf(builder._fileIndexes, size);
+        _lineStarts = Arrays.copyOf(builder._lineStarts, size);
+        _lineEnds = Arrays.copyOf(builder._lineEnds, size);
+        _columnStarts = Arrays.copyOf(builder._columnStarts, size);
+        _columnEnds = Arrays.copyOf(builder._columnEnds, size);
+        _subtreeSizes = Arrays.copyOf(builder._subtreeSizes, size);
+        _flags = Arrays.copyOf(builder._flags, size);
+        _descriptions = Arrays.copyOf(builder._descriptions, size);
+        _messages = Arrays.copyOf(builder._messages, size);
+        _causes = Arrays.copyOf(builder._causes, size);
+        _points = Arrays.copyOf(builder._points, size);
+    }
+
+    /**
+     * @return the number of elements of the path, including nested elements
+     */
+    public int size()
+    {
+        return _flags.length;
+    }
+
+    public String getFileName(int element)
+    {
+        return _fileIndexes[element] == NO_FILE ? "-" : _files.get(_fileIndexes[element]); //$NON-NLS-1$
+    }
+
+    public int getLineStart(int element)
+    {
+        return _lineStarts[element];
+    }
+
+    public int getLineEnd(int element)
+    {
+        return _lineEnds[element];
+    }
+
+    public int getColumnStart(int element)
+    {
+        return _columnStarts[element];
+    }
+
+    public int getColumnEnd(int element)
+    {
+        return _columnEnds[element];
+    }
+
+    public String getCause(int element)
+    {
+        return _causes[element];
+    }
+
+    public String getPoint(int element)
+    {
+        return _points[element];
+    }
+
+    /**
+     * @return the description of the element as HTML
+     */
+    public String getDescription(int element)
+    {
+        if ((_flags[element] & HAS_LOCATION) == 0) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append(IHtmlTags.NON_BREAKABLE_SPACE);
+        sb.append(IHtmlTags.CODE_START_TAG);
+        sb.append(Colors.createColorSpanStartTag((_flags[element] & IMPORTANT) != 0 ? Colors.BLACK : Colors.GRAY));
+        sb.append(_descriptions[element]);
+        sb.append(IHtmlTags.SPAN_END_TAG);
+        sb.append(IHtmlTags.CODE_END_TAG);
+        if (_messages[element] != null) {
+            sb.append(_messages[element]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @param fileNameRenderer creates the links to the source files, if null only the file names are shown
+     * @return the path as HTML list
+     */
+    public String getCallHierarchy(FileNameRenderer fileNameRenderer)
+    {
+        if (fileNameRenderer != null) {
+            return renderCallHierarchy(fileNameRenderer);
+        }
+        // the links depend on the build, so only the hierarchy without links is kept
+        SoftReference<String> reference = _callHierarchy;
+        String hierarchy = reference == null ? null : reference.get();
+        if (hierarchy == null) {
+            hierarchy = renderCallHierarchy(null);
+            _callHierarchy = new SoftReference<>(hierarchy);
+        }
+        return hierarchy;
+    }
+
+    private String renderCallHierarchy(FileNameRenderer fileNameRenderer)
+    {
+        StringBuilder message = new StringBuilder();
+        message.append("<ul>"); //$NON-NLS-1$
+        for (int element = 0; element < size(); element += _subtreeSizes[element]) {
+            appendElement(message, element, fileNameRenderer);
+        }
+        message.append("</ul>"); //$NON-NLS-1$
+        return message.toString();
+    }
+
+    private void appendElement(StringBuilder message, int element, FileNameRenderer fileNameRenderer)
+    {
+        message.append(IHtmlTags.LIST_ELEM_START_TAG);
+        message.append(IHtmlTags.BOLD_START_TAG);
+        if (_causes[element] != null) {
+            message.append(Colors.createColorSpanStartTag(Colors.BLUE));
+            message.append(_causes[element]);
+            message.append(IHtmlTags.SPAN_END_TAG);
+            message.append(IHtmlTags.BREAK_LINE_TAG);
+        }
+        if (_points[element] != null) {
+            message.append(Colors.createColorSpanStartTag(Colors.RED));
+            message.append(_points[element]);
+            message.append(IHtmlTags.SPAN_END_TAG);
+            message.append(IHtmlTags.BREAK_LINE_TAG);
+        }
+        message.append(IHtmlTags.BOLD_END_TAG);
+        appendLinkToCallPlace(message, element, fileNameRenderer);
+        message.append(IHtmlTags.NON_BREAKABLE_SPACE);
+        message.append(getDescription(element));
+        int end = element + _subtreeSizes[element];
+        for (int child = element + 1; child < end; child += _subtreeSizes[child]) {
+            message.append(IHtmlTags.LIST_START_TAG);
+            appendElement(message, child, fileNameRenderer);
+            message.append(IHtmlTags.LIST_END_TAG);
+        }
+        message.append(IHtmlTags.LIST_ELEM_END_TAG);
+    }
+
+    private void appendLinkToCallPlace(StringBuilder message, int element, FileNameRenderer fileNameRenderer)
+    {
+        if (fileNameRenderer != null) {
+            IssueBuilder issueBuilder = new IssueBuilder().setFileName(getFileName(element))
+                    .setLineStart(_lineStarts[element]).setLineEnd(_lineEnds[element])
+                    .setColumnStart(_columnStarts[element]).setColumnEnd(_columnEnds[element]);
+            message.append(fileNameRenderer.createAffectedFileLink(issueBuilder.build()).render());
+            return;
+        }
+        String color = Colors.GRAY;
+        if (_causes[element] != null) {
+            color = Colors.BLUE;
+        } else if (_points[element] != null) {
+            color = Colors.RED;
+        }
+        message.append(Colors.createColorSpanStartTag(color));
+        message.append(String.format("%s:%d", getBaseName(getFileName(element)), _lineStarts[element])); //$NON-NLS-1$
+        message.append(IHtmlTags.SPAN_END_TAG);
+    }
+
+    private static String getBaseName(String fileName)
+    {
+        return fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+    }
+
+    /**
+     * Collects the elements of a path in pre-order, i.e. each element is added before its children.
+     */
+    public static final class Builder
+    {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final FilePathDictionary _files;
+        private int _size = 0;
+        private int[] _fileIndexes = new int[INITIAL_CAPACITY];
+        private int[] _lineStarts = new int[INITIAL_CAPACITY];
+        private int[] _lineEnds = new int[INITIAL_CAPACITY];
+        private int[] _columnStarts = new int[INITIAL_CAPACITY];
+        private int[] _columnEnds = new int[INITIAL_CAPACITY];
+        private int[] _subtreeSizes = new int[INITIAL_CAPACITY];
+        private byte[] _flags = new byte[INITIAL_CAPACITY];
+        private String[] _descriptions = new String[INITIAL_CAPACITY];
+        private String[] _messages = new String[INITIAL_CAPACITY];
+        private String[] _causes = new String[INITIAL_CAPACITY];
+        private String[] _points = new String[INITIAL_CAPACITY];
+
+        public Builder(FilePathDictionary files)
+        {
+            _files = files;
+        }
+
+        /**
+         * Adds an element without location.
+         *
+         * @return the index of the element
+         */
+        public int addElement()
+        {
+            ensureCapacity();
+            _fileIndexes[_size] = NO_FILE;
+            _subtreeSizes[_size] = 1;
+            return _size++;
+        }
+
+        /**
+         * Adds an element with location. Its children have to be added next, followed by {@link #endElement(int)}.
+         *
+         * @param fileName    the file of the element, or null
+         * @param description the description of the element as reported by the analyzer
+         * @param message     the additional message of the element as HTML, or null
+         * @param important   whether the element is highlighted
+         * @return the index of the element
+         */
+        public int addElement(String fileName, int lineStart, int lineEnd, int columnStart, int columnEnd,
+                String description, String message, boolean important)
+        {
+            return addElement(fileName == null ? NO_FILE : _files.add(fileName), lineStart, lineEnd, columnStart,
+                    columnEnd, description, message, important);
+        }
+
+        /**
+         * @param fileIndex the index of the file of the element in the dictionary of the path, or {@link #NO_FILE}
+         */
+        int addElement(int fileIndex, int lineStart, int lineEnd, int columnStart, int columnEnd,
+                String description, String message, boolean important)
+        {
+            int element = addElement();
+            _fileIndexes[element] = fileIndex;
+            _lineStarts[element] = lineStart;
+            _lineEnds[element] = lineEnd;
+            _columnStarts[element] = columnStart;
+            _columnEnds[element] = columnEnd;
+            _flags[element] = (byte) (HAS_LOCATION | (important ? IMPORTANT : 0));
+            _descriptions[element] = description;
+            _messages[element] = message;
+            return element;
+        }
+
+        public void setCause(int element, String cause)
+        {
+            _causes[element] = cause;
+        }
+
+        public void setPoint(int element, String point)
+        {
+            _points[element] = point;
+        }
+
+        /**
+         * Marks the end of the children of the given element.
+         */
+        public void endElement(int element)
+        {
+            _subtreeSizes[element] = _size - element;
+        }
+
+        public FlowAnalysisPath build()
+        {
+            return new FlowAnalysisPath(this);
+        }
+
+        private void ensureCapacity()
+        {
+            if (_size < _flags.length) {
+                return;
+            }
+            int capacity = _flags.length * 2;
+            _fileIndexes = Arrays.copyOf(_fileIndexes, capacity);
+            _lineStarts = Arrays.copyOf(_lineStarts, capacity);
+            _lineEnds = Arrays.copyOf(_lineEnds, capacity);
+            _columnStarts = Arrays.copyOf(_columnStarts, capacity);
+            _columnEnds = Arrays.copyOf(_columnEnds, capacity);
+            _subtreeSizes = Arrays.copyOf(_subtreeSizes, capacity);
+            _flags = Arrays.copyOf(_flags, capacity);
+            _descriptions = Arrays.copyOf(_descriptions, capacity);
+            _messages = Arrays.copyOf(_messages, capacity);
+            _causes = Arrays.copyOf(_causes, capacity);
+            _points = Arrays.copyOf(_points, capacity);
+        }
+    }
+}
@@ -16,7 +16,10 @@
 
 package com.parasoft.findings.jenkins.parser;
 
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -28,25 +31,22 @@ import org.apache.commons.collections.CollectionUtils;
 
 import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.results.testableinput.IFileTestableInput;
-import com.parasoft.findings.utils.results.testableinput.ProjectFileTestableInput;
 import com.parasoft.findings.utils.results.testableinput.ITestableInput;
-import com.parasoft.findings.utils.common.util.CollectionUtil;
 import com.parasoft.findings.utils.results.testableinput.PathInput;
 import com.parasoft.findings.jenkins.html.Colors;
 import com.parasoft.findings.jenkins.html.IHtmlTags;
 import com.parasoft.findings.utils.results.testableinput.FindingsLocationMatcher;
 import com.parasoft.findings.utils.results.violations.IFlowAnalysisPathElement.Type;
 
-import edu.hm.hafner.analysis.FileNameResolver;
-import edu.hm.hafner.analysis.Issue;
-import edu.hm.hafner.analysis.IssueBuilder;
-import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.util.PathUtil;
 
 public class FlowAnalysisPathBuilder
 {
     private final IFlowAnalysisViolation _violation;
-    private final String _parentKey;
-    private Path _workspace;
+    private final Path _workspace;
+    private final FilePathDictionary _files;
+
+    private static final PathUtil PATH_UTIL = new PathUtil();
 
     private static final String ANNOTATION_KIND_POINT = "point"; //$NON-NLS-1$
     private static final String ANNOTATION_KIND_CAUSE = "cause"; //$NON-NLS-1$
@@ -60,18 +60,21 @@ public class FlowAnalysisPathBuilder
 
     /**
      * @param violation for which path information is needed
-     * @param parentKey unique key of a warning that owns this violation
+     * @param workspace the directory to resolve relative file paths against, or null
+     * @param files     the file paths of the report the violation belongs to
      */
-    public FlowAnalysisPathBuilder(IFlowAnalysisViolation violation, String parentKey, Path workspace)
+    public FlowAnalysisPathBuilder(IFlowAnalysisViolation violation, Path workspace, FilePathDictionary files)
     {
         _violation = violation;
-        _parentKey = parentKey;
         _workspace = workspace;
+        _files = files;
     }
 
-    public List<Issue> getPath()
+    public FlowAnalysisPath getPath()
     {
-        return getPath(_violation.getPathElements());
+        FlowAnalysisPath.Builder builder = new FlowAnalysisPath.Builder(_files);
+        addElements(builder, _violation.getPathElements());
+        return builder.build();
     }
 
     private String getAnnotationByKind(IFlowAnalysisPathElement descriptor, String kind)
@@ -84,36 +87,6 @@ public class FlowAnalysisPathBuilder
         return null;
     }
 
-    private List<Issue> getChildren(IFlowAnalysisPathElement descriptor)
-    {
-        return getPath(descriptor.getChildren());
-    }
-
-    private String getDescription(IFlowAnalysisPathElement descriptor, boolean useAnnotation)
-    {
-        StringBuilder sb = new StringBuilder();
-        sb.append(IHtmlTags.NON_BREAKABLE_SPACE);
-        sb.append(IHtmlTags.CODE_START_TAG);
-
-        if (!isImportant(descriptor)) {
-            sb.append(Colors.createColorSpanStartTag(Colors.GRAY));
-            sb.append(descriptor.getDescription());
-            sb.append(IHtmlTags.SPAN_END_TAG);
-        } else {
-            sb.append(Colors.createColorSpanStartTag(Colors.BLACK));
-            sb.append(descriptor.getDescription());
-            sb.append(IHtmlTags.SPAN_END_TAG);
-        }
-
-        sb.append(IHtmlTags.CODE_END_TAG);
-        String message = getMessage(descriptor, true, useAnnotation);
-
-        if (message.length() > 0) {
-            sb.append(message);
-        }
-        return sb.toString();
-    }
-
     private String getExceptionMessageFromDescriptor(IFlowAnalysisPathElement descriptor)
     {
         String throwingMethod = descriptor.getThrowingMethod();
@@ -159,19 +132,12 @@ public class FlowAnalysisPathBuilder
         return sb.toString();
     }
 
-    private List<Issue> getPath(IFlowAnalysisPathElement[] descriptors)
+    private void addElements(FlowAnalysisPath.Builder builder, IFlowAnalysisPathElement[] descriptors)
     {
         boolean useAnnotations = useAnnotations(descriptors);
-        List<Issue> result = new ArrayList<Issue>();
-        IssueBuilder issueBuilder = new IssueBuilder();
         for (IFlowAnalysisPathElement descriptor : descriptors) {
-            Issue element = createElement(descriptor, useAnnotations, issueBuilder);
-            result.add(element);
-        }
-        if (CollectionUtil.isNonEmpty(result)) {
-            createAbsolutePathsForIssues(result);
+            addElement(builder, descriptor, useAnnotations);
         }
-        return result;
     }
 
     private void addAnnotations(StringBuilder sb, IFlowAnalysisPathElement descriptor, boolean bFullDescription)
@@ -281,73 +247,76 @@ public class FlowAnalysisPathBuilder
         }
     }
 
-    private void createAbsolutePathsForIssues(List<Issue> issues)
-    {
-        Report report = new Report();
-        report.addAll(issues);
-        FileNameResolver resolver = new FileNameResolver();
-        resolver.run(report, _workspace.toString(), x -> false);
-    }
-
-    private Issue createElement(IFlowAnalysisPathElement descriptor, boolean useAnnotation, IssueBuilder issueBuilder)
+    private void addElement(FlowAnalysisPath.Builder builder, IFlowAnalysisPathElement descriptor, boolean useAnnotation)
     {
         ResultLocation location = descriptor.getLocation();
-        FlowIssueAdditionalProperties additionalProperties = new FlowIssueAdditionalProperties();
-        issueBuilder.setAdditionalProperties(additionalProperties);
-        if (location != null) {
-            String message = getMessage(descriptor, false, useAnnotation);
-            issueBuilder.setMessage(message);
-            ITestableInput input = location.getTestableInput();
-            String filePath = null;
-            if (input instanceof IFileTestableInput) {
-                filePath = FindingsLocationMatcher.getFilePath((IFileTestableInput) input);
-            } else if (input instanceof PathInput) {
-                filePath = ((PathInput) input).getPath();
-                if (filePath.startsWith("/")) { //$NON-NLS-1$
-                    filePath = filePath.substring(1);
-                }
-            } else {
-                filePath = input.getName();
-            }
-            if (StringUtil.isNonEmptyTrimmed(filePath)) {
-                issueBuilder.setFileName(filePath);
+        if (location == null) {
+            builder.addElement();
+            return;
+        }
+        ITestableInput input = location.getTestableInput();
+        String filePath = null;
+        if (input instanceof IFileTestableInput) {
+            filePath = FindingsLocationMatcher.getFilePath((IFileTestableInput) input);
+        } else if (input instanceof PathInput) {
+            filePath = ((PathInput) input).getPath();
+            if (filePath.startsWith("/")) { //$NON-NLS-1$
+                filePath = filePath.substring(1);
             }
+        } else {
+            filePath = input.getName();
+        }
+        int fileIndex = StringUtil.isNonEmptyTrimmed(filePath)
+                ? _files.add(filePath, this::resolveFileName)
+                : FlowAnalysisPath.NO_FILE;
 
-            if (input instanceof ProjectFileTestableInput) {
-                ProjectFileTestableInput projectInput = (ProjectFileTestableInput) input;
-                issueBuilder.setModuleName(projectInput.getProjectName());
-            }
+        SourceRange sourceRange = location.getSourceRange();
+        String message = getMessage(descriptor, true, useAnnotation);
+        int element = builder.addElement(fileIndex, sourceRange.getStartLine(), sourceRange.getEndLine(),
+                sourceRange.getStartLineOffset(), sourceRange.getEndLineOffset(), descriptor.getDescription(),
+                message.isEmpty() ? null : message, isImportant(descriptor));
 
-            SourceRange sourceRange = location.getSourceRange();
-            issueBuilder.setLineStart(sourceRange.getStartLine());
-            issueBuilder.setLineEnd(sourceRange.getEndLine());
-            issueBuilder.setColumnStart(sourceRange.getStartLineOffset());
-            issueBuilder.setColumnEnd(sourceRange.getEndLineOffset());
-            additionalProperties.setChildren(getChildren(descriptor));
-            additionalProperties.setDescription(getDescription(descriptor, useAnnotation));
-
-            String typeId = descriptor.getType().getIdentifier();
-            if (typeId != null) {
-                if (typeId.contains(String.valueOf(IFlowAnalysisPathElement.CAUSE))) {
-                    if (useAnnotation) {
-                        additionalProperties.setCause(getAnnotationByKind(descriptor, ANNOTATION_KIND_CAUSE));
-                    } else {
-                        additionalProperties.setCause(FlowAnalysisViolationUtil.getCauseMessage(_violation));
-                    }
+        String typeId = descriptor.getType().getIdentifier();
+        if (typeId != null) {
+            if (typeId.contains(String.valueOf(IFlowAnalysisPathElement.CAUSE))) {
+                if (useAnnotation) {
+                    builder.setCause(element, getAnnotationByKind(descriptor, ANNOTATION_KIND_CAUSE));
+                } else {
+                    builder.setCause(element, FlowAnalysisViolationUtil.getCauseMessage(_violation));
                 }
+            }
 
-                if (typeId.contains(String.valueOf(IFlowAnalysisPathElement.POINT))) {
-                    if (useAnnotation) {
-                        additionalProperties.setPoint(getAnnotationByKind(descriptor, ANNOTATION_KIND_POINT));
-                    } else {
-                        additionalProperties.setPoint(FlowAnalysisViolationUtil.getPointMessage(_violation));
-                    }
+            if (typeId.contains(String.valueOf(IFlowAnalysisPathElement.POINT))) {
+                if (useAnnotation) {
+                    builder.setPoint(element, getAnnotationByKind(descriptor, ANNOTATION_KIND_POINT));
+                } else {
+                    builder.setPoint(element, FlowAnalysisViolationUtil.getPointMessage(_violation));
                 }
             }
         }
-        additionalProperties.setParentKey(_parentKey);
+        addElements(builder, descriptor.getChildren());
+        builder.endElement(element);
+    }
 
-        return issueBuilder.build();
+    // same as for the issues of the report: relative paths are resolved in the workspace if the file exists there
+    private String resolveFileName(String filePath)
+    {
+        String fileName = PATH_UTIL.getAbsolutePath(filePath);
+        if (_workspace == null) {
+            return fileName;
+        }
+        try {
+            Path path = Paths.get(fileName);
+            if (!path.isAbsolute()) {
+                Path resolved = _workspace.resolve(path);
+                if (Files.exists(resolved)) {
+                    return PATH_UTIL.getAbsolutePath(resolved);
+                }
+            }
+        } catch (InvalidPathException e) {
+            Logger.getLogger().debug("Cannot resolve file path: " + fileName); //$NON-NLS-1$
+        }
+        return fileName;
     }
 
     private boolean useAnnotations(IFlowAnalysisPathElement[] descriptors)
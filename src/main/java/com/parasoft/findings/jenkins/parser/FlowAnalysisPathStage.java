@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.parasoft.findings.utils.results.violations.IFlowAnalysisViolation;
+
+import edu.hm.hafner.analysis.ParsingCanceledException;
+
+/**
+ * Builds the flow analysis paths of the violations of a report while the report is converted, with the executor of
+ * the parser or in the converting thread if there is none. All paths of a report share the file paths and the
+ * resolution of the file paths against the workspace, see {@link FilePathDictionary#add(String,
+ * java.util.function.UnaryOperator)}.
+ * <p>
+ * The paths are not built in batches: the importer holds all violations of the report until it is converted anyway,
+ * so a pending path only adds its task to the heap.
+ */
+final class FlowAnalysisPathStage
+{
+    private final Path _workspace;
+    private final ExecutorService _executor;
+    private final FilePathDictionary _files = new FilePathDictionary();
+
+    private final List<Future<?>> _pending = new ArrayList<>();
+
+    /**
+     * @param workspace the directory to resolve relative file paths against, or null
+     * @param executor  the executor to build the paths with, or null to build them in the calling thread
+     */
+    FlowAnalysisPathStage(Path workspace, ExecutorService executor)
+    {
+        _workspace = workspace;
+        _executor = executor;
+    }
+
+    /**
+     * Builds the path of a violation. The path is set to the given properties before {@link #flush()} returns at the
+     * latest.
+     */
+    void add(IFlowAnalysisViolation violation, FlowIssueAdditionalProperties properties)
+    {
+        if (_executor == null) {
+            properties.setPath(new FlowAnalysisPathBuilder(violation, _workspace, _files).getPath());
+        } else {
+            _pending.add(_executor.submit(
+                    () -> properties.setPath(new FlowAnalysisPathBuilder(violation, _workspace, _files).getPath())));
+        }
+    }
+
+    /**
+     * Waits until the paths of all added violations are built.
+     */
+    void flush()
+    {
+        try {
+            for (Future<?> future : _pending) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ParsingCanceledException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            // the paths of a failed conversion are not needed anymore
+            _pending.forEach(future -> future.cancel(true));
+            _pending.clear();
+        }
+    }
+}
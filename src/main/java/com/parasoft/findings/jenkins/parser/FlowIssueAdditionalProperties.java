@@ -39,12 +39,20 @@ public class FlowIssueAdditionalProperties
         super(author, revision, analyzer);
     }
 
+    /**
+     * @return the path elements as issues, only set for builds recorded before {@link #getPath()} was introduced
+     */
     @SuppressWarnings("unchecked")
     public List<Issue> getChildren()
     {
         return (List<Issue>)get(CHILDREN_KEY);
     }
 
+    public FlowAnalysisPath getPath()
+    {
+        return (FlowAnalysisPath)get(PATH_KEY);
+    }
+
     public String getDescription()
     {
         return (String)get(DESCRIPTION_KEY);
@@ -70,6 +78,11 @@ public class FlowIssueAdditionalProperties
         put(CHILDREN_KEY, children);
     }
 
+    public void setPath(FlowAnalysisPath path)
+    {
+        put(PATH_KEY, path);
+    }
+
     public void setDescription(String description)
     {
         put(DESCRIPTION_KEY, description);
@@ -87,26 +100,26 @@ public class FlowIssueAdditionalProperties
 
     public String getCallHierarchy(FileNameRenderer fileNameRenderer)
     {
+        FlowAnalysisPath path = getPath();
+        if (path != null) {
+            return path.getCallHierarchy(fileNameRenderer);
+        }
         StringBuilder message = new StringBuilder();
         message.append("<ul>"); //$NON-NLS-1$
         for (Issue child : getChildren()) {
-            String childDesc = getChildDescription(child, fileNameRenderer);
-            if (childDesc != null) {
-                message.append(childDesc);
-            }
+            appendChildDescription(message, child, fileNameRenderer);
         }
         message.append("</ul>"); //$NON-NLS-1$
         return message.toString();
     }
 
-    private String getChildDescription(Issue issue, FileNameRenderer fileNameRenderer)
+    private void appendChildDescription(StringBuilder message, Issue issue, FileNameRenderer fileNameRenderer)
     {
         FlowIssueAdditionalProperties additionalProperties = getAdditionalProperties(issue);
         if (additionalProperties == null) {
-            return null;
+            return;
         }
 
-        StringBuilder message = new StringBuilder();
         message.append(IHtmlTags.LIST_ELEM_START_TAG);
         message.append(IHtmlTags.BOLD_START_TAG);
         addCause(message, additionalProperties);
@@ -117,7 +130,6 @@ public class FlowIssueAdditionalProperties
         message.append(additionalProperties.getDescription());
         addChildren(message, additionalProperties, fileNameRenderer);
         message.append(IHtmlTags.LIST_ELEM_END_TAG);
-        return message.toString();
     }
 
     private void addCause(StringBuilder message, FlowIssueAdditionalProperties additionalProperties)
@@ -146,7 +158,7 @@ public class FlowIssueAdditionalProperties
         if (CollectionUtil.isNonEmpty(children)) {
             for (Issue child : children) {
                 message.append(IHtmlTags.LIST_START_TAG);
-                message.append(getChildDescription(child, fileNameRenderer));
+                appendChildDescription(message, child, fileNameRenderer);
                 message.append(IHtmlTags.LIST_END_TAG);
             }
         }
@@ -183,4 +195,5 @@ public class FlowIssueAdditionalProperties
     public static final String PARENT_KEY = "parentKey"; //$NON-NLS-1$
     public static final String DESCRIPTION_KEY = "description"; //$NON-NLS-1$
     public static final String CHILDREN_KEY = "children"; //$NON-NLS-1$
+    public static final String PATH_KEY = "path"; //$NON-NLS-1$
 }
@@ -21,8 +21,14 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.Serializable;
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import com.parasoft.findings.utils.results.violations.*;
 import com.parasoft.findings.utils.results.testableinput.IFileTestableInput;
@@ -43,6 +49,8 @@ import edu.hm.hafner.analysis.ParsingException;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
 
 /**
  * A parser for Parasoft files containing xml report.
@@ -56,17 +64,31 @@ public class ParasoftParser
 
     private static final String LEGACY_TOOL_NAME = "c++test"; //$NON-NLS-1$
 
+    private static final long PATH_BUILDERS_KEEP_ALIVE_SECONDS = 10;
+
     private final Properties _properties;
 
     private final String _workspace;
 
-    private transient XmlReportViolationsImporter _importer = null;
+    private final int _maxPathBuilders;
+
+    private transient ExecutorService _pathBuilders;
 
     public ParasoftParser(Properties properties, String workspace)
+    {
+        this(properties, workspace, 1);
+    }
+
+    /**
+     * @param maxPathBuilders the number of threads building flow analysis paths, shared by all reports imported
+     *                        concurrently with this parser, 1 to build the paths in the importing thread
+     */
+    public ParasoftParser(Properties properties, String workspace, int maxPathBuilders)
     {
         _properties = properties == null ? new Properties() : properties;
         Logger.getLogger().debug("Constructor call with settings: " + _properties); //$NON-NLS-1$
         _workspace = workspace;
+        _maxPathBuilders = maxPathBuilders;
     }
 
     public Properties getProperties()
@@ -87,7 +109,8 @@ public class ParasoftParser
 
     private Report importResults(File file)
     {
-        XmlReportViolations importedData = getImporter().performImport(file);
+        // a new importer is used for each file, so report files can be imported concurrently
+        XmlReportViolations importedData = new XmlReportViolationsImporter(_properties).performImport(file);
         if (importedData == null) {
             return new Report();
         }
@@ -98,6 +121,10 @@ public class ParasoftParser
     public Report convert(Iterator<IViolation> importResults, RulesImportHandler rulesImportHandler)
     {
         IssueBuilder issueBuilder = new IssueBuilder();
+        StringPool stringPool = new StringPool();
+        Map<RuleDescriptor.Key, RuleDescriptor> ruleDescriptors = new HashMap<>();
+        Path workspacePath = _workspace == null ? null : new File(_workspace).toPath();
+        FlowAnalysisPathStage flowPathStage = new FlowAnalysisPathStage(workspacePath, getPathBuilders());
         Report report = new Report();
 
         while (importResults.hasNext()) {
@@ -109,30 +136,47 @@ public class ParasoftParser
                 Logger.getLogger().warn("Result is not instance of IRuleViolation"); //$NON-NLS-1$
                 continue;
             }
-            if (reportViolation(violation, rulesImportHandler, "-", issueBuilder)) { //$NON-NLS-1$
+            if (reportViolation(violation, rulesImportHandler, "-", issueBuilder, stringPool, ruleDescriptors)) { //$NON-NLS-1$
                 Issue issue = issueBuilder.build();
-                populateViolationPathElements(violation, issue);
+                populateViolationPathElements(violation, issue, flowPathStage);
                 report.add(issue);
             }
         }
+        flowPathStage.flush();
         return report;
     }
 
-    private void populateViolationPathElements(IRuleViolation violation, Issue issue)
+    private synchronized ExecutorService getPathBuilders()
+    {
+        if (_maxPathBuilders <= 1) {
+            return null;
+        }
+        if (_pathBuilders == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(_maxPathBuilders, _maxPathBuilders,
+                PATH_BUILDERS_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Parasoft flow analysis paths")); //$NON-NLS-1$
+            // the threads end once they are idle, so the executor does not need to be shut down
+            executor.allowCoreThreadTimeOut(true);
+            _pathBuilders = executor;
+        }
+        return _pathBuilders;
+    }
+
+    private void populateViolationPathElements(IRuleViolation violation, Issue issue, FlowAnalysisPathStage flowPathStage)
     {
         Serializable properties = issue.getAdditionalProperties();
-        Path workspacePath = _workspace == null ? null : new File(_workspace).toPath();
         if (properties instanceof FlowIssueAdditionalProperties) {
             FlowIssueAdditionalProperties additionalProperties = (FlowIssueAdditionalProperties) properties;
-            additionalProperties
-                    .setChildren(new FlowAnalysisPathBuilder((IFlowAnalysisViolation) violation, issue.getId().toString(), workspacePath).getPath());
+            // built in parallel with the paths of other violations
+            flowPathStage.add((IFlowAnalysisViolation) violation, additionalProperties);
         } else if (properties instanceof DupIssueAdditionalProperties) {
             DupIssueAdditionalProperties additionalProperties = (DupIssueAdditionalProperties)properties;
             additionalProperties.setChildren(new DupCodePathBuilder((DupCodeViolation)violation, issue.getId().toString()).getPath());
         }
     }
 
-    private boolean reportViolation(IRuleViolation violation, RulesImportHandler rulesImportHandler, String moduleName, IssueBuilder issueBuilder)
+    private boolean reportViolation(IRuleViolation violation, RulesImportHandler rulesImportHandler, String moduleName, IssueBuilder issueBuilder,
+        StringPool stringPool, Map<RuleDescriptor.Key, RuleDescriptor> ruleDescriptors)
     {
         ResultAdditionalAttributes attributes = new ResultAdditionalAttributes(violation);
         if (attributes.isSuppressed()) {
@@ -140,21 +184,29 @@ public class ParasoftParser
         }
 
         String message = violation.getMessage();
-        int severity = attributes.getSeverity();
-        Severity severityLevel = convertToSeverityLevel(severity);
-        String ruleCategory = attributes.getRuleCategory();
 
         ResultLocation location = violation.getResultLocation();
         SourceRange sourceRange = location.getSourceRange();
         int startLine = sourceRange.getStartLine();
         int endLine = sourceRange.getEndLine();
 
-        String ruleId = violation.getRuleId();
-        String categoryDesc = rulesImportHandler.getCategoryDescription(ruleCategory);
-        String ruleDesc = ruleId;
+        // the fields below are repeated in many issues, so they are taken from the pool
+        String ruleDesc = stringPool.intern(violation.getRuleId());
+        String analyzer = violation.getAnalyzerId();
+        if (isLegacyReport(analyzer)) {
+            analyzer = mapToAnalyzer(violation, rulesImportHandler);
+        }
+        // the same rule may be reported by different analyzers and with different attributes
+        RuleDescriptor.Key ruleKey = new RuleDescriptor.Key(analyzer, ruleDesc, attributes.getSeverity(),
+            attributes.getRuleCategory(), attributes.getRuleTitle());
+        RuleDescriptor rule = ruleDescriptors.get(ruleKey);
+        if (rule == null) {
+            rule = createRuleDescriptor(analyzer, attributes, rulesImportHandler, stringPool);
+            ruleDescriptors.put(ruleKey, rule);
+        }
 
-        issueBuilder.setSeverity(severityLevel).setMessage(message).setLineStart(startLine).setLineEnd(endLine).setCategory(categoryDesc)
-                .setType(ruleDesc);
+        issueBuilder.setSeverity(rule.getSeverity()).setMessage(message).setLineStart(startLine).setLineEnd(endLine)
+                .setCategory(rule.getCategoryDescription()).setType(ruleDesc);
 
         ITestableInput input = location.getTestableInput();
         String filePath = null;
@@ -174,7 +226,7 @@ public class ParasoftParser
 
         if (input instanceof ProjectFileTestableInput) {
             ProjectFileTestableInput projectInput = (ProjectFileTestableInput) input;
-            issueBuilder.setModuleName(projectInput.getProjectName());
+            issueBuilder.setModuleName(stringPool.intern(projectInput.getProjectName()));
         } else {
             issueBuilder.setModuleName(moduleName);
         }
@@ -184,7 +236,7 @@ public class ParasoftParser
 
         String namespace = violation.getNamespace();
         if (StringUtil.isNonEmpty(namespace)) {
-            issueBuilder.setPackageName(namespace);
+            issueBuilder.setPackageName(stringPool.intern(namespace));
         } else {
             issueBuilder.setPackageName("-"); //$NON-NLS-1$
         }
@@ -199,23 +251,32 @@ public class ParasoftParser
             revision = PROPERTY_UNKNOWN;
         }
 
-        String analyzer = violation.getAnalyzerId();
-        if (isLegacyReport(analyzer)) {
-            analyzer = mapToAnalyzer(violation, rulesImportHandler);
-        }
-        issueBuilder.setDescription(attributes.getRuleTitle());
+        issueBuilder.setDescription(rule.getRuleTitle());
 
+        author = stringPool.intern(author);
+        revision = stringPool.intern(revision);
+
+        // flow analysis and duplicate code properties get the path of the violation, so they cannot be shared
         if (violation instanceof IFlowAnalysisViolation) {
-            issueBuilder.setAdditionalProperties(new FlowIssueAdditionalProperties(author, revision, analyzer));
+            issueBuilder.setAdditionalProperties(new FlowIssueAdditionalProperties(author, revision, rule.getAnalyzer()));
         } else if (violation instanceof DupCodeViolation) {
-            issueBuilder.setAdditionalProperties(new DupIssueAdditionalProperties(author, revision, analyzer));
+            issueBuilder.setAdditionalProperties(new DupIssueAdditionalProperties(author, revision, rule.getAnalyzer()));
         } else {
-            issueBuilder.setAdditionalProperties(new ParasoftIssueAdditionalProperties(author, revision, analyzer));
+            issueBuilder.setAdditionalProperties(rule.getProperties(author, revision));
         }
 
         return true;
     }
 
+    private RuleDescriptor createRuleDescriptor(String analyzer, ResultAdditionalAttributes attributes,
+        RulesImportHandler rulesImportHandler, StringPool stringPool)
+    {
+        Severity severity = convertToSeverityLevel(attributes.getSeverity());
+        String categoryDesc = rulesImportHandler.getCategoryDescription(attributes.getRuleCategory());
+        return new RuleDescriptor(severity, stringPool.intern(categoryDesc), stringPool.intern(attributes.getRuleTitle()),
+            stringPool.intern(analyzer));
+    }
+
     private Severity convertToSeverityLevel(int severity)
     {
         switch (severity) {
@@ -229,15 +290,6 @@ public class ParasoftParser
         }
     }
 
-    private synchronized XmlReportViolationsImporter getImporter()
-    {
-        if (_importer == null) {
-            _importer = new XmlReportViolationsImporter(_properties);
-        }
-
-        return _importer;
-    }
-
     private static boolean isLegacyReport(String analyzer)
     {
         return LEGACY_TOOL_NAME.equals(analyzer);
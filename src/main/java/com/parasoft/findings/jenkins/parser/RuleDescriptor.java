@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * The attributes shared by all violations of a rule in a report with the same {@link Key}, computed once for the first
+ * of these violations.
+ * Additional properties of plain issues with the same author and revision are shared as well, they cannot be
+ * modified, see {@link SharedIssueAdditionalProperties}. Not thread-safe.
+ */
+final class RuleDescriptor
+{
+    private final Severity _severity;
+    private final String _categoryDescription;
+    private final String _ruleTitle;
+    private final String _analyzer;
+
+    // author to revision to properties
+    private final Map<String, Map<String, ParasoftIssueAdditionalProperties>> _properties = new HashMap<>();
+
+    RuleDescriptor(Severity severity, String categoryDescription, String ruleTitle, String analyzer)
+    {
+        _severity = severity;
+        _categoryDescription = categoryDescription;
+        _ruleTitle = ruleTitle;
+        _analyzer = analyzer;
+    }
+
+    Severity getSeverity()
+    {
+        return _severity;
+    }
+
+    String getCategoryDescription()
+    {
+        return _categoryDescription;
+    }
+
+    String getRuleTitle()
+    {
+        return _ruleTitle;
+    }
+
+    /**
+     * @return the analyzer of the rule, mapped for legacy reports
+     */
+    String getAnalyzer()
+    {
+        return _analyzer;
+    }
+
+    /**
+     * @return the shared properties of plain issues of the rule with the given author and revision
+     */
+    ParasoftIssueAdditionalProperties getProperties(String author, String revision)
+    {
+        return _properties.computeIfAbsent(author, key -> new HashMap<>())
+                .computeIfAbsent(revision, key -> new SharedIssueAdditionalProperties(author, revision, _analyzer));
+    }
+
+    /**
+     * The attributes of a violation which determine its rule descriptor.
+     */
+    static final class Key
+    {
+        private final String _analyzer;
+        private final String _ruleId;
+        private final int _severity;
+        private final String _ruleCategory;
+        private final String _ruleTitle;
+
+        Key(String analyzer, String ruleId, int severity, String ruleCategory, String ruleTitle)
+        {
+            _analyzer = analyzer;
+            _ruleId = ruleId;
+            _severity = severity;
+            _ruleCategory = ruleCategory;
+            _ruleTitle = ruleTitle;
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return _severity == other._severity && Objects.equals(_ruleId, other._ruleId)
+                    && Objects.equals(_analyzer, other._analyzer) && Objects.equals(_ruleCategory, other._ruleCategory)
+                    && Objects.equals(_ruleTitle, other._ruleTitle);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(_analyzer, _ruleId, _severity, _ruleCategory, _ruleTitle);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Additional properties shared by several issues, see {@link RuleDescriptor}. The properties cannot be modified once
+ * they have been created or read, so a change to the properties of one issue cannot affect the other issues.
+ */
+final class SharedIssueAdditionalProperties
+        extends ParasoftIssueAdditionalProperties
+{
+    private static final long serialVersionUID = 2187546043527316580L;
+
+    // not set while the constructor of the superclass or a deserializer fills the map
+    private transient boolean _frozen;
+
+    private transient Map<String, Object> _unmodifiableView;
+
+    SharedIssueAdditionalProperties(String author, String revision, String analyzer)
+    {
+        super(author, revision, analyzer);
+        _frozen = true;
+    }
+
+    private Object readResolve()
+    {
+        _frozen = true;
+        return this;
+    }
+
+    @Override
+    public Object put(String key, Object value)
+    {
+        checkModifiable();
+        return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ?> map)
+    {
+        checkModifiable();
+        super.putAll(map);
+    }
+
+    @Override
+    public Object remove(Object key)
+    {
+        checkModifiable();
+        return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value)
+    {
+        checkModifiable();
+        return super.remove(key, value);
+    }
+
+    @Override
+    public void clear()
+    {
+        checkModifiable();
+        super.clear();
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value)
+    {
+        checkModifiable();
+        return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object replace(String key, Object value)
+    {
+        checkModifiable();
+        return super.replace(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue)
+    {
+        checkModifiable();
+        return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ?> function)
+    {
+        checkModifiable();
+        super.replaceAll(function);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ?> mappingFunction)
+    {
+        checkModifiable();
+        return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(String key, BiFunction<? super String, ? super Object, ?> remappingFunction)
+    {
+        checkModifiable();
+        return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ?> remappingFunction)
+    {
+        checkModifiable();
+        return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value, BiFunction<? super Object, ? super Object, ?> remappingFunction)
+    {
+        checkModifiable();
+        return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public Set<String> keySet()
+    {
+        return _frozen ? getUnmodifiableView().keySet() : super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values()
+    {
+        return _frozen ? getUnmodifiableView().values() : super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet()
+    {
+        return _frozen ? getUnmodifiableView().entrySet() : super.entrySet();
+    }
+
+    private Map<String, Object> getUnmodifiableView()
+    {
+        if (_unmodifiableView == null) {
+            _unmodifiableView = Collections.unmodifiableMap(new AbstractMap<String, Object>()
+            {
+                @Override
+                public Set<Map.Entry<String, Object>> entrySet()
+                {
+                    return getModifiableEntrySet();
+                }
+            });
+        }
+        return _unmodifiableView;
+    }
+
+    private Set<Map.Entry<String, Object>> getModifiableEntrySet()
+    {
+        return super.entrySet();
+    }
+
+    private void checkModifiable()
+    {
+        if (_frozen) {
+            throw new UnsupportedOperationException("The properties are shared by several issues"); //$NON-NLS-1$
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Deduplicates strings which are repeated in many issues of a report, like rule ids, categories or authors.
+ * A pool is used for a single parse only, so it does not grow across reports like {@link String#intern()}.
+ * Not thread-safe.
+ */
+class StringPool
+{
+    private final Map<String, String> _strings = new HashMap<>();
+
+    /**
+     * @param value the string to deduplicate, may be null
+     * @return the pooled instance equal to the given string
+     */
+    String intern(String value)
+    {
+        if (value == null) {
+            return null;
+        }
+        String pooled = _strings.putIfAbsent(value, value);
+        return pooled == null ? value : pooled;
+    }
+
+    int size()
+    {
+        return _strings.size();
+    }
+}
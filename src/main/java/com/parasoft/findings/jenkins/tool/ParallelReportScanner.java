@@ -0,0 +1,204 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.DirectoryScanner;
+
+import edu.hm.hafner.analysis.FileReaderFactory;
+import edu.hm.hafner.analysis.IssueParser;
+import edu.hm.hafner.analysis.Report;
+import hudson.remoting.VirtualChannel;
+import jenkins.MasterToSlaveFileCallable;
+
+/**
+ * Imports the report files matching a pattern on the agent with a bounded number of workers and merges the
+ * reports of all files in the order of the file names. The files are found and checked like the sequential import of
+ * {@link io.jenkins.plugins.analysis.core.model.ReportScanningTool} does.
+ * <p>
+ * Large report files need a lot of memory while being imported, so the total size of the files imported at the
+ * same time is limited to a quarter of the maximum heap of the agent. A file larger than this budget is imported
+ * alone.
+ */
+class ParallelReportScanner
+        extends MasterToSlaveFileCallable<Report>
+{
+    private static final long serialVersionUID = 2436710419377391574L;
+
+    private static final int MEMORY_BUDGET_DIVISOR = 4;
+    private static final long KILOBYTE = 1024L;
+
+    private final String _pattern;
+    private final IssueParser _parser;
+    private final String _encoding;
+    private final boolean _followSymbolicLinks;
+    private final int _maxConcurrentImports;
+
+    /**
+     * @param encoding the encoding of the report files, the default charset of the agent is used if the encoding is
+     *                 blank or not supported
+     */
+    ParallelReportScanner(String pattern, IssueParser parser, String encoding, boolean followSymbolicLinks,
+            int maxConcurrentImports)
+    {
+        _pattern = pattern;
+        _parser = parser;
+        _encoding = encoding;
+        _followSymbolicLinks = followSymbolicLinks;
+        _maxConcurrentImports = maxConcurrentImports;
+    }
+
+    @Override
+    public Report invoke(File workspace, VirtualChannel channel)
+            throws IOException, InterruptedException
+    {
+        Report report = new Report();
+        report.logInfo("Searching for all files in '%s' that match the pattern '%s'", //$NON-NLS-1$
+                workspace.getAbsolutePath(), _pattern);
+        String[] fileNames = findFiles(workspace);
+        if (fileNames.length == 0) {
+            report.logError("No files found for pattern '%s'. Configuration error?", _pattern); //$NON-NLS-1$
+            return report;
+        }
+        report.logInfo("-> found %s", plural(fileNames.length, "file")); //$NON-NLS-1$ //$NON-NLS-2$
+        Arrays.sort(fileNames);
+
+        // the files are checked like the sequential import does, only the import itself runs in parallel
+        List<Path> files = new ArrayList<>();
+        for (String fileName : fileNames) {
+            Path file = workspace.toPath().resolve(fileName);
+            if (!Files.isReadable(file)) {
+                report.logError("Skipping file '%s' because Jenkins has no permission to read the file", fileName); //$NON-NLS-1$
+            } else if (isEmpty(file)) {
+                report.logError("Skipping file '%s' because it's empty", fileName); //$NON-NLS-1$
+            } else {
+                files.add(file);
+            }
+        }
+        if (files.isEmpty()) {
+            return report;
+        }
+
+        int poolSize = Math.min(_maxConcurrentImports, files.size());
+        int memoryBudget = getMemoryBudget();
+        report.logInfo("Importing %s with %s", //$NON-NLS-1$
+                plural(files.size(), "file"), plural(poolSize, "worker")); //$NON-NLS-1$ //$NON-NLS-2$
+
+        Charset charset = getCharset();
+        Semaphore memoryPermits = new Semaphore(memoryBudget, true);
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<Report>> futures = new ArrayList<>();
+            for (Path file : files) {
+                futures.add(executor.submit(() -> importFile(file, charset, memoryPermits, memoryBudget)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                try {
+                    report.addAll(futures.get(i).get());
+                } catch (ExecutionException exception) {
+                    report.logError("Parsing of file '%s' failed due to an exception: %s", //$NON-NLS-1$
+                            files.get(i), ExceptionUtils.getRootCauseMessage(exception));
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return report;
+    }
+
+    /**
+     * Finds the files like the sequential import does: without the default excludes of Ant and following symbolic
+     * links only if the tool is configured to do so.
+     */
+    private String[] findFiles(File workspace)
+    {
+        try {
+            DirectoryScanner scanner = new DirectoryScanner();
+            scanner.setBasedir(workspace);
+            scanner.setIncludes(StringUtils.split(_pattern, ", ")); //$NON-NLS-1$
+            scanner.setFollowSymlinks(_followSymbolicLinks);
+            scanner.scan();
+            return scanner.getIncludedFiles();
+        } catch (BuildException | IllegalStateException e) {
+            return new String[0];
+        }
+    }
+
+    private static boolean isEmpty(Path file)
+    {
+        try {
+            return Files.size(file) <= 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private Report importFile(Path file, Charset charset, Semaphore memoryPermits, int memoryBudget)
+            throws InterruptedException
+    {
+        int permits = (int) Math.max(1, Math.min(file.toFile().length() / KILOBYTE, memoryBudget));
+        memoryPermits.acquire(permits);
+        try {
+            Report report = _parser.parse(new FileReaderFactory(file, charset));
+            report.logInfo("Successfully parsed file %s", file); //$NON-NLS-1$
+            report.logInfo("-> found %s", plural(report.getSize(), "issue")); //$NON-NLS-1$ //$NON-NLS-2$
+            return report;
+        } finally {
+            memoryPermits.release(permits);
+        }
+    }
+
+    private Charset getCharset()
+    {
+        try {
+            if (StringUtils.isNotBlank(_encoding)) {
+                return Charset.forName(_encoding);
+            }
+        } catch (IllegalArgumentException e) {
+            // fall back to the default charset like the sequential import does
+        }
+        return Charset.defaultCharset();
+    }
+
+    private static String plural(int count, String noun)
+    {
+        return count + " " + (count == 1 ? noun : noun + "s"); //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
+    // in kilobytes
+    private static int getMemoryBudget()
+    {
+        long budget = Runtime.getRuntime().maxMemory() / MEMORY_BUDGET_DIVISOR / KILOBYTE;
+        return (int) Math.max(1, Math.min(budget, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.util.VisibleForTesting;
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.prism.Sanitizer;
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Serves the details of single issues, i.e. the call hierarchy and the rule documentation, for the issues tables
+ * which do not embed the details into every row, see {@link ParasoftTableModel}. The details are taken from the report
+ * files, so they are sanitized before they are served as a page of their own. The details are cached per build and
+ * issue until the build is deleted.
+ */
+public class ParasoftIssueDetailsAction
+        implements Action
+{
+    static final String URL_NAME = "parasoft-findings-details"; //$NON-NLS-1$
+
+    private static final int MAX_CACHED_DETAILS = 1000;
+
+    private static final String DETAILS_CONTENT_SECURITY_POLICY =
+            "sandbox; default-src 'none'; img-src 'self'; style-src 'self' 'unsafe-inline';"; //$NON-NLS-1$
+
+    private static final Sanitizer SANITIZER = new Sanitizer();
+
+    private static final Map<String, String> DETAILS_CACHE = new DetailsCache();
+
+    private final Run<?, ?> _run;
+
+    public ParasoftIssueDetailsAction(Run<?, ?> run)
+    {
+        _run = run;
+    }
+
+    @Override
+    public String getIconFileName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getUrlName()
+    {
+        return URL_NAME;
+    }
+
+    public void doIssue(@QueryParameter String id, StaplerResponse response)
+            throws IOException
+    {
+        _run.checkPermission(Item.READ);
+        String details = getIssueDetails(id);
+        if (details == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("text/html;charset=UTF-8"); //$NON-NLS-1$
+        // the details are shown as a page of their own, so scripts must not run even if the sanitizer misses one
+        response.setHeader("Content-Security-Policy", DETAILS_CONTENT_SECURITY_POLICY); //$NON-NLS-1$
+        response.setHeader("X-Content-Type-Options", "nosniff"); //$NON-NLS-1$ //$NON-NLS-2$
+        response.getWriter().write(details);
+    }
+
+    /**
+     * @param id the id of the issue
+     * @return the sanitized details of the issue as HTML, or null if the build has no issue with the given id
+     */
+    @VisibleForTesting
+    public String getIssueDetails(String id)
+    {
+        String key = _run.getExternalizableId() + '#' + id;
+        synchronized (DETAILS_CACHE) {
+            String details = DETAILS_CACHE.get(key);
+            if (details != null) {
+                return details;
+            }
+        }
+        Issue issue = findIssue(id);
+        if (issue == null) {
+            return null;
+        }
+        // the call hierarchy and the rule documentation are taken from the report files
+        String details = SANITIZER.render(
+                ParasoftTableModel.formatIssueDetails(issue, new RuleDocumentationReader(_run.getRootDir(), _run.getParent().getRootDir())));
+        synchronized (DETAILS_CACHE) {
+            DETAILS_CACHE.put(key, details);
+        }
+        return details;
+    }
+
+    private Issue findIssue(String id)
+    {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+        for (ResultAction action : _run.getActions(ResultAction.class)) {
+            if (!(action.getLabelProvider() instanceof ParasoftTool.LabelProvider)) {
+                continue;
+            }
+            Issue issue = ParasoftIssuesTableAction.getIndex(_run, action).findById(uuid);
+            if (issue != null) {
+                return issue;
+            }
+        }
+        return null;
+    }
+
+    private static void invalidate(Run<?, ?> run)
+    {
+        String prefix = run.getExternalizableId() + '#';
+        synchronized (DETAILS_CACHE) {
+            DETAILS_CACHE.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private static final class DetailsCache
+            extends LinkedHashMap<String, String>
+    {
+        private static final long serialVersionUID = 6082377719516466340L;
+
+        DetailsCache()
+        {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest)
+        {
+            return size() > MAX_CACHED_DETAILS;
+        }
+    }
+
+    /**
+     * Invalidates the cached details of deleted builds.
+     */
+    @Extension
+    public static final class BuildDeletionListener
+            extends RunListener<Run<?, ?>>
+    {
+        @Override
+        public void onDeleted(Run<?, ?> run)
+        {
+            invalidate(run);
+        }
+    }
+
+    @Extension
+    @SuppressWarnings("rawtypes")
+    public static final class Factory
+            extends TransientActionFactory<Run>
+    {
+        @Override
+        public Class<Run> type()
+        {
+            return Run.class;
+        }
+
+        @Override
+        public Class<ParasoftIssueDetailsAction> actionType()
+        {
+            return ParasoftIssueDetailsAction.class;
+        }
+
+        @Override
+        public Collection<? extends Action> createFor(Run target)
+        {
+            // only the persisted actions, as getActions(ResultAction.class) would ask this factory again
+            if (target.getActions().stream().noneMatch(action -> action instanceof ResultAction)) {
+                return Collections.emptyList();
+            }
+            return Collections.singleton(new ParasoftIssueDetailsAction(target));
+        }
+    }
+}
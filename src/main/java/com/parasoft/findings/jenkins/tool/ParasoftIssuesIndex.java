@@ -0,0 +1,305 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+/**
+ * Issues of a report with one sorted index per column, so pages of the issues table can be served without sorting
+ * or scanning the whole report. Pages sorted by a column, with or without a filter on the value of the same column,
+ * are found in O(log n). A filter on another column than the sort column needs to sort the matching issues. Issues
+ * are found by id in O(log n) as well.
+ */
+public class ParasoftIssuesIndex
+{
+    public enum Column
+    {
+        SEVERITY, CATEGORY, TYPE, AUTHOR, REVISION, FILE
+    }
+
+    private static final List<Severity> SEVERITY_ORDER = Arrays.asList(Severity.ERROR, Severity.WARNING_HIGH,
+            Severity.WARNING_NORMAL, Severity.WARNING_LOW);
+
+    private static final String UNKNOWN = "-"; //$NON-NLS-1$
+
+    private final Issue[] _issues;
+
+    // per column: the key of each issue and the issue positions sorted by these keys
+    private final String[][] _keys;
+    private final int[][] _orders;
+
+    // the issue positions sorted by the ids of the issues
+    private final int[] _idOrder;
+
+    public ParasoftIssuesIndex(Report report)
+    {
+        _issues = new Issue[report.getSize()];
+        int position = 0;
+        for (Issue issue : report) {
+            _issues[position++] = issue;
+        }
+        Column[] columns = Column.values();
+        _keys = new String[columns.length][];
+        _orders = new int[columns.length][];
+        for (Column column : columns) {
+            String[] keys = new String[_issues.length];
+            for (int i = 0; i < _issues.length; i++) {
+                keys[i] = Objects.toString(getKey(_issues[i], column), UNKNOWN);
+            }
+            _keys[column.ordinal()] = keys;
+            _orders[column.ordinal()] = sort(keys);
+        }
+        _idOrder = sortById(_issues);
+    }
+
+    public int size()
+    {
+        return _issues.length;
+    }
+
+    /**
+     * @param sortColumn   the column to sort by
+     * @param ascending    the sort direction
+     * @param filterColumn the column to filter by, or null to return all issues
+     * @param filterValue  the value the issues must have in the filter column, severities are given by name
+     * @param start        the position of the first issue of the page
+     * @param length       the maximum number of issues of the page
+     * @return the requested page
+     * @throws IllegalArgumentException if the filter column is the severity and the filter value is not the name of
+     *                                  a severity
+     */
+    public Page getPage(Column sortColumn, boolean ascending, Column filterColumn, String filterValue, int start, int length)
+    {
+        int[] order = _orders[sortColumn.ordinal()];
+        int from = 0;
+        int to = order.length;
+        if (filterColumn == sortColumn) {
+            String key = toKey(filterColumn, filterValue);
+            from = lowerBound(order, _keys[sortColumn.ordinal()], key);
+            to = upperBound(order, _keys[sortColumn.ordinal()], key);
+        } else if (filterColumn != null) {
+            order = getFilteredOrder(sortColumn, filterColumn, filterValue);
+            to = order.length;
+        }
+
+        int filtered = to - from;
+        List<Issue> issues = new ArrayList<>();
+        for (int i = Math.max(0, start); i < Math.min(filtered, start + (long) length); i++) {
+            issues.add(_issues[order[ascending ? from + i : to - 1 - i]]);
+        }
+        return new Page(issues, _issues.length, filtered);
+    }
+
+    /**
+     * @param id the id of an issue
+     * @return the issue with the given id, or null if the report has no such issue
+     */
+    public Issue findById(UUID id)
+    {
+        int low = 0;
+        int high = _idOrder.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Issue issue = _issues[_idOrder[mid]];
+            int comparison = issue.getId().compareTo(id);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return issue;
+            }
+        }
+        return null;
+    }
+
+    private int[] getFilteredOrder(Column sortColumn, Column filterColumn, String filterValue)
+    {
+        int[] filterOrder = _orders[filterColumn.ordinal()];
+        String[] filterKeys = _keys[filterColumn.ordinal()];
+        String key = toKey(filterColumn, filterValue);
+        int from = lowerBound(filterOrder, filterKeys, key);
+        int to = upperBound(filterOrder, filterKeys, key);
+        return sort(_keys[sortColumn.ordinal()], Arrays.copyOfRange(filterOrder, from, to));
+    }
+
+    private static int[] sort(String[] keys)
+    {
+        int[] positions = new int[keys.length];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        return sort(keys, positions);
+    }
+
+    // stable, so issues with equal keys keep the order of the report
+    private static int[] sort(String[] keys, int[] positions)
+    {
+        Integer[] boxed = new Integer[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            boxed[i] = positions[i];
+        }
+        Arrays.sort(boxed, Comparator.<Integer, String>comparing(position -> keys[position]).thenComparingInt(position -> position));
+        int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    private static int[] sortById(Issue[] issues)
+    {
+        Integer[] boxed = new Integer[issues.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, Comparator.comparing(position -> issues[position].getId()));
+        int[] sorted = new int[boxed.length];
+        for (int i = 0; i < boxed.length; i++) {
+            sorted[i] = boxed[i];
+        }
+        return sorted;
+    }
+
+    private static int lowerBound(int[] order, String[] keys, String key)
+    {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[order[mid]].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(int[] order, String[] keys, String key)
+    {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[order[mid]].compareTo(key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static String toKey(Column column, String value)
+    {
+        if (value == null) {
+            return UNKNOWN;
+        }
+        if (column == Column.SEVERITY) {
+            return getSeverityKey(getSeverity(value));
+        }
+        return value;
+    }
+
+    private static Severity getSeverity(String name)
+    {
+        for (Severity severity : SEVERITY_ORDER) {
+            if (severity.getName().equalsIgnoreCase(name)) {
+                return severity;
+            }
+        }
+        throw new IllegalArgumentException("Unknown severity: " + name); //$NON-NLS-1$
+    }
+
+    private static String getKey(Issue issue, Column column)
+    {
+        switch (column) {
+            case SEVERITY:
+                return getSeverityKey(issue.getSeverity());
+            case CATEGORY:
+                return issue.getCategory();
+            case TYPE:
+                return issue.getType();
+            case AUTHOR:
+                return getAdditionalProperties(issue) == null ? UNKNOWN : getAdditionalProperties(issue).getAuthor();
+            case REVISION:
+                return getAdditionalProperties(issue) == null ? UNKNOWN : getAdditionalProperties(issue).getRevision();
+            case FILE:
+                return issue.getFileName();
+            default:
+                throw new IllegalArgumentException("Unsupported column: " + column); //$NON-NLS-1$
+        }
+    }
+
+    // the most severe issues first
+    private static String getSeverityKey(Severity severity)
+    {
+        int rank = SEVERITY_ORDER.indexOf(severity);
+        return String.valueOf(rank < 0 ? SEVERITY_ORDER.size() : rank);
+    }
+
+    private static ParasoftIssueAdditionalProperties getAdditionalProperties(Issue issue)
+    {
+        Serializable properties = issue.getAdditionalProperties();
+        return properties instanceof ParasoftIssueAdditionalProperties ? (ParasoftIssueAdditionalProperties) properties : null;
+    }
+
+    /**
+     * A page of issues with the counts needed by the issues table.
+     */
+    public static final class Page
+    {
+        private final List<Issue> _issues;
+        private final int _total;
+        private final int _filtered;
+
+        Page(List<Issue> issues, int total, int filtered)
+        {
+            _issues = issues;
+            _total = total;
+            _filtered = filtered;
+        }
+
+        public List<Issue> getIssues()
+        {
+            return _issues;
+        }
+
+        public int getTotal()
+        {
+            return _total;
+        }
+
+        public int getFiltered()
+        {
+            return _filtered;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2024 Parasoft Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.parasoft.findings.jenkins.tool;
+
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
+import org.kohsuke.stapler.StaplerResponse;
+
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Column;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Page;
+
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.echarts.JacksonFacade;
+import hudson.Extension;
+import hudson.model.Action;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import jenkins.model.TransientActionFactory;
+
+/**
+ * Serves single pages of the Parasoft issues tables of a build in the format of the server-side processing mode of
+ * DataTables. Large tables with all issues of a tool request their rows from here, see {@link ParasoftTableModel}.
+ * The pages are taken from a {@link ParasoftIssuesIndex} which is created once per build and tool and cached until
+ * the build is deleted or memory is low.
+ */
+public class ParasoftIssuesTableAction
+        implements Action
+{
+    static final String URL_NAME = "parasoft-findings-table"; //$NON-NLS-1$
+
+    private static final int MAX_CACHED_INDEXES = 16;
+    private static final int MAX_PAGE_LENGTH = 1000;
+
+    // soft references, so the indexes of large reports do not keep the controller from freeing memory
+    private static final Map<String, SoftReference<ParasoftIssuesIndex>> INDEX_CACHE = new IndexCache();
+
+    private final Run<?, ?> _run;
+
+    public ParasoftIssuesTableAction(Run<?, ?> run)
+    {
+        _run = run;
+    }
+
+    @Override
+    public String getIconFileName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getDisplayName()
+    {
+        return null;
+    }
+
+    @Override
+    public String getUrlName()
+    {
+        return URL_NAME;
+    }
+
+    /**
+     * Writes the requested page of the issues table as JSON. Without the {@code sort} parameter, the column to sort
+     * by is taken from the {@code order} and {@code columns} parameters of DataTables, see {@link ParasoftTableModel}.
+     *
+     * @param tool   the id of the static analysis tool
+     * @param draw   the request counter of DataTables, which is returned unchanged
+     * @param start  the position of the first row
+     * @param length the number of rows
+     * @param sort   the name of the column to sort by, by default the severity
+     * @param dir    the sort direction, {@code asc} or {@code desc}
+     * @param filter the name of the column to filter by, optional
+     * @param value  the value of the filter column
+     */
+    public void doRows(@QueryParameter String tool, @QueryParameter int draw, @QueryParameter int start,
+            @QueryParameter int length, @QueryParameter String sort, @QueryParameter String dir,
+            @QueryParameter String filter, @QueryParameter String value, StaplerRequest request,
+            StaplerResponse response)
+            throws IOException
+    {
+        _run.checkPermission(Item.READ);
+        ResultAction resultAction = findResultAction(tool);
+        if (resultAction == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (StringUtils.isBlank(sort)) {
+            String orderColumn = request.getParameter("order[0][column]"); //$NON-NLS-1$
+            if (StringUtils.isNumeric(orderColumn)) {
+                sort = request.getParameter("columns[" + orderColumn + "][name]"); //$NON-NLS-1$ //$NON-NLS-2$
+                dir = request.getParameter("order[0][dir]"); //$NON-NLS-1$
+            }
+        }
+        Column sortColumn;
+        Column filterColumn;
+        try {
+            sortColumn = StringUtils.isBlank(sort) ? Column.SEVERITY : Column.valueOf(sort.toUpperCase(Locale.ENGLISH));
+            filterColumn = StringUtils.isBlank(filter) ? null : Column.valueOf(filter.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        Page page;
+        try {
+            page = getIndex(_run, resultAction).getPage(sortColumn, !"desc".equalsIgnoreCase(dir), filterColumn, value, //$NON-NLS-1$
+                    start, Math.min(Math.max(length, 0), MAX_PAGE_LENGTH));
+        } catch (IllegalArgumentException e) {
+            // unknown severity
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+        Report pageReport = new Report();
+        pageReport.addAll(page.getIssues());
+        ParasoftTableModel model = (ParasoftTableModel) resultAction.getLabelProvider()
+                .getIssuesModel(_run, resultAction.getUrlName(), pageReport);
+
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("draw", draw); //$NON-NLS-1$
+        json.put("recordsTotal", page.getTotal()); //$NON-NLS-1$
+        json.put("recordsFiltered", page.getFiltered()); //$NON-NLS-1$
+        json.put("data", model.getRows()); //$NON-NLS-1$
+        response.setContentType("application/json;charset=UTF-8"); //$NON-NLS-1$
+        response.getWriter().write(new JacksonFacade().toJson(json));
+    }
+
+    /**
+     * @return the cached index of the issues of the given build and tool
+     */
+    static ParasoftIssuesIndex getIndex(Run<?, ?> run, ResultAction resultAction)
+    {
+        String key = run.getExternalizableId() + '#' + resultAction.getId();
+        synchronized (INDEX_CACHE) {
+            SoftReference<ParasoftIssuesIndex> reference = INDEX_CACHE.get(key);
+            ParasoftIssuesIndex index = reference == null ? null : reference.get();
+            if (index != null) {
+                return index;
+            }
+        }
+        ParasoftIssuesIndex index = new ParasoftIssuesIndex(resultAction.getResult().getIssues());
+        synchronized (INDEX_CACHE) {
+            INDEX_CACHE.put(key, new SoftReference<>(index));
+        }
+        return index;
+    }
+
+    /**
+     * @param url    the URL of an issues table relative to the build
+     * @param report the issues of the table
+     * @return the URL of the rows of the table, or null if the table does not show all issues of a Parasoft tool
+     */
+    static String getRowsUrl(Run<?, ?> run, String url, Report report)
+    {
+        for (ResultAction action : run.getActions(ResultAction.class)) {
+            if (action.getUrlName().equals(url) && action.getLabelProvider() instanceof ParasoftTool.LabelProvider
+                    && action.getResult().getIssues().getSize() == report.getSize()) {
+                StaplerRequest request = Stapler.getCurrentRequest();
+                String contextPath = request == null ? "" : request.getContextPath(); //$NON-NLS-1$
+                return contextPath + '/' + run.getUrl() + URL_NAME + "/rows?tool=" + action.getId(); //$NON-NLS-1$
+            }
+        }
+        return null;
+    }
+
+    private static void invalidate(Run<?, ?> run)
+    {
+        String prefix = run.getExternalizableId() + '#';
+        synchronized (INDEX_CACHE) {
+            INDEX_CACHE.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private ResultAction findResultAction(String tool)
+    {
+        for (ResultAction action : _run.getActions(ResultAction.class)) {
+            if (action.getId().equals(tool) && action.getLabelProvider() instanceof ParasoftTool.LabelProvider) {
+                return action;
+            }
+        }
+        return null;
+    }
+
+    private static final class IndexCache
+            extends LinkedHashMap<String, SoftReference<ParasoftIssuesIndex>>
+    {
+        private static final long serialVersionUID = -5169426305817409213L;
+
+        IndexCache()
+        {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SoftReference<ParasoftIssuesIndex>> eldest)
+        {
+            return size() > MAX_CACHED_INDEXES;
+        }
+    }
+
+    /**
+     * Invalidates the cached indexes of deleted builds.
+     */
+    @Extension
+    public static final class BuildDeletionListener
+            extends RunListener<Run<?, ?>>
+    {
+        @Override
+        public void onDeleted(Run<?, ?> run)
+        {
+            invalidate(run);
+        }
+    }
+
+    @Extension
+    @SuppressWarnings("rawtypes")
+    public static final class Factory
+            extends TransientActionFactory<Run>
+    {
+        @Override
+        public Class<Run> type()
+        {
+            return Run.class;
+        }
+
+        @Override
+        public Class<ParasoftIssuesTableAction> actionType()
+        {
+            return ParasoftIssuesTableAction.class;
+        }
+
+        @Override
+        public Collection<? extends Action> createFor(Run target)
+        {
+            // only the persisted actions, as getActions(ResultAction.class) would ask this factory again
+            if (target.getActions().stream().noneMatch(action -> action instanceof ResultAction)) {
+                return Collections.emptyList();
+            }
+            return Collections.singleton(new ParasoftIssuesTableAction(target));
+        }
+    }
+}
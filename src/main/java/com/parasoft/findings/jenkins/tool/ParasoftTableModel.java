@@ -6,20 +6,32 @@
  */
 package com.parasoft.findings.jenkins.tool;
 
+import static j2html.TagCreator.a;
 import static j2html.TagCreator.join;
 import static j2html.TagCreator.p;
 import static j2html.TagCreator.strong;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.parasoft.findings.jenkins.html.IHtmlTags;
 import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Column;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.commons.lang3.StringUtils;
+import org.kohsuke.stapler.Stapler;
+import org.kohsuke.stapler.StaplerRequest;
 
+import com.parasoft.findings.utils.common.IStringConstants;
 import com.parasoft.findings.utils.common.util.StringUtil;
 import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
 
@@ -31,19 +43,90 @@ import io.jenkins.plugins.analysis.core.model.DetailsTableModel;
 import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.AgeBuilder;
 import io.jenkins.plugins.datatables.TableColumn;
+import io.jenkins.plugins.datatables.TableConfiguration;
 import io.jenkins.plugins.util.JenkinsFacade;
 import j2html.tags.UnescapedText;
+import jenkins.util.SystemProperties;
 
 public class ParasoftTableModel
         extends DetailsTableModel
 {
+    private static final int LAZY_DETAILS_THRESHOLD = SystemProperties.getInteger(
+            ParasoftTableModel.class.getName() + ".lazyDetailsThreshold", 1000); //$NON-NLS-1$
+
     private RuleDocumentationReader _ruleDocReader = null;
 
+    private static final int SERVER_SIDE_THRESHOLD = SystemProperties.getInteger(
+            ParasoftTableModel.class.getName() + ".serverSideThreshold", 10000); //$NON-NLS-1$
+
+    private String _detailsUrl = null;
+
+    private String _rowsUrl = null;
+
     public ParasoftTableModel(Run<?, ?> build, Report report, FileNameRenderer fileNameRenderer, AgeBuilder ageBuilder,
                               DescriptionProvider descriptionProvider, JenkinsFacade jenkinsFacade)
+    {
+        this(build, report, fileNameRenderer, ageBuilder, descriptionProvider, jenkinsFacade, report.getSize() > LAZY_DETAILS_THRESHOLD);
+    }
+
+    /**
+     * Creates the model of an issues table of a tool. If the table shows all issues of a Parasoft tool and the report
+     * is large, the rows are not rendered at once. The table requests them page by page from
+     * {@link ParasoftIssuesTableAction} instead.
+     *
+     * @param url the URL of the table relative to the build, i.e. the id of the tool for the table with all issues
+     */
+    public ParasoftTableModel(Run<?, ?> build, String url, Report report, FileNameRenderer fileNameRenderer,
+                              AgeBuilder ageBuilder, DescriptionProvider descriptionProvider, JenkinsFacade jenkinsFacade)
+    {
+        this(build, report, fileNameRenderer, ageBuilder, descriptionProvider, jenkinsFacade);
+        if (report.getSize() > SERVER_SIDE_THRESHOLD) {
+            _rowsUrl = ParasoftIssuesTableAction.getRowsUrl(build, url, report);
+        }
+    }
+
+    /**
+     * @param lazyDetails if true, the rows contain only a link to the details of the issue, i.e. the call hierarchy
+     *                    and the rule documentation, which are loaded on demand from {@link ParasoftIssueDetailsAction}
+     */
+    public ParasoftTableModel(Run<?, ?> build, Report report, FileNameRenderer fileNameRenderer, AgeBuilder ageBuilder,
+                              DescriptionProvider descriptionProvider, JenkinsFacade jenkinsFacade, boolean lazyDetails)
     {
         super(report, fileNameRenderer, ageBuilder, descriptionProvider, jenkinsFacade);
-        _ruleDocReader = new RuleDocumentationReader(build.getRootDir());
+        _ruleDocReader = new RuleDocumentationReader(build.getRootDir(), build.getParent().getRootDir());
+        if (lazyDetails) {
+            StaplerRequest request = Stapler.getCurrentRequest();
+            String contextPath = request == null ? "" : request.getContextPath(); //$NON-NLS-1$
+            _detailsUrl = contextPath + '/' + build.getUrl() + ParasoftIssueDetailsAction.URL_NAME + "/issue?id="; //$NON-NLS-1$
+        }
+    }
+
+    /**
+     * @return true if the rows are requested page by page from {@link ParasoftIssuesTableAction}
+     */
+    public boolean isServerSide()
+    {
+        return _rowsUrl != null;
+    }
+
+    @Override
+    public List<Object> getRows()
+    {
+        if (isServerSide()) {
+            // the table requests the rows of the visible page only
+            return Collections.emptyList();
+        }
+        return super.getRows();
+    }
+
+    @Override
+    public TableConfiguration getTableConfiguration()
+    {
+        TableConfiguration configuration = super.getTableConfiguration();
+        if (!isServerSide()) {
+            return configuration;
+        }
+        return new ServerSideTableConfiguration(configuration.getConfiguration(), _rowsUrl, getIndexColumns());
     }
 
     @Override
@@ -62,23 +145,76 @@ public class ParasoftTableModel
     public List<TableColumn> getColumns()
     {
         List<TableColumn> columns = new ArrayList<TableColumn>();
+        addColumns(columns, new ArrayList<Column>());
+        return columns;
+    }
+
+    /**
+     * @return for each column of the table the column of {@link ParasoftIssuesIndex} to sort by, or null if the
+     *         table cannot be sorted by the column on the server
+     */
+    public List<Column> getIndexColumns()
+    {
+        List<Column> indexColumns = new ArrayList<Column>();
+        addColumns(new ArrayList<TableColumn>(), indexColumns);
+        return indexColumns;
+    }
 
+    private void addColumns(List<TableColumn> columns, List<Column> indexColumns)
+    {
         columns.add(createDetailsColumn());
+        indexColumns.add(null);
         columns.add(createFileColumn());
+        indexColumns.add(Column.FILE);
         if (getReport().hasPackages()) {
             columns.add(new TableColumn(Messages.PACKAGE_COLUMN_HEADER(), "packageName").setWidth(2)); //$NON-NLS-1$
+            indexColumns.add(null);
         }
         if (getReport().hasCategories()) {
             columns.add(new TableColumn(Messages.CATEGORY_COLUMN_HEADER(), "category")); //$NON-NLS-1$
+            indexColumns.add(Column.CATEGORY);
         }
         if (getReport().hasTypes()) {
             columns.add(new TableColumn(Messages.TYPE_COLUMN_HEADER(), "type")); //$NON-NLS-1$
+            indexColumns.add(Column.TYPE);
         }
         columns.add(createSeverityColumn());
+        indexColumns.add(Column.SEVERITY);
         columns.add(createAgeColumn());
+        indexColumns.add(null);
         columns.add(new TableColumn(Messages.AUTHOR_COLUMN_HEADER(), "author")); //$NON-NLS-1$
+        indexColumns.add(Column.AUTHOR);
         columns.add(new TableColumn(Messages.REVISION_COLUMN_HEADER(), "revision")); //$NON-NLS-1$
-        return columns;
+        indexColumns.add(Column.REVISION);
+    }
+
+    /**
+     * @return the call hierarchy and the rule documentation of a Parasoft issue as HTML, or an empty string for
+     *         other issues
+     */
+    static String formatIssueDetails(Issue issue, RuleDocumentationReader ruleDocReader)
+    {
+        Serializable properties = issue.getAdditionalProperties();
+        if (!(properties instanceof ParasoftIssueAdditionalProperties)) {
+            return IStringConstants.EMPTY;
+        }
+        StringBuilder sb = new StringBuilder();
+
+        if (properties instanceof FlowIssueAdditionalProperties) {
+            sb.append(IHtmlTags.BREAK_LINE_TAG + ((FlowIssueAdditionalProperties) properties).getCallHierarchy(null));
+        } else if (properties instanceof DupIssueAdditionalProperties) {
+            sb.append(IHtmlTags.BREAK_LINE_TAG + ((DupIssueAdditionalProperties) properties).getCallHierarchy(null));
+        }
+        String analyzer = ((ParasoftIssueAdditionalProperties) properties).getAnalyzer();
+        String ruleId = issue.getType();
+        String ruleDocContents = ruleDocReader.getRuleDoc(analyzer, ruleId);
+
+        if (StringUtil.isNonEmpty(ruleDocContents)) {
+            sb.append(IHtmlTags.BREAK_LINE_TAG + IHtmlTags.PARAGRAPH_START_TAG + ruleDocContents + IHtmlTags.PARAGRAPH_END_TAG);
+        } else if (StringUtil.isNonEmptyTrimmed(ruleId)) {
+            //sb.append(IHtmlTags.BREAK_LINE_TAG + NLS.getFormatted(Messages.RULE_DOCUMENTATION_UNAVAILABLE, ruleId));
+        }
+        return sb.toString();
     }
 
     public class ParasoftTableRow
@@ -96,7 +232,12 @@ public class ParasoftTableModel
                                    JenkinsFacade jenkinsFacade)
         {
             super(ageBuilder, fileNameRenderer, descriptionProvider, issue, jenkinsFacade);
-            description = formatDetails(issue, descriptionProvider.getDescription(issue));
+            // only the details of Parasoft issues are loaded on demand, other issues keep their description
+            if (_detailsUrl != null && issue.getAdditionalProperties() instanceof ParasoftIssueAdditionalProperties) {
+                description = formatDefaultDetails(issue, formatDetailsLink(issue));
+            } else {
+                description = formatDetails(issue, descriptionProvider.getDescription(issue));
+            }
             packageName = formatProperty("packageName", issue.getPackageName()); //$NON-NLS-1$
             category = formatProperty("category", issue.getCategory()); //$NON-NLS-1$
             type = formatProperty("type", issue.getType()); //$NON-NLS-1$
@@ -150,27 +291,16 @@ public class ParasoftTableModel
 
         private String formatDetails(Issue issue, String description)
         {
-            Serializable properties = issue.getAdditionalProperties();
-            if (!(properties instanceof ParasoftIssueAdditionalProperties)) {
+            if (!(issue.getAdditionalProperties() instanceof ParasoftIssueAdditionalProperties)) {
                 return formatDefaultDetails(issue, description);
             }
-            StringBuilder sb = new StringBuilder();
+            return formatDefaultDetails(issue, formatIssueDetails(issue, _ruleDocReader));
+        }
 
-            if (properties instanceof FlowIssueAdditionalProperties) {
-                sb.append(IHtmlTags.BREAK_LINE_TAG + ((FlowIssueAdditionalProperties) properties).getCallHierarchy(null));
-            } else if (properties instanceof DupIssueAdditionalProperties) {
-                sb.append(IHtmlTags.BREAK_LINE_TAG + ((DupIssueAdditionalProperties) properties).getCallHierarchy(null));
-            }
-            String analyzer = ((ParasoftIssueAdditionalProperties) properties).getAnalyzer();
-            String ruleId = issue.getType();
-            String ruleDocContents = _ruleDocReader.getRuleDoc(analyzer, ruleId);
-
-            if (StringUtil.isNonEmpty(ruleDocContents)) {
-                sb.append(IHtmlTags.BREAK_LINE_TAG + IHtmlTags.PARAGRAPH_START_TAG + ruleDocContents + IHtmlTags.PARAGRAPH_END_TAG);
-            } else if (StringUtil.isNonEmptyTrimmed(ruleId)) {
-                //sb.append(IHtmlTags.BREAK_LINE_TAG + NLS.getFormatted(Messages.RULE_DOCUMENTATION_UNAVAILABLE, ruleId));
-            }
-            return formatDefaultDetails(issue, sb.toString());
+        private String formatDetailsLink(Issue issue)
+        {
+            return IHtmlTags.BREAK_LINE_TAG + a(Messages.SHOW_DETAILS()).withHref(_detailsUrl + issue.getId())
+                    .withTarget("_blank").render(); //$NON-NLS-1$
         }
 
         private String formatDefaultDetails(final Issue issue, final String additionalDescription)
@@ -184,4 +314,53 @@ public class ParasoftTableModel
             return TableColumn.renderDetailsColumn(render(details), getJenkinsFacade());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Switches the issues table to the server-side processing mode of DataTables. Each column which can be sorted
+     * on the server is named by its {@link Column}, so the requests of DataTables name the column to sort by.
+     */
+    private static final class ServerSideTableConfiguration
+            extends TableConfiguration
+    {
+        private final Map<String, Object> _configuration = new LinkedHashMap<>();
+
+        ServerSideTableConfiguration(String configuration, String rowsUrl, List<Column> indexColumns)
+        {
+            try {
+                _configuration.putAll(new ObjectMapper().readValue(configuration, new TypeReference<Map<String, Object>>() {}));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot read table configuration " + configuration, e); //$NON-NLS-1$
+            }
+            _configuration.put("serverSide", true); //$NON-NLS-1$
+            _configuration.put("processing", true); //$NON-NLS-1$
+            // the server can filter by the value of a column only
+            _configuration.put("searching", false); //$NON-NLS-1$
+            _configuration.put("ajax", rowsUrl); //$NON-NLS-1$
+
+            List<Map<String, Object>> columnDefs = new ArrayList<>();
+            for (int i = 0; i < indexColumns.size(); i++) {
+                Map<String, Object> columnDef = new LinkedHashMap<>();
+                columnDef.put("targets", i); //$NON-NLS-1$
+                if (indexColumns.get(i) == null) {
+                    columnDef.put("orderable", false); //$NON-NLS-1$
+                } else {
+                    columnDef.put("name", indexColumns.get(i).name()); //$NON-NLS-1$
+                }
+                columnDefs.add(columnDef);
+            }
+            _configuration.put("columnDefs", columnDefs); //$NON-NLS-1$
+            _configuration.put("order", Collections.singletonList( //$NON-NLS-1$
+                    Arrays.asList(indexColumns.indexOf(Column.SEVERITY), "asc"))); //$NON-NLS-1$
+        }
+
+        @Override
+        public String getConfiguration()
+        {
+            try {
+                return new ObjectMapper().writeValueAsString(_configuration);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Cannot write table configuration " + _configuration, e); //$NON-NLS-1$
+            }
+        }
+    }
+}
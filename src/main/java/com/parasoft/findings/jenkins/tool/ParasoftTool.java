@@ -16,11 +16,15 @@
 
 package com.parasoft.findings.jenkins.tool;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
 
 import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
@@ -52,6 +56,7 @@ import io.jenkins.plugins.analysis.core.model.DetailsTableModel;
 import io.jenkins.plugins.analysis.core.model.IconLabelProvider;
 import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
+import io.jenkins.plugins.util.EnvironmentResolver;
 import io.jenkins.plugins.util.LogHandler;
 import io.jenkins.plugins.util.JenkinsFacade;
 
@@ -61,6 +66,7 @@ public class ParasoftTool
     private static final long serialVersionUID = -5773171179445359278L;
     private final static String PLUGIN_ID = "parasoft-findings"; //$NON-NLS-1$
     private String _localSettingsPath = StringUtils.EMPTY;
+    private int _maxConcurrentImports = 1;
 
     private String _workspace = null;
     private Properties _settings = null;
@@ -74,7 +80,7 @@ public class ParasoftTool
     @Override
     public IssueParser createParser()
     {
-        return new ParasoftParser(_settings, _workspace);
+        return new ParasoftParser(_settings, _workspace, getMaxConcurrentImports());
     }
 
     @Override
@@ -92,11 +98,16 @@ public class ParasoftTool
         }
         _settings = JenkinsRulesUtil.loadSettings(workspace, resolvedSettingsPath);
 
-        Report report = super.scan(run, workspace, sourceCodeEncoding, logger);
+        Report report;
+        if (getMaxConcurrentImports() > 1) {
+            report = scanInParallel(run, workspace, logger);
+        } else {
+            report = super.scan(run, workspace, sourceCodeEncoding, logger);
+        }
 
         Iterator<Issue> issues = report.iterator();
 
-        RuleDocumentationStorage storage = new RuleDocumentationStorage(run.getRootDir(), _settings);
+        Map<String, Set<String>> ruleIdsByAnalyzer = new LinkedHashMap<>();
         while (issues.hasNext()) {
 
             Issue issue = issues.next();
@@ -107,11 +118,59 @@ public class ParasoftTool
             String ruleId = issue.getType();
             String analyzer = ((ParasoftIssueAdditionalProperties)additionalProperties).getAnalyzer();
 
-            storage.storeRuleDoc(analyzer, ruleId);
+            ruleIdsByAnalyzer.computeIfAbsent(analyzer, key -> new LinkedHashSet<>()).add(ruleId);
         }
+        RuleDocumentationStorage storage = new RuleDocumentationStorage(run.getRootDir(), run.getParent().getRootDir(), _settings);
+        storage.storeRuleDocs(ruleIdsByAnalyzer);
         return report;
     }
 
+    private Report scanInParallel(final Run<?, ?> run, final FilePath workspace, final LogHandler logger)
+    {
+        String pattern = getActualPattern();
+        if (StringUtils.isBlank(getPattern())) {
+            logger.log("Using default pattern '%s' since user defined pattern is not set", pattern); //$NON-NLS-1$
+        }
+        try {
+            pattern = new EnvironmentResolver().expandEnvironmentVariables(run.getEnvironment(TaskListener.NULL), pattern);
+        } catch (IOException | InterruptedException e) {
+            Logger.getLogger().warn(e);
+        }
+
+        Report report;
+        try {
+            report = workspace.act(new ParallelReportScanner(pattern, createParser(), getReportEncoding(),
+                    !getSkipSymbolicLinks(), getMaxConcurrentImports()));
+        } catch (IOException e) {
+            report = new Report();
+            report.logException(e, "Cannot extract reports from workspace"); //$NON-NLS-1$
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            report = new Report();
+            report.logError("Scanning of reports has been interrupted"); //$NON-NLS-1$
+        }
+        logger.logInfoMessages(report.getInfoMessages());
+        logger.logErrorMessages(report.getErrorMessages());
+        return report;
+    }
+
+    /**
+     * Sets the number of report files imported concurrently on the agent, which is also the number of threads
+     * building the flow analysis paths of the imported reports. A value of 1 imports the report files one after
+     * another and builds the paths in the importing thread.
+     */
+    @DataBoundSetter
+    public void setMaxConcurrentImports(final int maxConcurrentImports)
+    {
+        _maxConcurrentImports = Math.max(1, maxConcurrentImports);
+    }
+
+    public int getMaxConcurrentImports()
+    {
+        // 0 for tools which have been configured before the setting was introduced
+        return Math.max(1, _maxConcurrentImports);
+    }
+
     @DataBoundSetter
     public void setLocalSettingsPath(final String localSettingsPath)
     {
@@ -203,7 +262,8 @@ public class ParasoftTool
         @Override
         public DetailsTableModel getIssuesModel(Run<?, ?> build, String url, Report report)
         {
-            return new ParasoftTableModel(build, report, getFileNameRenderer(build), getAgeBuilder(build, url), this, jenkins);
+            return new ParasoftTableModel(build, url, report, getFileNameRenderer(build), getAgeBuilder(build, url), this,
+                    jenkins);
         }
 
         @Override
@@ -16,11 +16,24 @@
 
 package com.parasoft.findings.jenkins.xunit;
 
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import net.sf.saxon.s9api.XdmValue;
 import org.jenkinsci.lib.dtkit.model.InputMetricXSL;
 import org.jenkinsci.lib.dtkit.model.InputType;
 import org.jenkinsci.lib.dtkit.model.OutputMetric;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionException;
 import org.jenkinsci.plugins.xunit.types.model.JUnitModel;
 
+import javax.xml.transform.stream.StreamSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
 public class ParasoftInputMetric
     extends InputMetricXSL
 {
@@ -59,6 +72,42 @@ public class ParasoftInputMetric
     {
         return JUnitModel.LATEST;
     }
+
+    @Override
+    public void convert(File inputFile, File outFile, Map<String, Object> params)
+        throws ConversionException
+    {
+        if (getXslFile() != null) {
+            // a custom stylesheet set up for xUnit, which is resolved by dtkit
+            super.convert(inputFile, outFile, params);
+            return;
+        }
+        convertWithCachedXsl(getClass(), getXslName(), inputFile, outFile, params);
+    }
+
+    /**
+     * Converts the input file with the bundled XSL stylesheet compiled once per JVM,
+     * instead of compiling it again for each report file.
+     */
+    static void convertWithCachedXsl(Class<?> xslResourceClass, String xslName, File inputFile, File outFile,
+        Map<String, Object> params)
+        throws ConversionException
+    {
+        Map<QName, XdmValue> xslParams = new HashMap<>();
+        if (params != null) {
+            params.forEach((name, value) -> xslParams.put(new QName(name), new XdmAtomicValue(String.valueOf(value))));
+        }
+        URL xslUrl = xslResourceClass.getResource(xslName);
+        if (xslUrl == null) {
+            throw new ConversionException("XSL file '" + xslName + "' not found"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        try (InputStream xslInput = xslUrl.openStream()) {
+            new ConversionService().convert(new StreamSource(xslInput, xslUrl.toExternalForm()), inputFile, outFile,
+                xslParams);
+        } catch (IOException | com.parasoft.findings.jenkins.coverage.converter.ConversionException e) {
+            throw new ConversionException("Error to convert the input XML document", e); //$NON-NLS-1$
+        }
+    }
     
     private static final String PARASOFT_TOOL = "ParasoftAnalyzers"; //$NON-NLS-1$
     private static final String VERSION = "10.x"; //$NON-NLS-1$
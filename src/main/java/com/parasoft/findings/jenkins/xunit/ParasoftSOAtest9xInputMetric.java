@@ -19,8 +19,12 @@ package com.parasoft.findings.jenkins.xunit;
 import org.jenkinsci.lib.dtkit.model.InputMetricXSL;
 import org.jenkinsci.lib.dtkit.model.InputType;
 import org.jenkinsci.lib.dtkit.model.OutputMetric;
+import org.jenkinsci.lib.dtkit.util.converter.ConversionException;
 import org.jenkinsci.plugins.xunit.types.model.JUnitModel;
 
+import java.io.File;
+import java.util.Map;
+
 public class ParasoftSOAtest9xInputMetric
     extends InputMetricXSL
 {
@@ -59,6 +63,18 @@ public class ParasoftSOAtest9xInputMetric
     {
         return JUnitModel.LATEST;
     }
+
+    @Override
+    public void convert(File inputFile, File outFile, Map<String, Object> params)
+        throws ConversionException
+    {
+        if (getXslFile() != null) {
+            // a custom stylesheet set up for xUnit, which is resolved by dtkit
+            super.convert(inputFile, outFile, params);
+            return;
+        }
+        ParasoftInputMetric.convertWithCachedXsl(getClass(), getXslName(), inputFile, outFile, params);
+    }
     
     private static final String PARASOFT_TOOL = "ParasoftSOAtest"; //$NON-NLS-1$
     private static final String VERSION = "9.x"; //$NON-NLS-1$
@@ -8,6 +8,10 @@
     <xsl:variable name="toolDispName" select="/Coverage/@toolDispName"/>
     <xsl:param name="pipelineBuildWorkingDirectory"><xsl:value-of select="/Coverage/@pipelineBuildWorkingDirectory"/></xsl:param>
 
+    <!-- Indexes to look up the coverage data of a <Loc> and the static coverage of an item without scanning the whole document -->
+    <xsl:key name="cvgDataByLocRef" match="CvgData" use="@locRef"/>
+    <xsl:key name="statCvgByLocAndItemRef" match="CvgData/Static/StatCvg" use="concat(../../@locRef, '#', @itemRef)"/>
+
     <xsl:template name="getUriWithoutFilePrefix">
         <xsl:param name="rawUri"/>
         <xsl:choose>
@@ -169,7 +173,12 @@
                                     </xsl:choose>
                                 </xsl:variable>
                                 <xsl:variable name="locRef" select="@locRef"/>
-                                <xsl:variable name="cvgDataNode" select="//CvgData[@locRef=$locRef]"/>
+                                <xsl:variable name="cvgDataNode" select="key('cvgDataByLocRef', $locRef)"/>
+                                <xsl:variable name="lineHitsMap" as="map(xs:string, xs:integer)">
+                                    <xsl:call-template name="getLineHitsMap">
+                                        <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                                    </xsl:call-template>
+                                </xsl:variable>
                                 <xsl:choose>
                                     <xsl:when test="$toolName = 'jtest'">
                                         <xsl:variable name="typeItemNodes" select="$cvgDataNode/Stats//Item[has-children()]"/>
@@ -183,7 +192,8 @@
                                             </xsl:variable>
                                             <xsl:call-template name="generateClassElementByItemRefs">
                                                 <xsl:with-param name="itemRefs" select="$methodItemRefsUnderCurrentType"/>
-                                                <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                                                <xsl:with-param name="locRef" select="$locRef"/>
+                                                <xsl:with-param name="lineHitsMap" select="$lineHitsMap"/>
                                                 <xsl:with-param name="className" select="$className"/>
                                                 <xsl:with-param name="filePath" select="$filePath"/>
                                             </xsl:call-template>
@@ -198,7 +208,8 @@
                                         </xsl:variable>
                                         <xsl:call-template name="generateClassElementByItemRefs">
                                             <xsl:with-param name="itemRefs" select="$allItemRefsUnderCurrentFile"/>
-                                            <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
+                                            <xsl:with-param name="locRef" select="$locRef"/>
+                                            <xsl:with-param name="lineHitsMap" select="$lineHitsMap"/>
                                             <xsl:with-param name="className" select="$className"/>
                                             <xsl:with-param name="filePath" select="$filePath"/>
                                         </xsl:call-template>
@@ -241,7 +252,7 @@
             <xsl:for-each select="$locNodesToCalcute">
                 <xsl:variable name="lineNumbers" as="xs:string*">
                     <xsl:variable name="locRefValue" select="@locRef"/>
-                    <xsl:variable name="statCvgElems" select="string-join(/Coverage/CoverageData/CvgData[@locRef = $locRefValue]/Static/StatCvg/@elems, ' ')"/>
+                    <xsl:variable name="statCvgElems" select="string-join(key('cvgDataByLocRef', $locRefValue)/Static/StatCvg/@elems, ' ')"/>
                     <xsl:sequence select="distinct-values(tokenize($statCvgElems, '\s+'))"/>
                 </xsl:variable>
                 <xsl:sequence select="count($lineNumbers)"/>
@@ -257,7 +268,7 @@
                 <xsl:variable name="coveredLineNumbers" as="xs:string*">
                     <xsl:variable name="locRefValue" select="@locRef"/>
                     <xsl:variable name="coveredLinesSeq" as="xs:string*">
-                        <xsl:for-each select="/Coverage/CoverageData/CvgData[@locRef = $locRefValue]/Dynamic//DynCvg">
+                        <xsl:for-each select="key('cvgDataByLocRef', $locRefValue)/Dynamic//DynCvg">
                             <xsl:sequence select="string(string-join(.//CtxCvg/@elemRefs, ' '))"/>
                         </xsl:for-each>
                     </xsl:variable>
@@ -330,54 +341,37 @@
     <xsl:template name="generateClassElementByItemRefs">
         <!-- All itemRef from /CoverageData/CvgData/Stats/Item which belong to the current class -->
         <xsl:param name="itemRefs"/>
-        <xsl:param name="cvgDataNode"/>
+        <!-- @locRef of the <Loc> and <CvgData> the items belong to -->
+        <xsl:param name="locRef"/>
+        <!-- Covered times of all lines of the <CvgData>, see template 'getLineHitsMap' -->
+        <xsl:param name="lineHitsMap" as="map(xs:string, xs:integer)"/>
         <xsl:param name="className"/>
         <xsl:param name="filePath"/>
 
         <!-- Generate string which contains unique line numbers of the current class (referenced by itemRefs) -->
-        <xsl:variable name="itemRefsString" select="concat(' ', string-join($itemRefs, ' '), ' ')"/>
-        <xsl:variable name="statCvgElems" select="$cvgDataNode/Static/StatCvg[contains($itemRefsString, concat(' ', @itemRef, ' '))]/@elems"/>
-        <xsl:variable name="statCvgElemsString" select="string-join($statCvgElems, ' ')"/>
+        <xsl:variable name="statCvgNodes" select="key('statCvgByLocAndItemRef', for $itemRef in $itemRefs return concat($locRef, '#', $itemRef))"/>
+        <xsl:variable name="statCvgElemsString" select="string-join($statCvgNodes/@elems, ' ')"/>
         <xsl:variable name="lineNumbers" select="distinct-values(tokenize($statCvgElemsString, '\s+'))"/>
 
         <!-- This map is used to store unique line numbers. key: line number, value: covered times -->
         <xsl:variable name="linesMap" as="map(xs:string, xs:integer)">
             <xsl:map>
                 <xsl:for-each select="$lineNumbers">
-                    <xsl:variable name="lineCoveredTimes">
-                        <xsl:call-template name="getLineCoveredTimes">
-                            <xsl:with-param name="cvgDataNode" select="$cvgDataNode"/>
-                            <xsl:with-param name="lineNumber" select="."/>
-                        </xsl:call-template>
-                    </xsl:variable>
-                    <xsl:map-entry key="string(.)" select="xs:integer($lineCoveredTimes)"/>
+                    <xsl:map-entry key="string(.)" select="(map:get($lineHitsMap, string(.)), 0)[1]"/>
                 </xsl:for-each>
             </xsl:map>
         </xsl:variable>
 
-        <xsl:variable name="verboseLineNumbers" select="tokenize($statCvgElemsString, '\s+')"/>
-        <xsl:variable name="statCvgHashes" select="$cvgDataNode/Static/StatCvg[contains($itemRefsString, concat(' ', @itemRef, ' '))]/@hashes"/>
-        <xsl:variable name="lineHashes" select="tokenize(string-join($statCvgHashes, ' '), '\s+')"/>
+        <xsl:variable name="verboseLineNumbers" as="xs:string*" select="tokenize($statCvgElemsString, '\s+')"/>
+        <xsl:variable name="lineHashes" as="xs:string*" select="tokenize(string-join($statCvgNodes/@hashes, ' '), '\s+')"/>
 
-        <!-- This variable is used to store the lineNumber(@elems) and lineHash(@hashes) pair according to the index -->
-        <xsl:variable name="lineHashPairs">
-            <xsl:for-each select="$verboseLineNumbers">
-                <xsl:variable name="index" select="position()"/>
-                <xsl:variable name="lineHash" select="$lineHashes[$index]"/>
-                <xsl:element name="lineHashPair">
-                    <xsl:attribute name="lineNumber" select="string(.)"/>
-                    <xsl:attribute name="lineHash" select="string($lineHash)" />
-                </xsl:element>
-            </xsl:for-each>
-        </xsl:variable>
         <!-- This map is used to store unique line numbers and it's line hash. key: line number, value: line hash -->
+        <!-- The lineNumber(@elems) and lineHash(@hashes) are paired according to the index, the first hash of a line wins -->
         <xsl:variable name="lineHashesMap" as="map(xs:string, xs:string)">
             <xsl:map>
-                <xsl:for-each select="$lineNumbers">
-                    <xsl:variable name="line" select="."/>
-                    <xsl:variable name="lineHash" select="$lineHashPairs/lineHashPair[@lineNumber=$line]/@lineHash"/>
-                    <xsl:map-entry key="string(.)" select="string($lineHash[1])"/>
-                </xsl:for-each>
+                <xsl:for-each-group select="1 to count($verboseLineNumbers)" group-by="for $index in . return $verboseLineNumbers[$index]">
+                    <xsl:map-entry key="string(current-grouping-key())" select="string($lineHashes[current-group()[1]])"/>
+                </xsl:for-each-group>
             </xsl:map>
         </xsl:variable>
 
@@ -441,11 +435,14 @@
         </xsl:choose>
     </xsl:template>
 
-    <xsl:template name="getLineCoveredTimes">
+    <xsl:template name="getLineHitsMap">
         <xsl:param name="cvgDataNode"/>
-        <xsl:param name="lineNumber"/>
-        <!-- Leading and trailing spaces (' ') around the search string are included to avoid incorrect matches when using 'contains()' -->
-        <xsl:variable name="ctxCvgNodes" select="$cvgDataNode/Dynamic/DynCvg/CtxCvg[contains(concat(' ', @elemRefs, ' '), concat(' ', $lineNumber, ' '))]"/>
-        <xsl:value-of select="count(tokenize(string-join($ctxCvgNodes/@testRefs, ' '), '\s+'))"/>
+        <!-- This map is used to store the covered times of all lines in one pass. key: line number, value: covered times -->
+        <!-- A <CtxCvg> is added to the group of each line it references, so each group contains all <CtxCvg> of a line -->
+        <xsl:map>
+            <xsl:for-each-group select="$cvgDataNode/Dynamic/DynCvg/CtxCvg" group-by="tokenize(@elemRefs, '\s+')">
+                <xsl:map-entry key="string(current-grouping-key())" select="count(tokenize(string-join(current-group()/@testRefs, ' '), '\s+'))"/>
+            </xsl:for-each-group>
+        </xsl:map>
     </xsl:template>
 </xsl:stylesheet>
\ No newline at end of file
@@ -24,6 +24,8 @@ import org.junit.runners.Suite;
         FilePathUtilTest.class,
         ParasoftParserTest.class,
         ParasoftToolTest.class,
+        ParasoftIssuesIndexTest.class,
+        RuleDocumentationCacheTest.class,
         RuleDocumentationReaderTest.class,
         RuleDocumentationStorageTest.class,
         VariablePatternVerifierTest.class,
@@ -0,0 +1,93 @@
+package com.parasoft.findings.jenkins;
+
+import com.parasoft.findings.jenkins.tool.ParasoftIssueDetailsAction;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesTableAction;
+import com.parasoft.findings.jenkins.tool.ParasoftTool;
+import edu.hm.hafner.analysis.Issue;
+import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
+import io.jenkins.plugins.analysis.core.steps.IssuesRecorder;
+import net.sf.json.JSONObject;
+import org.htmlunit.WebResponse;
+import org.junit.Rule;
+import org.junit.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.SingleFileSCM;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class ParasoftIssuesActionsTest
+{
+    private static final String REPORT_NAME = "jtest_10.6.0_static.xml";
+
+    @Rule
+    public JenkinsRule jenkinsRule = new JenkinsRule();
+
+    @Test
+    public void detailsActionTest() throws Exception
+    {
+        FreeStyleBuild build = buildWithParasoftTool();
+
+        ResultAction resultAction = build.getAction(ResultAction.class);
+        assertNotNull(resultAction);
+        assertEquals(17, resultAction.getResult().getIssues().getSize());
+
+        // created by the factory, which must not ask itself for the result actions again
+        ParasoftIssueDetailsAction action = build.getAction(ParasoftIssueDetailsAction.class);
+        assertNotNull(action);
+        Issue issue = resultAction.getResult().getIssues().get(0);
+        assertNotNull(action.getIssueDetails(issue.getId().toString()));
+
+        try (JenkinsRule.WebClient webClient = jenkinsRule.createWebClient()) {
+            WebResponse response = webClient.goTo(build.getUrl() + "parasoft-findings-details/issue?id=" + issue.getId(),
+                    "text/html").getWebResponse();
+            assertEquals(200, response.getStatusCode());
+            assertTrue(response.getResponseHeaderValue("Content-Security-Policy").startsWith("sandbox;"));
+
+            webClient.assertFails(build.getUrl() + "parasoft-findings-details/issue?id=not-an-issue-id", 404);
+        }
+    }
+
+    @Test
+    public void rowsTest() throws Exception
+    {
+        FreeStyleBuild build = buildWithParasoftTool();
+        assertNotNull(build.getAction(ParasoftIssuesTableAction.class));
+
+        try (JenkinsRule.WebClient webClient = jenkinsRule.createWebClient()) {
+            String rowsUrl = build.getUrl() + "parasoft-findings-table/rows?tool=parasoft-findings&draw=3&start=5&length=10";
+            JSONObject page = JSONObject.fromObject(webClient.goTo(rowsUrl, "application/json")
+                    .getWebResponse().getContentAsString());
+            assertEquals(3, page.getInt("draw"));
+            assertEquals(17, page.getInt("recordsTotal"));
+            assertEquals(17, page.getInt("recordsFiltered"));
+            assertEquals(10, page.getJSONArray("data").size());
+
+            // the sort column as sent by DataTables
+            page = JSONObject.fromObject(webClient.goTo(rowsUrl + "&order%5B0%5D%5Bcolumn%5D=5"
+                    + "&columns%5B5%5D%5Bname%5D=SEVERITY&order%5B0%5D%5Bdir%5D=desc", "application/json")
+                    .getWebResponse().getContentAsString());
+            assertEquals(10, page.getJSONArray("data").size());
+
+            webClient.assertFails(build.getUrl() + "parasoft-findings-table/rows?tool=unknown", 404);
+            webClient.assertFails(build.getUrl() + "parasoft-findings-table/rows?tool=parasoft-findings&sort=unknown", 400);
+            webClient.assertFails(build.getUrl()
+                    + "parasoft-findings-table/rows?tool=parasoft-findings&filter=SEVERITY&value=unknown", 400);
+        }
+    }
+
+    private FreeStyleBuild buildWithParasoftTool() throws Exception
+    {
+        FreeStyleProject project = jenkinsRule.createFreeStyleProject();
+        project.setScm(new SingleFileSCM(REPORT_NAME, getClass().getResource("/xml/" + REPORT_NAME)));
+        ParasoftTool tool = new ParasoftTool();
+        tool.setPattern(REPORT_NAME);
+        IssuesRecorder recorder = new IssuesRecorder();
+        recorder.setTools(Collections.singletonList(tool));
+        project.getPublishersList().add(recorder);
+        return jenkinsRule.buildAndAssertSuccess(project);
+    }
+}
@@ -0,0 +1,104 @@
+package com.parasoft.findings.jenkins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Column;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Page;
+
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
+import edu.hm.hafner.analysis.Report;
+import edu.hm.hafner.analysis.Severity;
+
+public class ParasoftIssuesIndexTest
+{
+    @Test
+    public void sortBySeverityTest()
+    {
+        ParasoftIssuesIndex underTest = new ParasoftIssuesIndex(createReport());
+
+        Page page = underTest.getPage(Column.SEVERITY, true, null, null, 0, 3);
+        assertEquals(5, page.getTotal());
+        assertEquals(5, page.getFiltered());
+        assertEquals(List.of("B", "D", "A"), getMessages(page));
+
+        page = underTest.getPage(Column.SEVERITY, false, null, null, 3, 10);
+        assertEquals(List.of("D", "B"), getMessages(page));
+    }
+
+    @Test
+    public void filterBySortColumnTest()
+    {
+        ParasoftIssuesIndex underTest = new ParasoftIssuesIndex(createReport());
+
+        Page page = underTest.getPage(Column.AUTHOR, true, Column.AUTHOR, "alice", 0, 10);
+        assertEquals(3, page.getFiltered());
+        assertEquals(List.of("A", "C", "E"), getMessages(page));
+
+        page = underTest.getPage(Column.SEVERITY, true, Column.SEVERITY, "HIGH", 0, 10);
+        assertEquals(List.of("B", "D"), getMessages(page));
+
+        assertEquals(0, underTest.getPage(Column.TYPE, true, Column.TYPE, "NO.RULE", 0, 10).getFiltered());
+    }
+
+    @Test
+    public void filterByOtherColumnTest()
+    {
+        ParasoftIssuesIndex underTest = new ParasoftIssuesIndex(createReport());
+
+        Page page = underTest.getPage(Column.TYPE, false, Column.AUTHOR, "alice", 1, 10);
+        assertEquals(3, page.getFiltered());
+        assertEquals(List.of("E", "A"), getMessages(page));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownSeverityTest()
+    {
+        new ParasoftIssuesIndex(createReport()).getPage(Column.TYPE, true, Column.SEVERITY, "CRITICAL", 0, 10);
+    }
+
+    @Test
+    public void findByIdTest()
+    {
+        Report report = createReport();
+        ParasoftIssuesIndex underTest = new ParasoftIssuesIndex(report);
+
+        for (Issue issue : report) {
+            assertSame(issue, underTest.findById(issue.getId()));
+        }
+        assertNull(underTest.findById(UUID.randomUUID()));
+    }
+
+    private static List<String> getMessages(Page page)
+    {
+        return page.getIssues().stream().map(Issue::getMessage).collect(Collectors.toList());
+    }
+
+    private static Report createReport()
+    {
+        Report report = new Report();
+        IssueBuilder builder = new IssueBuilder();
+        report.add(createIssue(builder, "A", Severity.WARNING_NORMAL, "RULE.1", "alice"));
+        report.add(createIssue(builder, "B", Severity.WARNING_HIGH, "RULE.2", "bob"));
+        report.add(createIssue(builder, "C", Severity.WARNING_LOW, "RULE.3", "alice"));
+        report.add(createIssue(builder, "D", Severity.WARNING_HIGH, "RULE.1", "bob"));
+        report.add(createIssue(builder, "E", Severity.WARNING_LOW, "RULE.1", "alice"));
+        return report;
+    }
+
+    private static Issue createIssue(IssueBuilder builder, String message, Severity severity, String type, String author)
+    {
+        return builder.setMessage(message).setSeverity(severity).setType(type).setFileName(message + ".java")
+                .setAdditionalProperties(new ParasoftIssueAdditionalProperties(author, "1", "analyzer")).buildAndClean();
+    }
+}
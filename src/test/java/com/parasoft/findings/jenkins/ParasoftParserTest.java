@@ -17,6 +17,8 @@ package com.parasoft.findings.jenkins;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -32,13 +34,19 @@ import java.net.MalformedURLException;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -46,6 +54,7 @@ import com.parasoft.findings.utils.results.testableinput.ProjectFileTestableInpu
 import com.parasoft.findings.utils.results.violations.*;
 import com.parasoft.findings.utils.results.xml.IXmlTagsAndAttributes;
 import com.parasoft.findings.utils.results.xml.RulesImportHandler;
+import org.apache.commons.lang3.StringUtils;
 import org.hamcrest.collection.IsIn;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
@@ -53,6 +62,8 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.parser.FilePathDictionary;
+import com.parasoft.findings.jenkins.parser.FlowAnalysisPath;
 import com.parasoft.findings.jenkins.parser.FlowIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.ParasoftIssueAdditionalProperties;
 import com.parasoft.findings.jenkins.parser.ParasoftParser;
@@ -60,6 +71,7 @@ import com.parasoft.findings.utils.results.violations.IFlowAnalysisPathElement.T
 
 import edu.hm.hafner.analysis.FileReaderFactory;
 import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.ReaderFactory;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
@@ -187,6 +199,112 @@ public class ParasoftParserTest
         }
     }
 
+    @Test
+    public void parseFAViolCompactPathTest()
+    {
+        Report report = parseFile(TEST_RESOURCES + "xml/jTest_10_static_with_annotations.xml");
+
+        Set<String> fileNames = new HashSet<>();
+        Set<String> fileNameInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Issue issue : report) {
+            FlowIssueAdditionalProperties properties = (FlowIssueAdditionalProperties) issue.getAdditionalProperties();
+            assertNull(properties.getChildren());
+            FlowAnalysisPath path = properties.getPath();
+            assertTrue(path.size() > 0);
+            for (int i = 0; i < path.size(); i++) {
+                fileNames.add(path.getFileName(i));
+                fileNameInstances.add(path.getFileName(i));
+            }
+        }
+        // the file paths are shared by all paths of the report
+        assertEquals(fileNames.size(), fileNameInstances.size());
+    }
+
+    @Test
+    public void parseFAViolPathsInParallelTest()
+    {
+        Report first = parseFile(TEST_RESOURCES + "xml/jTest_10_static_with_annotations.xml");
+        Report second = parseFile(TEST_RESOURCES + "xml/jTest_10_static_with_annotations.xml",
+                new ParasoftParser(new Properties(), "workspace", 4));
+
+        assertEquals(first.getSize(), second.getSize());
+        for (int i = 0; i < first.getSize(); i++) {
+            FlowAnalysisPath firstPath = ((FlowIssueAdditionalProperties) first.get(i).getAdditionalProperties()).getPath();
+            FlowAnalysisPath secondPath = ((FlowIssueAdditionalProperties) second.get(i).getAdditionalProperties()).getPath();
+            // the second paths are built in parallel but each one belongs to its own violation
+            assertEquals(firstPath.size(), secondPath.size());
+            assertEquals(firstPath.getCallHierarchy(null), secondPath.getCallHierarchy(null));
+        }
+    }
+
+    @Test
+    public void filePathDictionaryResolvesReportedPathOnceTest()
+    {
+        FilePathDictionary files = new FilePathDictionary();
+        List<String> resolved = new ArrayList<>();
+        int first = files.add("src/Foo.java", path -> { resolved.add(path); return "/workspace/" + path; });
+        int second = files.add("src/Foo.java", path -> { resolved.add(path); return "/other/" + path; });
+
+        assertEquals(first, second);
+        assertEquals(Collections.singletonList("src/Foo.java"), resolved);
+        assertEquals("/workspace/src/Foo.java", files.get(first));
+        assertEquals(first, files.add("/workspace/src/Foo.java"));
+    }
+
+    @Test
+    public void deepFlowPathCallHierarchyTest()
+    {
+        int depth = 500;
+        FlowAnalysisPath.Builder builder = new FlowAnalysisPath.Builder(new FilePathDictionary());
+        int[] elements = new int[depth];
+        for (int i = 0; i < depth; i++) {
+            elements[i] = builder.addElement("src/Foo.java", i + 1, i + 1, 0, 0, "call " + i, null, false);
+        }
+        for (int i = depth - 1; i >= 0; i--) {
+            builder.endElement(elements[i]);
+        }
+        FlowAnalysisPath path = builder.build();
+
+        String callHierarchy = path.getCallHierarchy(null);
+        assertEquals(depth, StringUtils.countMatches(callHierarchy, "<li>"));
+        assertTrue(callHierarchy.contains("Foo.java:500</span>&nbsp&nbsp<code><span style=\"color:#808080\">call 499</span></code></li></ul></li>"));
+        // rendered once and then kept with the path
+        assertSame(callHierarchy, path.getCallHierarchy(null));
+    }
+
+    @Test
+    public void callHierarchyOfManyPathsTest()
+    {
+        // more paths than the rows of a large issues table
+        FlowAnalysisPath[] paths = new FlowAnalysisPath[5000];
+        String[] callHierarchies = new String[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            FlowAnalysisPath.Builder builder = new FlowAnalysisPath.Builder(new FilePathDictionary());
+            builder.endElement(builder.addElement("src/Foo.java", i + 1, i + 1, 0, 0, "call " + i, null, false));
+            paths[i] = builder.build();
+            callHierarchies[i] = paths[i].getCallHierarchy(null);
+        }
+        for (int i = 0; i < paths.length; i++) {
+            assertSame(callHierarchies[i], paths[i].getCallHierarchy(null));
+        }
+    }
+
+    @Test
+    public void legacyFlowPathTest()
+    {
+        FlowIssueAdditionalProperties childProperties = new FlowIssueAdditionalProperties();
+        childProperties.setDescription("Element Description");
+        childProperties.setCause("Cause");
+        IssueBuilder issueBuilder = new IssueBuilder();
+        Issue child = issueBuilder.setFileName("src/Foo.java").setLineStart(3).setAdditionalProperties(childProperties).build();
+
+        FlowIssueAdditionalProperties properties = new FlowIssueAdditionalProperties("author", "1", "analyzer");
+        properties.setChildren(Collections.singletonList(child));
+
+        assertEquals("<ul><li><b><span style=\"color:#1569C7\">Cause</span><br></b><span style=\"color:#1569C7\">Foo.java:3</span>&nbspElement Description</li></ul>",
+                properties.getCallHierarchy(null));
+    }
+
     @Test
     public void parseDCViolReportTest()
     {
@@ -228,6 +346,117 @@ public class ParasoftParserTest
         assertEquals(64, countMetrics);
     }
 
+    @Test
+    public void parseCppMetricsSharesRepeatedStringsTest()
+    {
+        Report report = parseFile(TEST_RESOURCES + "xml/cppTest_10.4.2_engine_metrics.xml");
+
+        Set<String> values = new HashSet<>();
+        Set<String> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        int references = 0;
+        for (Issue issue : report) {
+            ParasoftIssueAdditionalProperties additionalProperties = (ParasoftIssueAdditionalProperties)issue.getAdditionalProperties();
+            for (String value : Arrays.asList(additionalProperties.getAuthor(), additionalProperties.getRevision(),
+                    additionalProperties.getAnalyzer())) {
+                values.add(value);
+                instances.add(value);
+                references++;
+            }
+        }
+        assertEquals(105 * 3, references);
+        // each distinct value is retained only once for the whole report
+        assertEquals(values.size(), instances.size());
+    }
+
+    @Test
+    public void parseCppMetricsSharesAdditionalPropertiesTest()
+    {
+        Report report = parseFile(TEST_RESOURCES + "xml/cppTest_10.4.2_engine_metrics.xml");
+
+        assertEquals(105, report.getSize());
+        for (Issue issue : report) {
+            for (Issue other : report) {
+                // issues of a rule with the same author and revision share their additional properties
+                if (issue.getType().equals(other.getType())
+                        && issue.getAdditionalProperties().equals(other.getAdditionalProperties())) {
+                    assertSame(issue.getAdditionalProperties(), other.getAdditionalProperties());
+                    assertSame(issue.getSeverity(), other.getSeverity());
+                    assertSame(issue.getCategory(), other.getCategory());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sharedAdditionalPropertiesAreUnmodifiableTest() throws IOException, ClassNotFoundException
+    {
+        Report report = parseFile(TEST_RESOURCES + "xml/cppTest_10.4.2_engine_metrics.xml");
+
+        Issue issue = report.stream().filter(each -> each.getType().startsWith("METRIC")).findFirst().get();
+        ParasoftIssueAdditionalProperties properties = (ParasoftIssueAdditionalProperties)issue.getAdditionalProperties();
+        assertUnmodifiable(properties);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oos = new ObjectOutputStream(out)) {
+            oos.writeObject(properties);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ParasoftIssueAdditionalProperties deserialized = (ParasoftIssueAdditionalProperties)ois.readObject();
+            assertEquals(properties, deserialized);
+            assertUnmodifiable(deserialized);
+        }
+    }
+
+    @Test
+    public void violationsOfRuleWithDifferentSeveritiesTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            String content = new String(Files.readAllBytes(Paths.get(TEST_RESOURCES, "xml/jtest_10.6.0_static.xml")),
+                    StandardCharsets.UTF_8);
+            String violation = "sev=\"3\" auth=\"user-name\" locRef=\"36\" rule=\"PROPS.TENTRY\"";
+            assertTrue(content.contains(violation));
+            File reportFile = new File(tempDir, "report.xml");
+            Files.write(reportFile.toPath(), content.replace(violation, violation.replace("sev=\"3\"", "sev=\"1\""))
+                    .getBytes(StandardCharsets.UTF_8));
+
+            Report report = parseFile(reportFile.getPath());
+
+            List<Severity> severities = report.stream().filter(issue -> "PROPS.TENTRY".equals(issue.getType()))
+                    .map(Issue::getSeverity).collect(Collectors.toList());
+            assertTrue(severities.size() > 1);
+            // only the changed violation is of high severity, the other violations keep their own severity
+            assertEquals(Severity.WARNING_HIGH, severities.get(0));
+            for (Severity severity : severities.subList(1, severities.size())) {
+                assertEquals(Severity.WARNING_NORMAL, severity);
+            }
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    private static void assertUnmodifiable(ParasoftIssueAdditionalProperties properties)
+    {
+        String author = properties.getAuthor();
+        List<Runnable> modifications = Arrays.asList(
+                () -> properties.put(ParasoftIssueAdditionalProperties.AUTHOR_KEY, "other"),
+                () -> properties.remove(ParasoftIssueAdditionalProperties.AUTHOR_KEY),
+                () -> properties.clear(),
+                () -> properties.keySet().clear(),
+                () -> properties.entrySet().iterator().next().setValue("other"));
+        for (Runnable modification : modifications) {
+            try {
+                modification.run();
+                fail("Shared additional properties must not be modifiable");
+            } catch (UnsupportedOperationException e) {
+                // expected
+            }
+        }
+        assertEquals(3, properties.size());
+        assertEquals(author, properties.getAuthor());
+        assertEquals("com.parasoft.xtest.cpp.analyzer.static.metrics", properties.getAnalyzer());
+    }
+
     @Test
     public void parseCppDesktopStdViolsTest()
     {
@@ -1,19 +1,29 @@
 
 package com.parasoft.findings.jenkins;
 
+import com.parasoft.findings.jenkins.parser.DupIssueAdditionalProperties;
+import com.parasoft.findings.jenkins.tool.ParasoftIssueDetailsAction;
+import com.parasoft.findings.jenkins.tool.ParasoftIssuesIndex.Column;
 import com.parasoft.findings.jenkins.tool.ParasoftTableModel;
 import com.parasoft.findings.jenkins.tool.ParasoftTableModel.ParasoftTableRow;
 import com.parasoft.findings.jenkins.tool.ParasoftTool;
 import com.parasoft.findings.jenkins.tool.ParasoftTool.Descriptor;
+import edu.hm.hafner.analysis.Issue;
+import edu.hm.hafner.analysis.IssueBuilder;
 import edu.hm.hafner.analysis.Report;
 import edu.hm.hafner.analysis.Severity;
 import hudson.EnvVars;
 import hudson.FilePath;
 import hudson.model.FreeStyleBuild;
+import hudson.model.FreeStyleProject;
 import hudson.model.TaskListener;
+import io.jenkins.plugins.analysis.core.model.AnalysisResult;
+import io.jenkins.plugins.analysis.core.model.FileNameRenderer;
 import io.jenkins.plugins.analysis.core.model.ReportScanningTool;
 import io.jenkins.plugins.analysis.core.model.ReportScanningTool.ReportScanningToolDescriptor;
+import io.jenkins.plugins.analysis.core.model.ResultAction;
 import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider;
+import io.jenkins.plugins.analysis.core.model.StaticAnalysisLabelProvider.AgeBuilder;
 import io.jenkins.plugins.util.JenkinsFacade;
 import io.jenkins.plugins.util.LogHandler;
 import org.jenkins.ui.symbol.SymbolRequest;
@@ -24,6 +34,8 @@ import org.mockito.Mockito;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -44,6 +56,7 @@ public class ParasoftToolTest
                     .getAbsolutePath() + "/settings.properties";
             FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
             Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
             Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
                     .thenReturn(new EnvVars());
             LogHandler logger = Mockito.mock(LogHandler.class);
@@ -67,6 +80,113 @@ public class ParasoftToolTest
         }
     }
 
+    @Test
+    public void scanReportInParallelTest()
+            throws IOException, InterruptedException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+            Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
+            Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
+                    .thenReturn(new EnvVars());
+            LogHandler logger = Mockito.mock(LogHandler.class);
+
+            ParasoftTool underTest = new UnderTest();
+            underTest.setMaxConcurrentImports(4);
+            assertEquals(4, underTest.getMaxConcurrentImports());
+
+            Report report = underTest.scan(freeStyleBuild,
+                    new FilePath(new File("src/test/resources/xml")),
+                    Charset.forName("UTF-8"), logger);
+
+            assertEquals(17, report.getSize());
+            assertFalse(report.hasErrors());
+            assertTrue(report.getInfoMessages().contains("-> found 1 file"));
+            assertTrue(report.getInfoMessages().contains("Importing 1 file with 1 worker"));
+            Mockito.verify(logger).logInfoMessages(report.getInfoMessages());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void scanSeveralReportsInParallelTest()
+            throws IOException, InterruptedException
+    {
+        String[] reports = {"jtest_10.6.0_static.xml", "cppTest_10.6.0_static.xml", "jtest_10.5.2_static.xml"};
+        File tempDir = FileUtil.getTempDir();
+        try {
+            // the reports are merged in the order of the file names
+            List<String> expectedIssues = new ArrayList<>();
+            for (String name : new String[] {reports[1], reports[2], reports[0]}) {
+                expectedIssues.addAll(describeIssues(scan(new UnderTest(name), tempDir, null)));
+            }
+
+            ParasoftTool underTest = new UnderTest(String.join(",", reports));
+            underTest.setMaxConcurrentImports(4);
+            underTest.setReportEncoding("UTF-8");
+            LogHandler logger = Mockito.mock(LogHandler.class);
+            Report report = scan(underTest, tempDir, logger);
+
+            assertFalse(report.hasErrors());
+            assertTrue(report.getInfoMessages().contains("-> found 3 files"));
+            assertTrue(report.getInfoMessages().contains("Importing 3 files with 3 workers"));
+            assertEquals(expectedIssues, describeIssues(report));
+            Mockito.verify(logger).logInfoMessages(report.getInfoMessages());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void scanInParallelFindsFilesLikeSequentialScanTest()
+            throws IOException, InterruptedException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            File workspace = new File(tempDir, "workspace");
+            // Ant excludes .svn directories by default, the sequential scan does not
+            File svnDir = new File(workspace, ".svn");
+            assertTrue(svnDir.mkdirs());
+            Files.copy(new File("src/test/resources/xml", REPORT_NAME).toPath(), new File(svnDir, "report.xml").toPath());
+            assertTrue(new File(workspace, "empty.xml").createNewFile());
+
+            FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+            Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
+            Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
+                    .thenReturn(new EnvVars());
+            ParasoftTool underTest = new UnderTest("**/*.xml");
+            underTest.setMaxConcurrentImports(4);
+            Report report = underTest.scan(freeStyleBuild, new FilePath(workspace), Charset.forName("UTF-8"),
+                    Mockito.mock(LogHandler.class));
+
+            assertEquals(17, report.getSize());
+            assertTrue(report.getInfoMessages().contains("-> found 2 files"));
+            assertTrue(report.getInfoMessages().contains("Importing 1 file with 1 worker"));
+            assertTrue(report.getErrorMessages().contains("Skipping file 'empty.xml' because it's empty"));
+
+            underTest = new UnderTest("**/missing.xml");
+            underTest.setMaxConcurrentImports(4);
+            report = scan(underTest, tempDir, null);
+            assertTrue(report.getErrorMessages().contains("No files found for pattern '**/missing.xml'. Configuration error?"));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void maxConcurrentImportsTest()
+    {
+        ParasoftTool underTest = new ParasoftTool();
+        assertEquals(1, underTest.getMaxConcurrentImports());
+
+        underTest.setMaxConcurrentImports(0);
+        assertEquals(1, underTest.getMaxConcurrentImports());
+    }
+
     @Test
     public void labelProviderAndDescriptorTest() throws IOException, InterruptedException
     {
@@ -76,6 +196,7 @@ public class ParasoftToolTest
                     .getAbsolutePath() + "/settings.properties";
             FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
             Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
             LogHandler logger = Mockito.mock(LogHandler.class);
             Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
                     .thenReturn(new EnvVars());
@@ -109,6 +230,9 @@ public class ParasoftToolTest
 
             ParasoftTableModel model = (ParasoftTableModel)labelProvider.getIssuesModel(freeStyleBuild, "parasoft-findings", report);
             assertEquals(9, model.getColumns().size());
+            assertEquals(9, model.getIndexColumns().size());
+            assertEquals(Column.SEVERITY, model.getIndexColumns().get(5));
+            assertFalse(model.isServerSide());
             assertEquals("issues", model.getId());
             List<Object> rows = model.getRows();
             assertEquals(17, rows.size());
@@ -120,20 +244,142 @@ public class ParasoftToolTest
         }
     }
 
+    @Test
+    public void lazyDetailsTest() throws IOException, InterruptedException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+            Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
+            Mockito.when(freeStyleBuild.getUrl()).thenReturn("job/test/1/");
+            Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
+                    .thenReturn(new EnvVars());
+            LogHandler logger = Mockito.mock(LogHandler.class);
+
+            ParasoftTool underTest = new UnderTest();
+            Report report = underTest.scan(freeStyleBuild,
+                    new FilePath(new File("src/test/resources/xml")),
+                    Charset.forName("UTF-8"), logger);
+            Issue otherIssue = new IssueBuilder().setMessage("other").setDescription("Description of other issue").build();
+            report.add(otherIssue);
+
+            JenkinsFacade jenkinsFacade = Mockito.mock(JenkinsFacade.class);
+            Mockito.when(jenkinsFacade.getSymbol(ArgumentMatchers.any(SymbolRequest.class))).thenReturn("<svg>details-open-close-icon</svg>");
+            ParasoftTableModel model = new ParasoftTableModel(freeStyleBuild, report, Mockito.mock(FileNameRenderer.class),
+                    Mockito.mock(AgeBuilder.class), new Descriptor().getLabelProvider(), jenkinsFacade, true);
+
+            List<Object> rows = model.getRows();
+            assertEquals(18, rows.size());
+            for (int i = 0; i < 17; i++) {
+                String description = ((ParasoftTableRow) rows.get(i)).getDescription();
+                assertTrue(description.contains("/job/test/1/parasoft-findings-details/issue?id=" + report.get(i).getId()));
+            }
+            // issues of other tools have no details to load
+            String otherDescription = ((ParasoftTableRow) rows.get(17)).getDescription();
+            assertTrue(otherDescription.contains("Description of other issue"));
+            assertFalse(otherDescription.contains("parasoft-findings-details"));
+
+            ParasoftIssueDetailsAction action = new ParasoftIssueDetailsAction(freeStyleBuild);
+            assertEquals("parasoft-findings-details", action.getUrlName());
+            assertNull(action.getIssueDetails("not-an-issue-id"));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void sanitizedDetailsTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            IssueBuilder builder = new IssueBuilder();
+            DupIssueAdditionalProperties childProperties = new DupIssueAdditionalProperties("alice", "1", "dupcode");
+            childProperties.setDescription("<script>alert(1)</script>Duplicated code");
+            Issue child = builder.setMessage("child").setAdditionalProperties(childProperties).build();
+            DupIssueAdditionalProperties properties = new DupIssueAdditionalProperties("alice", "1", "dupcode");
+            properties.setChildren(List.of(child));
+            Issue issue = builder.setMessage("parent").setType("CDD-1").setAdditionalProperties(properties).build();
+            Report report = new Report();
+            report.add(issue);
+
+            AnalysisResult result = Mockito.mock(AnalysisResult.class);
+            Mockito.when(result.getIssues()).thenReturn(report);
+            ResultAction resultAction = Mockito.mock(ResultAction.class);
+            Mockito.when(resultAction.getId()).thenReturn("parasoft-findings");
+            Mockito.when(resultAction.getResult()).thenReturn(result);
+            Mockito.when(resultAction.getLabelProvider()).thenReturn(new Descriptor().getLabelProvider());
+            FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+            Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+            Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
+            Mockito.when(freeStyleBuild.getExternalizableId()).thenReturn("sanitized#1");
+            Mockito.when(freeStyleBuild.getActions(ResultAction.class)).thenReturn(List.of(resultAction));
+
+            ParasoftIssueDetailsAction action = new ParasoftIssueDetailsAction(freeStyleBuild);
+            String details = action.getIssueDetails(issue.getId().toString());
+            assertNotNull(details);
+            assertTrue(details.contains("Duplicated code"));
+            assertFalse(details.contains("<script"));
+            assertNull(action.getIssueDetails(child.getId().toString()));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    private static Report scan(ParasoftTool tool, File tempDir, LogHandler logger)
+            throws IOException, InterruptedException
+    {
+        FreeStyleBuild freeStyleBuild = Mockito.mock(FreeStyleBuild.class);
+        Mockito.when(freeStyleBuild.getRootDir()).thenReturn(tempDir);
+        Mockito.when(freeStyleBuild.getParent()).thenReturn(mockProject(tempDir));
+        Mockito.when(freeStyleBuild.getEnvironment(TaskListener.NULL))
+                .thenReturn(new EnvVars());
+        return tool.scan(freeStyleBuild, new FilePath(new File("src/test/resources/xml")),
+                Charset.forName("UTF-8"), logger == null ? Mockito.mock(LogHandler.class) : logger);
+    }
+
+    private static List<String> describeIssues(Report report)
+    {
+        List<String> issues = new ArrayList<>();
+        for (Issue issue : report) {
+            issues.add(issue.getFileName() + ':' + issue.getLineStart() + ' ' + issue.getType() + ' ' + issue.getMessage());
+        }
+        return issues;
+    }
+
+    private static FreeStyleProject mockProject(File rootDir)
+    {
+        FreeStyleProject project = Mockito.mock(FreeStyleProject.class);
+        Mockito.when(project.getRootDir()).thenReturn(rootDir);
+        return project;
+    }
+
     @SuppressWarnings("serial")
     private class UnderTest
             extends ParasoftTool
     {
+        private final String _pattern;
+
+        UnderTest()
+        {
+            this(REPORT_NAME);
+        }
+
+        UnderTest(String pattern)
+        {
+            _pattern = pattern;
+        }
+
         @Override
         public String getActualPattern()
         {
-            return REPORT_NAME;
+            return _pattern;
         }
 
         @Override
         public String getPattern()
         {
-            return REPORT_NAME;
+            return _pattern;
         }
 
         @Override
@@ -0,0 +1,126 @@
+package com.parasoft.findings.jenkins;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Test;
+
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationCache;
+
+public class RuleDocumentationCacheTest
+{
+    @Test
+    public void cacheHitTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            File ruleDoc = writeRuleDoc(tempDir, "RULE.A", 100);
+            RuleDocumentationCache underTest = new RuleDocumentationCache(1024);
+
+            String contents = underTest.getRuleDoc(ruleDoc);
+            assertEquals(100, contents.length());
+            assertTrue(contents == underTest.getRuleDoc(ruleDoc));
+
+            assertEquals(1, underTest.getHitCount());
+            assertEquals(1, underTest.getMissCount());
+            assertEquals(0.5, underTest.getHitRatio(), 0.001);
+            assertEquals(200, underTest.getBytes());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void evictionTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(1000);
+            File first = writeRuleDoc(tempDir, "RULE.A", 200);
+            File second = writeRuleDoc(tempDir, "RULE.B", 200);
+            File third = writeRuleDoc(tempDir, "RULE.C", 200);
+            File tooLarge = writeRuleDoc(tempDir, "RULE.D", 600);
+
+            underTest.getRuleDoc(first);
+            underTest.getRuleDoc(second);
+            underTest.getRuleDoc(first);
+            underTest.getRuleDoc(third);
+            assertEquals(2, underTest.size());
+            assertEquals(1, underTest.getEvictionCount());
+
+            // the least recently used entry was evicted
+            underTest.getRuleDoc(first);
+            assertEquals(2, underTest.getHitCount());
+
+            assertEquals(600, underTest.getRuleDoc(tooLarge).length());
+            assertEquals(2, underTest.size());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void invalidateTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(1024);
+            File firstBuild = new File(tempDir, "1");
+            File secondBuild = new File(tempDir, "10");
+            underTest.getRuleDoc(writeRuleDoc(firstBuild, "RULE.A", 10));
+            underTest.getRuleDoc(writeRuleDoc(secondBuild, "RULE.A", 10));
+
+            underTest.invalidate(firstBuild);
+            assertEquals(1, underTest.size());
+            assertEquals(20, underTest.getBytes());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void normalizedKeyTest() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            RuleDocumentationCache underTest = new RuleDocumentationCache(1024);
+            File store = new File(tempDir, "parasoft-findings-rules-store");
+            File firstBuild = new File(tempDir, "builds/1");
+            File secondBuild = new File(tempDir, "builds/2");
+            File ruleDoc = writeRuleDoc(store, "RULE.A", 10);
+            assertTrue(firstBuild.mkdirs() && secondBuild.mkdirs());
+
+            underTest.getRuleDoc(new File(firstBuild, "../../parasoft-findings-rules-store/RULE.A.html"));
+            underTest.getRuleDoc(new File(secondBuild, "../../parasoft-findings-rules-store/RULE.A.html"));
+            underTest.getRuleDoc(ruleDoc);
+            assertEquals(1, underTest.size());
+            assertEquals(2, underTest.getHitCount());
+
+            // the shared store is not located in the deleted build
+            underTest.invalidate(new File(firstBuild, "."));
+            assertEquals(1, underTest.size());
+
+            underTest.invalidate(new File(firstBuild, "../.."));
+            assertEquals(0, underTest.size());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    private static File writeRuleDoc(File dir, String ruleId, int length) throws IOException
+    {
+        File ruleDoc = new File(dir, ruleId + ".html");
+        ruleDoc.getParentFile().mkdirs();
+        StringBuilder contents = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            contents.append('x');
+        }
+        Files.write(ruleDoc.toPath(), contents.toString().getBytes(StandardCharsets.UTF_8));
+        return ruleDoc;
+    }
+}
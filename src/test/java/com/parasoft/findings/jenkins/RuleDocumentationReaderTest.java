@@ -36,8 +36,7 @@ public class RuleDocumentationReaderTest
             settings.put("report.rules", resource.getPath());
             RuleDocumentationStorage helper = new RuleDocumentationStorage(tempDir, settings);
             helper.storeRuleDoc(analyzer, ruleName);
-            File rule = new File(tempDir.getAbsolutePath() + "/parasoft-findings-rules/"
-                    + analyzer + "/" + ruleName + ".html");
+            File rule = new File(tempDir.getAbsolutePath() + "/parasoft-findings-rules/index.properties");
             if (!rule.exists()) {
                 fail();
             }
@@ -5,9 +5,12 @@ import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Properties;
 
 import com.parasoft.findings.jenkins.internal.rules.JenkinsRulesUtil;
+import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationReader;
 import com.parasoft.findings.jenkins.internal.rules.RuleDocumentationStorage;
 
 import hudson.FilePath;
@@ -16,6 +19,10 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.EnabledIf;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public class RuleDocumentationStorageTest
@@ -56,6 +63,104 @@ public class RuleDocumentationStorageTest
         testStoreRuleDocFileFromLocalFile("src/test/resources/rule/doc.zip");
     }
 
+    @Test
+    public void localRuleTest_storeRuleDocsInBatch() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            RuleDocumentationStorage underTest = new RuleDocumentationStorage(tempDir, settings);
+            underTest.storeRuleDocs(Collections.singletonMap("com.parasoft.jtest.standards.checkers.java",
+                    Arrays.asList("APSC_DV.000160.SRD", "NO.SUCH.RULE", "APSC_DV.000160.SRD")));
+
+            RuleDocumentationReader reader = new RuleDocumentationReader(tempDir);
+            assertFalse(reader.getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD").isEmpty());
+            assertTrue(reader.getRuleDoc("com.parasoft.jtest.standards.checkers.java", "NO.SUCH.RULE").isEmpty());
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void localRuleTest_shareRuleDocsBetweenBuilds() throws IOException
+    {
+        File jobDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            File firstBuildDir = new File(jobDir, "builds/1");
+            File secondBuildDir = new File(jobDir, "builds/2");
+            new RuleDocumentationStorage(firstBuildDir, jobDir, settings)
+                    .storeRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+            new RuleDocumentationStorage(secondBuildDir, jobDir, settings)
+                    .storeRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+
+            File[] storedDocs = new File(jobDir, "parasoft-findings-rules-store").listFiles();
+            assertNotNull(storedDocs);
+            assertEquals(1, storedDocs.length);
+            assertFalse(new File(secondBuildDir, "parasoft-findings-rules/com.parasoft.jtest.standards.checkers.java").exists());
+            assertEquals(new RuleDocumentationReader(firstBuildDir, jobDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD"),
+                    new RuleDocumentationReader(secondBuildDir, jobDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD"));
+        } finally {
+            FileUtil.recursiveDelete(jobDir);
+        }
+    }
+
+    @Test
+    public void localRuleTest_readRuleDocsOfMovedJob() throws IOException
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            File jobDir = new File(tempDir, "job");
+            // builds kept outside of the job directory
+            File buildDir = new File(tempDir, "builds/job/1");
+            new RuleDocumentationStorage(buildDir, jobDir, settings)
+                    .storeRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+            String ruleDoc = new RuleDocumentationReader(buildDir, jobDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+            assertFalse(ruleDoc.isEmpty());
+
+            File renamedJobDir = new File(tempDir, "renamed-job");
+            File movedBuildDir = new File(tempDir, "builds/renamed-job/1");
+            assertTrue(jobDir.renameTo(renamedJobDir));
+            assertTrue(movedBuildDir.getParentFile().mkdirs());
+            assertTrue(buildDir.renameTo(movedBuildDir));
+            assertEquals(ruleDoc, new RuleDocumentationReader(movedBuildDir, renamedJobDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD"));
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    @Test
+    public void localRuleTest_pruneUnreferencedRuleDocs() throws IOException
+    {
+        File jobDir = FileUtil.getTempDir();
+        try {
+            Properties settings = new Properties();
+            settings.put("report.rules", new File("src/test/resources/rule").toURI().toURL().getPath());
+            File firstBuildDir = new File(jobDir, "builds/1");
+            File secondBuildDir = new File(jobDir, "builds/2");
+            new RuleDocumentationStorage(firstBuildDir, jobDir, settings)
+                    .storeRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+            new RuleDocumentationStorage(secondBuildDir, jobDir, settings)
+                    .storeRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD");
+            File storeDir = new File(jobDir, "parasoft-findings-rules-store");
+
+            // still referenced by the second build
+            RuleDocumentationStorage.pruneStore(jobDir, Collections.singletonList(secondBuildDir));
+            assertFalse(new RuleDocumentationReader(secondBuildDir, jobDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", "APSC_DV.000160.SRD").isEmpty());
+
+            RuleDocumentationStorage.pruneStore(jobDir, Collections.emptyList());
+            File[] storedDocs = storeDir.listFiles();
+            assertNotNull(storedDocs);
+            assertEquals(0, storedDocs.length);
+        } finally {
+            FileUtil.recursiveDelete(jobDir);
+        }
+    }
+
     private void testStoreRuleDocFileFromLocalFile(String ruleDocLocation) throws IOException {
         File tempDir = FileUtil.getTempDir();
         try {
@@ -77,11 +182,12 @@ public class RuleDocumentationStorageTest
     private void checkIfRuleExist(RuleDocumentationStorage underTest, File tempDir, String ruleName)
     {
         underTest.storeRuleDoc("com.parasoft.jtest.standards.checkers.java", ruleName);
-        File rule = new File(tempDir.getAbsolutePath() + "/parasoft-findings-rules/"
-                + "com.parasoft.jtest.standards.checkers.java/" + ruleName + ".html");
-        if (!rule.exists()) {
+        File index = new File(tempDir.getAbsolutePath() + "/parasoft-findings-rules/index.properties");
+        if (!index.exists()) {
             fail();
         }
+        String ruleDoc = new RuleDocumentationReader(tempDir).getRuleDoc("com.parasoft.jtest.standards.checkers.java", ruleName);
+        assertFalse(ruleDoc.isEmpty());
     }
 
     boolean hasDtpUrlProperty() {
@@ -15,10 +15,16 @@
  */
 package com.parasoft.findings.jenkins;
 
+import com.parasoft.findings.jenkins.xunit.ParasoftInputMetric;
+import com.parasoft.findings.jenkins.xunit.ParasoftSOAtest9xInputMetric;
+import org.jenkinsci.lib.dtkit.model.InputMetricXSL;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 public class XSLTransformTest
 {
@@ -87,6 +93,55 @@ public class XSLTransformTest
         transform("cppTest_10.3.4_engine_unit.xml", 12, 5);
     }
 
+    @Test
+    public void testInputMetricsUseCustomXsl() throws Exception
+    {
+        File tempDir = FileUtil.getTempDir();
+        try {
+            File customXsl = new File(tempDir, "custom.xsl");
+            Files.write(customXsl.toPath(), ("<xsl:stylesheet version=\"2.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+                    + "<xsl:template match=\"/\"><testsuites name=\"custom\"/></xsl:template>"
+                    + "</xsl:stylesheet>").getBytes(StandardCharsets.UTF_8));
+            File inputFile = new File(TEST_RESOURCES + "xml/jTest_10_unit.xml");
+
+            File defaultOutputFile = new File(tempDir, "default.xml");
+            new ParasoftInputMetric().convert(inputFile, defaultOutputFile, null);
+            Assert.assertFalse(readFile(defaultOutputFile).contains("name=\"custom\""));
+
+            // the bundled stylesheets must not be used instead of a custom one
+            for (InputMetricXSL inputMetric : new InputMetricXSL[] {new ParasoftInputMetric()
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public File getXslFile()
+                    {
+                        return customXsl;
+                    }
+                }, new ParasoftSOAtest9xInputMetric()
+                {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    public File getXslFile()
+                    {
+                        return customXsl;
+                    }
+                }}) {
+                File outputFile = new File(tempDir, "custom.xml");
+                inputMetric.convert(inputFile, outputFile, null);
+                Assert.assertTrue(readFile(outputFile).contains("name=\"custom\""));
+            }
+        } finally {
+            FileUtil.recursiveDelete(tempDir);
+        }
+    }
+
+    private static String readFile(File file) throws IOException
+    {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
     private void transform(String fileName, int failureNumber, int errorNumber)
     {
         try {
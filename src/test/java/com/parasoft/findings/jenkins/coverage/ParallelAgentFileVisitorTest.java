@@ -0,0 +1,104 @@
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import io.jenkins.plugins.util.AgentFileVisitor.FileVisitorResult;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParallelAgentFileVisitorTest {
+    private static final int NUMBER_OF_FILES = 6;
+    private static final String FAILURE = "fail";
+
+    @Test
+    void shouldReturnResultsInFileOrder(@TempDir final Path workspace) throws IOException {
+        createReports(workspace, -1);
+
+        FileVisitorResult<String> sequential = new ReportVisitor(1).invoke(workspace.toFile(), null);
+        FileVisitorResult<String> parallel = new ReportVisitor(4).invoke(workspace.toFile(), null);
+
+        assertThat(sequential.getResults()).hasSize(NUMBER_OF_FILES);
+        assertThat(parallel.getResults()).containsExactlyElementsOf(sequential.getResults());
+        assertThat(parallel.getLog().getInfoMessages())
+                .contains("Processing 6 files with 4 workers")
+                .containsSubsequence(processedMessages(sequential.getResults()));
+        assertThat(parallel.getLog().getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReportFailureOfSingleFile(@TempDir final Path workspace) throws IOException {
+        createReports(workspace, 3);
+
+        FileVisitorResult<String> result = new ReportVisitor(4).invoke(workspace.toFile(), null);
+
+        assertThat(result.getResults()).hasSize(NUMBER_OF_FILES - 1).doesNotContain(FAILURE);
+        assertThat(result.getLog().getErrorMessages()).anySatisfy(message -> assertThat(message)
+                .contains("report-3.txt")
+                .contains("failed due to an exception")
+                .contains("IllegalStateException: Cannot process report-3.txt"));
+    }
+
+    @Test
+    void shouldUseSmallerPoolForFewFiles(@TempDir final Path workspace) throws IOException {
+        Files.write(workspace.resolve("report-0.txt"), "0".getBytes(StandardCharsets.UTF_8));
+
+        FileVisitorResult<String> result = new ReportVisitor(4).invoke(workspace.toFile(), null);
+
+        assertThat(result.getResults()).containsExactly("0");
+        assertThat(result.getLog().getInfoMessages()).contains("Processing 1 file with 1 worker");
+    }
+
+    /**
+     * Creates the reports. Earlier reports take longer to process, so the workers finish in a different order than
+     * the files have been found.
+     */
+    private void createReports(final Path workspace, final int failingReport) throws IOException {
+        for (int i = 0; i < NUMBER_OF_FILES; i++) {
+            String content = i == failingReport ? FAILURE : String.valueOf(i);
+            Files.write(workspace.resolve("report-" + i + ".txt"), content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String[] processedMessages(final List<String> results) {
+        return results.stream().map(content -> "Processed " + content).toArray(String[]::new);
+    }
+
+    private static class ReportVisitor extends ParallelAgentFileVisitor<String> {
+        private static final long serialVersionUID = 5206423924616356263L;
+
+        ReportVisitor(final int workerCount) {
+            super("**/report-*.txt", "UTF-8", false, true, workerCount);
+        }
+
+        @Override
+        protected Optional<String> processReportFile(final Path file, final Charset charset, final FilteredLog log) {
+            try {
+                String content = Files.readString(file, charset);
+                if (FAILURE.equals(content)) {
+                    throw new IllegalStateException("Cannot process " + file.getFileName());
+                }
+                TimeUnit.MILLISECONDS.sleep((NUMBER_OF_FILES - Integer.parseInt(content)) * 20L);
+                log.logInfo("Processed %s", content);
+                return Optional.of(content);
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+        }
+    }
+}
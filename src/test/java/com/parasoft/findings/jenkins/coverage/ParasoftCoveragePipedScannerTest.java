@@ -0,0 +1,69 @@
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.hm.hafner.util.FilteredLog;
+
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParasoftCoveragePipedScannerTest {
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+
+    /** Writes a malformed Cobertura report that is much larger than the pipe between conversion and parser. */
+    private static final String MALFORMED_OUTPUT_XSL = "<xsl:stylesheet version=\"3.0\""
+            + " xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:output method=\"text\"/>"
+            + "<xsl:template match=\"/\">"
+            + "<xsl:text>&lt;coverage&gt;&lt;packages&gt;&lt;package name=\"broken\" &lt;&lt;</xsl:text>"
+            + "<xsl:for-each select=\"1 to 100000\"><xsl:text>0123456789</xsl:text></xsl:for-each>"
+            + "</xsl:template>"
+            + "</xsl:stylesheet>";
+
+    @Test
+    void shouldConvertAndParseReport(@TempDir final Path workspace) throws IOException, URISyntaxException {
+        String xsl = IOUtils.toString(Objects.requireNonNull(
+                ParasoftCoveragePipedScannerTest.class.getResourceAsStream(COBERTURA_XSL)), StandardCharsets.UTF_8);
+        FilteredLog log = new FilteredLog("Errors");
+
+        Optional<ModuleNode> node = createScanner(xsl, workspace)
+                .processReportFile(getResourcePath("parasoft_coverage.xml"), StandardCharsets.UTF_8, log);
+
+        assertThat(node).isPresent();
+        assertThat(node.get().getAllFileNodes()).isNotEmpty();
+        assertThat(log.getErrorMessages()).isEmpty();
+    }
+
+    @Test
+    void shouldReportParserFailureInsteadOfClosedPipe(@TempDir final Path workspace) throws URISyntaxException {
+        FilteredLog log = new FilteredLog("Errors");
+
+        Optional<ModuleNode> node = createScanner(MALFORMED_OUTPUT_XSL, workspace)
+                .processReportFile(getResourcePath("parasoft_coverage.xml"), StandardCharsets.UTF_8, log);
+
+        assertThat(node).isEmpty();
+        assertThat(log.getErrorMessages()).anySatisfy(message -> assertThat(message)
+                .startsWith("Parsing of Parasoft coverage report file")
+                .doesNotContain("IOException")
+                .doesNotContain("Pipe closed"));
+    }
+
+    private ParasoftCoveragePipedScanner createScanner(final String xsl, final Path workspace) {
+        return new ParasoftCoveragePipedScanner("**/*.xml", xsl, workspace.toString(), "UTF-8", false, 1);
+    }
+
+    private Path getResourcePath(final String fileName) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(ParasoftCoveragePipedScannerTest.class.getResource(fileName)).toURI());
+    }
+}
@@ -0,0 +1,85 @@
+package com.parasoft.findings.jenkins.coverage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ParasoftCoverageReportScannerTest {
+    private static final String NO_COVERAGE_MESSAGE = "No Parasoft coverage information found in the specified file.";
+
+    @Test
+    void shouldOpenReportAtStartOfFile() throws IOException, URISyntaxException {
+        Path report = getResourcePath("parasoft_coverage.xml");
+
+        try (InputStream input = ParasoftCoverageReportScanner.openReportFile(report)) {
+            assertThat(input).hasBinaryContent(Files.readAllBytes(report));
+        }
+    }
+
+    @Test
+    void shouldValidateSingleLineReport(@TempDir final Path tempDir) throws IOException {
+        String content = "<?xml version='1.0' encoding='UTF-8'?><Coverage ver=\"2\" toolId=\"jtest\"><Locations>"
+                + StringUtils.repeat("<Loc locRef=\"1\" uri=\"src/main/java/Foo.java\"/>", 10_000)
+                + "</Locations></Coverage>";
+        Path report = Files.write(tempDir.resolve("coverage.xml"), content.getBytes(StandardCharsets.UTF_8));
+
+        try (InputStream input = ParasoftCoverageReportScanner.openReportFile(report)) {
+            assertThat(input).hasContent(content);
+        }
+    }
+
+    @Test
+    void shouldRejectReportWithoutCoverageRoot() throws URISyntaxException {
+        Path report = getResourcePath("parasoft_coverage_no_data.xml");
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> ParasoftCoverageReportScanner.openReportFile(report))
+                .withMessage(NO_COVERAGE_MESSAGE);
+    }
+
+    @Test
+    void shouldRejectNestedCoverageElement(@TempDir final Path tempDir) throws IOException {
+        Path report = Files.write(tempDir.resolve("report.xml"),
+                "<ResultsSession><Exec><Coverage ver=\"1\"/></Exec></ResultsSession>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> ParasoftCoverageReportScanner.openReportFile(report))
+                .withMessage(NO_COVERAGE_MESSAGE);
+    }
+
+    @Test
+    void shouldRejectCoverageRootWithoutVersion(@TempDir final Path tempDir) throws IOException {
+        Path report = Files.write(tempDir.resolve("coverage.xml"),
+                "<Coverage toolId=\"jtest\"/>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> ParasoftCoverageReportScanner.openReportFile(report))
+                .withMessage(NO_COVERAGE_MESSAGE);
+    }
+
+    @Test
+    void shouldRejectNonXmlFile(@TempDir final Path tempDir) throws IOException {
+        Path report = Files.write(tempDir.resolve("coverage.txt"),
+                "<Coverage ver=\"2\"/>".getBytes(StandardCharsets.UTF_8));
+
+        assertThatIOException()
+                .isThrownBy(() -> ParasoftCoverageReportScanner.openReportFile(report))
+                .withMessageContaining("Unrecognized report file");
+    }
+
+    private Path getResourcePath(final String fileName) throws URISyntaxException {
+        return Paths.get(Objects.requireNonNull(ParasoftCoverageReportScannerTest.class.getResource(fileName)).toURI());
+    }
+}
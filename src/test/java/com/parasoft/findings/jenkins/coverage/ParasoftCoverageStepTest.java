@@ -51,6 +51,39 @@ class ParasoftCoverageStepTest extends AbstractCoverageITest {
         verifyResult(job);
     }
 
+    @Test
+    void testJobWithStreamingProcessingMode() {
+        WorkflowJob job = createPipelineWithWorkspaceFiles(COVERAGE_FILE);
+        setPipelineScript(job, "recordParasoftCoverage pattern: '" + COVERAGE_FILE + "', processingMode: 'STREAMING'");
+        Run<?, ?> build = buildSuccessfully(job);
+
+        verifyAction(build.getAction(CoverageBuildAction.class));
+        assertThat(getConsoleLog(build)).contains("Successfully parsed Parasoft coverage report file")
+                .doesNotContain("Processing intermediate Cobertura coverage report");
+    }
+
+    @Test
+    void testJobWithPipedProcessingMode() {
+        WorkflowJob job = createPipelineWithWorkspaceFiles(COVERAGE_FILE);
+        setPipelineScript(job, "recordParasoftCoverage pattern: '" + COVERAGE_FILE + "', processingMode: 'PIPED'");
+        Run<?, ?> build = buildSuccessfully(job);
+
+        verifyAction(build.getAction(CoverageBuildAction.class));
+        assertThat(getConsoleLog(build)).contains("Successfully converted and parsed Parasoft coverage report file")
+                .doesNotContain("intermediate Cobertura report file");
+    }
+
+    @Test
+    void testJobWithWorkerCount() {
+        WorkflowJob job = createPipelineWithWorkspaceFiles(COVERAGE_FILE, "parasoft_coverage_no_data.xml");
+        setPipelineScript(job, "recordParasoftCoverage pattern: 'parasoft_coverage*.xml', workerCount: 2");
+        Run<?, ?> build = buildSuccessfully(job);
+
+        verifyAction(build.getAction(CoverageBuildAction.class));
+        assertThat(getConsoleLog(build)).contains("Processing 2 files with 2 workers")
+                .contains("No Parasoft coverage information found in the specified file.");
+    }
+
     @Test
     void testNotPassTheQualityGate() {
         WorkflowJob job = createPipeline("7", UNSTABLE_COVERAGE_QUALITY_GATE_SCRIPT, SOURCECODE_ENCODING, COVERAGE_FILE);
@@ -27,7 +27,9 @@ package com.parasoft.findings.jenkins.coverage.api.metrics.steps;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.BitSet;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
@@ -41,6 +43,8 @@ import org.apache.commons.lang3.math.Fraction;
 import org.junit.jupiter.api.Test;
 import org.xmlunit.builder.Input;
 
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.LineCounters;
 import com.parasoft.findings.jenkins.coverage.model.Metric;
 import com.parasoft.findings.jenkins.coverage.model.Node;
 import com.parasoft.findings.jenkins.coverage.model.Value;
@@ -56,6 +60,8 @@ import com.parasoft.findings.jenkins.coverage.Assertions;
 import com.parasoft.findings.jenkins.coverage.api.metrics.model.Baseline;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.IntegerLineMapConverter;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.IntegerSetConverter;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.LineCountersConverter;
+import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.LineRangesConverter;
 import com.parasoft.findings.jenkins.coverage.api.metrics.steps.CoverageXmlStream.MetricFractionMapConverter;
 import io.jenkins.plugins.util.QualityGateResult;
 
@@ -223,6 +229,96 @@ class CoverageXmlStreamTest extends SerializableTest<Node> {
         Assertions.assertThat(converter.unmarshal("[15:25, 10: 20]")).containsExactly(entry(10, 20), entry(15, 25));
     }
 
+    @Test
+    void shouldConvertLineCounters2String() {
+        var counters = new LineCounters();
+
+        LineCountersConverter converter = new LineCountersConverter();
+
+        assertThat(converter.marshal(counters)).isEqualTo(EMPTY);
+
+        counters.put(15, 25);
+        assertThat(converter.marshal(counters)).isEqualTo("[15: 25]");
+
+        counters.put(10, 20);
+        assertThat(converter.marshal(counters)).isEqualTo("[10: 20, 15: 25]");
+    }
+
+    @Test
+    void shouldConvertString2LineCounters() {
+        LineCountersConverter converter = new LineCountersConverter();
+
+        Assertions.assertThat(converter.unmarshal(EMPTY).isEmpty()).isTrue();
+        Assertions.assertThat(converter.unmarshal("[15: 25]").toMap()).containsExactly(entry(15, 25));
+        Assertions.assertThat(converter.unmarshal("[15:25, 10: 20]").toMap())
+                .containsExactly(entry(10, 20), entry(15, 25));
+    }
+
+    @Test
+    void shouldReadCountersStoredAsTreeMap() throws IOException {
+        Path saved = createTempFile();
+        var file = new FileNode("File.java", "path/File.java");
+        file.addCounters(10, 1, 0);
+        file.addCounters(11, 0, 2);
+
+        var xmlStream = new CoverageXmlStream();
+        xmlStream.write(saved, file);
+        var legacy = Files.readString(saved)
+                .replace("<coveredPerLine>", "<coveredPerLine class=\"tree-map\">")
+                .replace("<missedPerLine>", "<missedPerLine class=\"tree-map\">");
+        Files.writeString(saved, legacy);
+
+        Assertions.assertThat(xmlStream.read(saved)).isInstanceOfSatisfying(FileNode.class, restored -> {
+            Assertions.assertThat(restored.getLinesWithCoverage()).containsExactly(10, 11);
+            Assertions.assertThat(restored.getCoveredOfLine(10)).isEqualTo(1);
+            Assertions.assertThat(restored.getMissedOfLine(11)).isEqualTo(2);
+        });
+    }
+
+    @Test
+    void shouldConvertLineRanges2String() {
+        var lines = new BitSet();
+
+        LineRangesConverter converter = new LineRangesConverter();
+
+        assertThat(converter.marshal(lines)).isEqualTo(EMPTY);
+
+        lines.set(10);
+        assertThat(converter.marshal(lines)).isEqualTo("[10]");
+
+        lines.set(15, 21);
+        lines.set(30);
+        assertThat(converter.marshal(lines)).isEqualTo("[10, 15-20, 30]");
+    }
+
+    @Test
+    void shouldConvertString2LineRanges() {
+        LineRangesConverter converter = new LineRangesConverter();
+
+        Assertions.assertThat(converter.unmarshal(EMPTY).isEmpty()).isTrue();
+        Assertions.assertThat(converter.unmarshal("[15]").stream()).containsExactly(15);
+        Assertions.assertThat(converter.unmarshal("[10, 15-17,30]").stream()).containsExactly(10, 15, 16, 17, 30);
+    }
+
+    @Test
+    void shouldReadModifiedLinesStoredAsTreeSet() throws IOException {
+        Path saved = createTempFile();
+        var file = new FileNode("File.java", "path/File.java");
+        file.addCounters(10, 1, 0);
+        file.addModifiedLineRange(10, 11);
+
+        var xmlStream = new CoverageXmlStream();
+        xmlStream.write(saved, file);
+        assertThat(Input.from(saved)).nodesByXPath("//modifiedLines").extractingText().containsExactly("[10-11]");
+
+        var legacy = Files.readString(saved).replace("<modifiedLines>[10-11]</modifiedLines>",
+                "<modifiedLines><no-comparator/><int>10</int><int>11</int></modifiedLines>");
+        Files.writeString(saved, legacy);
+
+        Assertions.assertThat(xmlStream.read(saved)).isInstanceOfSatisfying(FileNode.class,
+                restored -> Assertions.assertThat(restored.getModifiedLines()).containsExactly(10, 11));
+    }
+
     @Test
     void shouldConvertIntegerSet2String() {
         NavigableSet<Integer> set = new TreeSet<>();
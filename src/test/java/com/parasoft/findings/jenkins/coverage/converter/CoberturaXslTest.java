@@ -0,0 +1,118 @@
+package com.parasoft.findings.jenkins.coverage.converter;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.Objects;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathFactory;
+
+import net.sf.saxon.s9api.Processor;
+import net.sf.saxon.s9api.SaxonApiException;
+import net.sf.saxon.s9api.Xslt30Transformer;
+import net.sf.saxon.s9api.XsltExecutable;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests {@code cobertura.xsl} with a synthetic dotTEST report that has several files in several folders, so the
+ * lookups of the coverage data of each location and each item are exercised. The scaling of the conversion with the
+ * report size is measured by {@code CoberturaXslScalingBenchmark} in the {@code jmh} profile.
+ */
+class CoberturaXslTest {
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+
+    private static final int NUMBER_OF_FILES = 25;
+    private static final int METHODS_PER_FILE = 4;
+    private static final int LINES_PER_METHOD = 3;
+
+    @Test
+    void shouldConvertEveryLocation() throws Exception {
+        Processor processor = new Processor(false);
+        XsltExecutable stylesheet = processor.newXsltCompiler().compile(new StreamSource(Paths.get(
+                Objects.requireNonNull(CoberturaXslTest.class.getResource(COBERTURA_XSL)).toURI()).toFile()));
+
+        Document cobertura = parse(convert(processor, stylesheet, createReport(NUMBER_OF_FILES)));
+        XPath xpath = XPathFactory.newInstance().newXPath();
+
+        assertThat(xpath.evaluate("/coverage/@lines-valid", cobertura)).isEqualTo("300");
+        assertThat(xpath.evaluate("/coverage/@lines-covered", cobertura)).isEqualTo("100");
+        assertThat(xpath.evaluate("count(//package)", cobertura)).isEqualTo("3");
+        assertThat(xpath.evaluate("//package[1]/@name", cobertura)).isEqualTo("src/folder0");
+        assertThat(xpath.evaluate("count(//class)", cobertura)).isEqualTo(String.valueOf(NUMBER_OF_FILES));
+        assertThat(xpath.evaluate("count(//package[3]/classes/class)", cobertura)).isEqualTo("5");
+
+        for (int file = 0; file < NUMBER_OF_FILES; file++) {
+            String lines = String.format("//class[@name='File%d.cs']/lines/line", file);
+            assertThat(xpath.evaluate(String.format("//class[@name='File%d.cs']/@filename", file), cobertura))
+                    .isEqualTo(String.format("src/folder%d/File%d.cs", file / 10, file));
+            assertThat(xpath.evaluate("count(" + lines + ")", cobertura))
+                    .isEqualTo(String.valueOf(METHODS_PER_FILE * LINES_PER_METHOD));
+            assertThat(xpath.evaluate(lines + "[@number='2']/@hits", cobertura)).isEqualTo("1");
+            assertThat(xpath.evaluate(lines + "[@number='2']/@hash", cobertura)).isEqualTo("62");
+            assertThat(xpath.evaluate(lines + "[@number='33']/@hits", cobertura)).isEqualTo("0");
+            assertThat(xpath.evaluate(lines + "[@number='33']/@hash", cobertura)).isEqualTo("1023");
+        }
+    }
+
+    private Document parse(final String xml) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new InputSource(new StringReader(xml)));
+    }
+
+    private String convert(final Processor processor, final XsltExecutable stylesheet, final String report)
+            throws SaxonApiException {
+        Xslt30Transformer transformer = stylesheet.load30();
+        StringWriter output = new StringWriter();
+        transformer.transform(new StreamSource(new StringReader(report)), processor.newSerializer(output));
+        return output.toString();
+    }
+
+    /**
+     * Creates a dotTEST report with the given number of files, ten files per folder. Each file contains a few
+     * methods and every other line is covered by a test.
+     */
+    private String createReport(final int numberOfFiles) {
+        StringBuilder locations = new StringBuilder();
+        StringBuilder coverageData = new StringBuilder();
+        for (int file = 0; file < numberOfFiles; file++) {
+            String uri = String.format("file:///C:/project/src/folder%d/File%d.cs", file / 10, file);
+            locations.append(String.format("<Loc uri=\"%s\" locRef=\"%d\"/>%n", uri, file + 1));
+
+            StringBuilder items = new StringBuilder();
+            StringBuilder statCvgs = new StringBuilder();
+            StringBuilder coveredLines = new StringBuilder();
+            for (int method = 0; method < METHODS_PER_FILE; method++) {
+                int itemRef = method + 1;
+                items.append(String.format("<Item name=\"Method%d()\" itemRef=\"%d\"/>", method, itemRef));
+                StringBuilder elems = new StringBuilder();
+                StringBuilder hashes = new StringBuilder();
+                for (int line = 0; line < LINES_PER_METHOD; line++) {
+                    int lineNumber = method * 10 + line + 1;
+                    elems.append(lineNumber).append(' ');
+                    hashes.append(lineNumber * 31).append(' ');
+                    if (lineNumber % 2 == 0) {
+                        coveredLines.append(lineNumber).append(' ');
+                    }
+                }
+                statCvgs.append(String.format("<StatCvg itemRef=\"%d\" elems=\"%s\" hashes=\"%s\"/>",
+                        itemRef, elems.toString().trim(), hashes.toString().trim()));
+            }
+            coverageData.append(String.format("<CvgData locRef=\"%d\" uri=\"%s\"><Stats>%s</Stats>"
+                            + "<Static>%s</Static><Dynamic><DynCvg><CtxCvg elemRefs=\"%s\" testRefs=\"1\"/></DynCvg>"
+                            + "</Dynamic></CvgData>%n",
+                    file + 1, uri, items, statCvgs, coveredLines.toString().trim()));
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<Coverage toolId=\"dottest\" toolDispName=\"dotTEST\" toolVer=\"2023.2.0\""
+                + " pipelineBuildWorkingDirectory=\"C:/project\">\n"
+                + "<Locations>\n" + locations + "</Locations>\n"
+                + "<CoverageData>\n" + coverageData + "</CoverageData>\n"
+                + "</Coverage>\n";
+    }
+}
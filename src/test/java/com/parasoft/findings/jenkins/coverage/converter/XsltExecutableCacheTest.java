@@ -0,0 +1,129 @@
+package com.parasoft.findings.jenkins.coverage.converter;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import javax.xml.transform.stream.StreamSource;
+
+import net.sf.saxon.s9api.XsltExecutable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.*;
+
+class XsltExecutableCacheTest {
+    private static final String IDENTITY_XSL = "<xsl:stylesheet version=\"3.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:mode on-no-match=\"shallow-copy\"/>"
+            + "</xsl:stylesheet>";
+    private static final String RENAME_XSL = "<xsl:stylesheet version=\"3.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+            + "<xsl:template match=\"/*\"><renamed/></xsl:template>"
+            + "</xsl:stylesheet>";
+
+    @Test
+    void shouldCompileSameStylesheetOnlyOnce() {
+        XsltExecutableCache cache = new XsltExecutableCache();
+
+        XsltExecutable first = cache.getExecutable(IDENTITY_XSL.getBytes(StandardCharsets.UTF_8));
+        XsltExecutable second = cache.getExecutable(IDENTITY_XSL.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(second).isSameAs(first);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCompileDifferentStylesheetsSeparately() {
+        XsltExecutableCache cache = new XsltExecutableCache();
+
+        XsltExecutable identity = cache.getExecutable(IDENTITY_XSL.getBytes(StandardCharsets.UTF_8));
+        XsltExecutable rename = cache.getExecutable(RENAME_XSL.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(rename).isNotSameAs(identity);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isZero();
+        assertThat(cache.size()).isEqualTo(2);
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMissCount()).isZero();
+    }
+
+    @Test
+    void shouldFailOnInvalidStylesheet() {
+        XsltExecutableCache cache = new XsltExecutableCache();
+
+        assertThatExceptionOfType(ConversionException.class)
+                .isThrownBy(() -> cache.getExecutable("<xsl:invalid/>".getBytes(StandardCharsets.UTF_8)));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldReuseCompiledStylesheetAcrossConversions(@TempDir final Path tempDir) throws IOException {
+        Path input = Files.write(tempDir.resolve("input.xml"), "<report/>".getBytes(StandardCharsets.UTF_8));
+        File firstOutput = tempDir.resolve("first.xml").toFile();
+        File secondOutput = tempDir.resolve("second.xml").toFile();
+
+        XsltExecutableCache cache = XsltExecutableCache.getInstance();
+        long hits = cache.getHitCount();
+
+        new ConversionService().convert(new StreamSource(new StringReader(RENAME_XSL)), input.toFile(),
+                firstOutput, Collections.emptyMap());
+        new ConversionService().convert(new StreamSource(new StringReader(RENAME_XSL)), input.toFile(),
+                secondOutput, Collections.emptyMap());
+
+        assertThat(cache.getHitCount()).isGreaterThan(hits);
+        assertThat(firstOutput).content(StandardCharsets.UTF_8).contains("<renamed/>");
+        assertThat(secondOutput).hasSameTextualContentAs(firstOutput);
+    }
+
+    @Test
+    void shouldResolveIncludesAgainstSystemId(@TempDir final Path tempDir) throws IOException {
+        Path input = Files.write(tempDir.resolve("input.xml"), "<report/>".getBytes(StandardCharsets.UTF_8));
+        Files.write(tempDir.resolve("included.xsl"), RENAME_XSL.getBytes(StandardCharsets.UTF_8));
+        Path xsl = Files.write(tempDir.resolve("main.xsl"), ("<xsl:stylesheet version=\"3.0\" "
+                + "xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\"><xsl:include href=\"included.xsl\"/>"
+                + "</xsl:stylesheet>").getBytes(StandardCharsets.UTF_8));
+        File output = tempDir.resolve("output.xml").toFile();
+
+        try (InputStream xslInput = Files.newInputStream(xsl)) {
+            new ConversionService().convert(new StreamSource(xslInput, xsl.toUri().toString()), input.toFile(), output,
+                    Collections.emptyMap());
+        }
+
+        assertThat(output).content(StandardCharsets.UTF_8).contains("<renamed/>");
+    }
+
+    @Test
+    void shouldCompileSameContentAtDifferentLocationsSeparately() {
+        XsltExecutableCache cache = new XsltExecutableCache();
+
+        XsltExecutable first = cache.getExecutable(IDENTITY_XSL.getBytes(StandardCharsets.UTF_8), "file:/first/main.xsl");
+        XsltExecutable second = cache.getExecutable(IDENTITY_XSL.getBytes(StandardCharsets.UTF_8), "file:/second/main.xsl");
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldKeepEncodingOfStylesheet(@TempDir final Path tempDir) throws IOException {
+        Path input = Files.write(tempDir.resolve("input.xml"), "<report/>".getBytes(StandardCharsets.UTF_8));
+        byte[] xsl = ("<?xml version=\"1.0\" encoding=\"ISO-8859-1\"?>"
+                + "<xsl:stylesheet version=\"3.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+                + "<xsl:template match=\"/*\"><r\u00e9sum\u00e9/></xsl:template>"
+                + "</xsl:stylesheet>").getBytes(StandardCharsets.ISO_8859_1);
+        File output = tempDir.resolve("output.xml").toFile();
+
+        new ConversionService().convert(new StreamSource(new ByteArrayInputStream(xsl)), input.toFile(), output,
+                Collections.emptyMap());
+
+        assertThat(output).content(StandardCharsets.UTF_8).contains("<r\u00e9sum\u00e9/>");
+    }
+}
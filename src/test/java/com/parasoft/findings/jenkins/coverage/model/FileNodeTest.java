@@ -41,7 +41,12 @@ class FileNodeTest extends AbstractNodeTest {
 
     @Override
     void configureEqualsVerifier(final EqualsVerifierApi<? extends Node> verifier) {
+        var red = new LineCounters();
+        red.put(1, 1);
+        var blue = new LineCounters();
+        blue.put(2, 0);
         verifier.withPrefabValues(TreeString.class, TreeString.valueOf("src"), TreeString.valueOf("test"))
+                .withPrefabValues(LineCounters.class, red, blue)
                 .suppress(Warning.NONFINAL_FIELDS);
     }
 
@@ -89,4 +94,53 @@ class FileNodeTest extends AbstractNodeTest {
         assertThat(file.matches(Metric.FILE, otherPath.hashCode())).isTrue();
         assertThat(file.matches(Metric.FILE, "wrong".hashCode())).isFalse();
     }
+
+    @Test
+    void shouldAddRangesOfModifiedLines() {
+        var file = new FileNode("Coverage.java", "path");
+        assertThat(file.hasModifiedLines()).isFalse();
+
+        file.addModifiedLineRange(10, 12);
+        file.addModifiedLineRange(20, 20);
+        file.addModifiedLineRange(30, 29);
+        file.addModifiedLines(11, 40);
+
+        assertThat(file).hasOnlyModifiedLines(10, 11, 12, 20, 40);
+        assertThat(file.hasModifiedLine(12)).isTrue();
+        assertThat(file.hasModifiedLine(13)).isFalse();
+        assertThat(file.hasModifiedLine(-1)).isFalse();
+    }
+
+    @Test
+    void shouldIgnoreNegativeModifiedLines() {
+        var file = new FileNode("Coverage.java", "path");
+
+        file.addModifiedLines(-1, 5);
+        file.addModifiedLineRange(-3, 1);
+        file.addModifiedLineRange(-5, -2);
+
+        assertThat(file).hasOnlyModifiedLines(0, 1, 5);
+        assertThat(file.hasModifiedLine(-1)).isFalse();
+    }
+
+    @Test
+    void shouldIntersectCoveredAndModifiedLines() {
+        var file = new FileNode("Coverage.java", "path");
+        file.addCounters(10, 1, 0);
+        file.addCounters(11, 0, 1);
+        file.addCounters(12, 2, 2);
+        file.addCounters(50, 1, 0);
+
+        assertThat(file.hasCoveredAndModifiedLines()).isFalse();
+
+        file.addModifiedLineRange(11, 20);
+
+        assertThat(file.hasCoveredAndModifiedLines()).isTrue();
+        assertThat(file.getCoveredAndModifiedLines()).containsExactly(11, 12);
+        assertThat(file.filterByModifiedLines()).isInstanceOfSatisfying(FileNode.class, filtered -> {
+            assertThat(filtered.getLinesWithCoverage()).containsExactly(11, 12);
+            assertThat(filtered.getMissedOfLine(12)).isEqualTo(2);
+            assertThat(filtered).hasOnlyModifiedLines(11, 12, 13, 14, 15, 16, 17, 18, 19, 20);
+        });
+    }
 }
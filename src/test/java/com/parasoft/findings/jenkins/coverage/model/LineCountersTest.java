@@ -0,0 +1,85 @@
+package com.parasoft.findings.jenkins.coverage.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LineCountersTest {
+    @Test
+    void shouldBeEmptyAfterCreation() {
+        var counters = new LineCounters();
+
+        assertThat(counters.isEmpty()).isTrue();
+        assertThat(counters.size()).isZero();
+        assertThat(counters.get(1, -1)).isEqualTo(-1);
+        assertThat(counters.containsLine(1)).isFalse();
+        assertThat(counters.getLines()).isEmpty();
+        assertThat(counters.getCounters()).isEmpty();
+    }
+
+    @Test
+    void shouldKeepLinesSorted() {
+        var counters = new LineCounters();
+
+        for (int line = 100; line > 0; line -= 2) {
+            counters.put(line, line * 10);
+        }
+        counters.put(51, 510);
+
+        assertThat(counters.size()).isEqualTo(51);
+        assertThat(counters.getLines()).isSorted().startsWith(2, 4).endsWith(98, 100).contains(51);
+        assertThat(counters.getLine(25)).isEqualTo(51);
+        assertThat(counters.getCounter(25)).isEqualTo(510);
+        assertThat(counters.get(50, 0)).isEqualTo(500);
+        assertThat(counters.get(49, 0)).isZero();
+        assertThat(counters.containsLine(100)).isTrue();
+        assertThat(counters.containsLine(101)).isFalse();
+    }
+
+    @Test
+    void shouldReplaceCounterOfExistingLine() {
+        var counters = new LineCounters();
+        counters.put(1, 1);
+        counters.put(2, 2);
+
+        counters.put(1, 5);
+
+        assertThat(counters.size()).isEqualTo(2);
+        assertThat(counters.getCounters()).containsExactly(5, 2);
+    }
+
+    @Test
+    void shouldCopyAndMergeCounters() {
+        var counters = new LineCounters();
+        counters.put(1, 1);
+        counters.put(3, 3);
+
+        var copy = new LineCounters();
+        copy.putAll(counters);
+        assertThat(copy).isEqualTo(counters).hasSameHashCodeAs(counters).isNotSameAs(counters);
+
+        copy.put(2, 2);
+        assertThat(copy).isNotEqualTo(counters);
+        assertThat(counters.getLines()).containsExactly(1, 3);
+
+        var merged = new LineCounters();
+        merged.put(2, 0);
+        merged.put(4, 4);
+        merged.putAll(counters);
+        assertThat(merged.toMap()).containsExactly(entry(1, 1), entry(2, 0), entry(3, 3), entry(4, 4));
+    }
+
+    @Test
+    void shouldIgnoreUnusedCapacityInEquals() {
+        var counters = new LineCounters();
+        for (int line = 1; line <= 20; line++) {
+            counters.put(line, 1);
+        }
+
+        var copy = new LineCounters();
+        copy.putAll(counters);
+
+        assertThat(copy).isEqualTo(counters).hasSameHashCodeAs(counters);
+        assertThat(counters.toString()).startsWith("{1=1, 2=1");
+    }
+}
@@ -26,13 +26,16 @@ package com.parasoft.findings.jenkins.coverage.model;
 
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
 
+import org.apache.commons.lang3.StringUtils;
 import org.assertj.core.api.ThrowingConsumer;
 import org.junit.jupiter.api.Test;
 import org.junitpioneer.jupiter.DefaultLocale;
 
 import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
 import com.parasoft.findings.jenkins.coverage.model.Mutation.MutationBuilder;
+import edu.hm.hafner.util.TreeString;
 
 import static com.parasoft.findings.jenkins.coverage.model.Metric.CLASS;
 import static com.parasoft.findings.jenkins.coverage.model.Metric.FILE;
@@ -205,6 +208,87 @@ class NodeTest {
         assertThat(getCoverage(node, FILE)).hasCoveredPercentage(oneHalf);
     }
 
+    @Test
+    void shouldRecomputeAggregatedValuesAfterChanges() {
+        var node = new ModuleNode("Node");
+        var folder = new PackageNode("folder");
+        var coveredFile = new FileNode("fileCovered", "path");
+        node.addChild(folder);
+        folder.addChild(coveredFile);
+        coveredFile.addValue(new CoverageBuilder().setMetric(LINE).setCovered(1).setMissed(0).build());
+
+        assertThat(getCoverage(node, LINE)).hasCovered(1).hasMissed(0);
+        assertThat(node.getMetrics()).contains(LINE).doesNotContain(BRANCH);
+
+        var missedFile = new FileNode("fileMissed", "path");
+        missedFile.addValue(new CoverageBuilder().setMetric(LINE).setCovered(0).setMissed(1).build());
+        folder.addChild(missedFile);
+
+        assertThat(getCoverage(node, LINE)).hasCovered(1).hasMissed(1);
+        assertThat(getCoverage(node, FILE)).hasCovered(1).hasMissed(1);
+
+        missedFile.addValue(new CoverageBuilder().setMetric(BRANCH).setCovered(0).setMissed(2).build());
+
+        assertThat(getCoverage(node, BRANCH)).hasCovered(0).hasMissed(2);
+        assertThat(node.getMetrics()).contains(LINE, BRANCH);
+
+        coveredFile.replaceValue(new CoverageBuilder().setMetric(LINE).setCovered(3).setMissed(0).build());
+
+        assertThat(getCoverage(node, LINE)).hasCovered(3).hasMissed(1);
+
+        folder.removeChild(missedFile);
+
+        assertThat(getCoverage(node, LINE)).hasCovered(3).hasMissed(0);
+        assertThat(node.getValue(BRANCH)).isEmpty();
+        assertThat(node.getMetrics()).doesNotContain(BRANCH);
+    }
+
+    @Test
+    void shouldFindOrCreateChildrenByName() {
+        var module = new ModuleNode("module");
+        var first = module.findOrCreatePackageNode("edu.hm.hafner");
+        var file = first.findOrCreateFileNode("Node.java", TreeString.valueOf("edu/hm/hafner"));
+        var second = module.findOrCreatePackageNode("edu.hm.hafner.util");
+
+        assertThat(module.findOrCreatePackageNode("edu.hm.hafner")).isSameAs(first);
+        assertThat(module.findOrCreatePackageNode("edu.hm.hafner.util")).isSameAs(second);
+        assertThat(first.findOrCreateFileNode("Node.java", TreeString.valueOf("other")))
+                .isSameAs(file);
+        assertThat(file.findOrCreateClassNode("Node")).isSameAs(file.findOrCreateClassNode("Node"));
+        assertThat(module.getChildren()).containsExactly(first, second);
+
+        var duplicate = new PackageNode("edu.hm.hafner");
+        module.addChild(duplicate);
+        assertThat(module.findOrCreatePackageNode("edu.hm.hafner")).isSameAs(first);
+
+        module.removeChild(first);
+        assertThat(module.findOrCreatePackageNode("edu.hm.hafner")).isSameAs(duplicate);
+
+        module.removeChild(duplicate);
+        var created = module.findOrCreatePackageNode("edu.hm.hafner");
+        assertThat(created).isNotSameAs(first).isNotSameAs(duplicate);
+        assertThat(module.getChildren()).containsExactly(second, created);
+    }
+
+    @Test
+    void shouldMergeTreesWithManyChildren() {
+        var left = new ModuleNode("module");
+        var right = new ModuleNode("module");
+        for (int i = 0; i < 100; i++) {
+            left.findOrCreatePackageNode("package" + i).createFileNode("File" + i + ".java",
+                    TreeString.valueOf("path"));
+            right.findOrCreatePackageNode("package" + (i + 50)).createFileNode("Other" + i + ".java",
+                    TreeString.valueOf("path"));
+        }
+
+        var merged = left.merge(right);
+
+        assertThat(merged.getChildren()).hasSize(150);
+        assertThat(merged.getAll(FILE)).hasSize(200);
+        assertThat(((ModuleNode) merged).findOrCreatePackageNode("package75").getChildren())
+                .extracting(Node::getName).containsExactly("File75.java", "Other25.java");
+    }
+
     @Test
     void shouldDeepCopyNodeTree() {
         var node = new ModuleNode("Node");
@@ -276,6 +360,51 @@ class NodeTest {
                 .isThrownBy(() -> module.merge(moduleTwo));
     }
 
+    @Test
+    void shouldMergeListOfTreesLikePairwiseMerge() {
+        List<Node> reports = List.of(createReport(0, 3), createReport(2, 6), createReport(1, 4),
+                new ModuleNode("module"), createReport(5, 8));
+        List<Node> originals = reports.stream().map(Node::copyTree).collect(Collectors.toList());
+
+        var merged = Node.merge(reports);
+
+        assertThat(merged).isEqualTo(reports.stream().reduce(Node::merge).orElseThrow());
+        assertThat(merged.getAll(PACKAGE)).hasSize(8);
+        assertThat(merged.getAll(FILE)).hasSize(16);
+        assertThat(reports).isEqualTo(originals);
+        assertThat(merged.getParasoftToolName()).isNull();
+    }
+
+    @Test
+    void shouldMergeListWithSameNodes() {
+        var report = createReport(0, 2);
+        report.setParasoftToolName("Jtest");
+        var other = createReport(1, 3);
+        other.setParasoftToolName("Jtest");
+
+        assertThat(Node.merge(List.of(report, report))).isSameAs(report);
+
+        var merged = Node.merge(List.of(report, report, other, report));
+        assertThat(merged).isEqualTo(report.merge(other).merge(report));
+        assertThat(merged.getParasoftToolName()).isEqualTo("Jtest");
+    }
+
+    private static ModuleNode createReport(final int firstPackage, final int lastPackage) {
+        var module = new ModuleNode("module");
+        module.addValue(new CoverageBuilder().setMetric(INSTRUCTION).setCovered(firstPackage).setMissed(1).build());
+        for (int i = firstPackage; i < lastPackage; i++) {
+            var packageNode = module.findOrCreatePackageNode("package" + i);
+            for (String name : List.of("First.java", "Second.java")) {
+                var file = packageNode.findOrCreateFileNode(name, TreeString.valueOf("package" + i));
+                file.addValue(new CoverageBuilder().setMetric(LINE)
+                        .setCovered(i % 2 + lastPackage % 2).setMissed(i % 3 == 0 ? 1 : 0).build());
+                file.addCounters(i + 1, 1, 0);
+                file.findOrCreateClassNode(name.replace(".java", StringUtils.EMPTY));
+            }
+        }
+        return module;
+    }
+
     @Test
     void shouldCombineReportsOfSameModuleContainingDifferentPackages() {
         var module = new ModuleNode("edu.hm.hafner.module1");
@@ -0,0 +1,139 @@
+package com.parasoft.findings.jenkins.coverage.model.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import javax.xml.transform.stream.StreamSource;
+
+import net.sf.saxon.s9api.QName;
+import net.sf.saxon.s9api.XdmAtomicValue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junitpioneer.jupiter.DefaultLocale;
+
+import com.parasoft.findings.jenkins.coverage.converter.ConversionService;
+import com.parasoft.findings.jenkins.coverage.model.Coverage.CoverageBuilder;
+import com.parasoft.findings.jenkins.coverage.model.FileNode;
+import com.parasoft.findings.jenkins.coverage.model.ModuleNode;
+import com.parasoft.findings.jenkins.coverage.model.Node;
+import edu.hm.hafner.util.FilteredLog;
+
+import static com.parasoft.findings.jenkins.coverage.model.Metric.*;
+import static org.assertj.core.api.Assertions.*;
+
+@DefaultLocale("en")
+class ParasoftCoverageParserTest extends AbstractParserTest {
+    private static final String PARASOFT_COVERAGE = "/com/parasoft/findings/jenkins/coverage/parasoft_coverage.xml";
+    private static final String COBERTURA_XSL = "/com/parasoft/findings/jenkins/coverage/cobertura.xsl";
+    private static final String WORKING_DIRECTORY = "/workspace/test0";
+
+    @Override
+    ParasoftCoverageParser createParser() {
+        return new ParasoftCoverageParser();
+    }
+
+    @Test
+    void shouldReadJtestReport() {
+        Node tree = readReport(PARASOFT_COVERAGE);
+
+        assertThat(tree.getParasoftToolName()).isEqualTo("Jtest");
+        assertThat(tree.getValue(LINE)).contains(
+                new CoverageBuilder().setMetric(LINE).setCovered(28).setMissed(8).build());
+        assertThat(tree.getAll(PACKAGE)).extracting(Node::getName).containsExactly("<default>",
+                "com.parasoft",
+                "com.parasoft.another",
+                "com.parasoft.interfaces2",
+                "com.parasoft.nested");
+        assertThat(tree.getAll(CLASS)).extracting(Node::getName).containsExactlyInAnyOrder("Calculator",
+                "Calculator#Screen",
+                "Calculator#Screen#Brightness",
+                "com.parasoft.Convertor",
+                "com.parasoft.another.Convertor",
+                "com.parasoft.interfaces2.ICalculator",
+                "com.parasoft.nested.PhoneFactory",
+                "com.parasoft.nested.PhoneFactory#Phone",
+                "com.parasoft.nested.PhoneFactory#Brand");
+        assertThat(tree.getAllFileNodes()).extracting(FileNode::getRelativePath).containsExactly(
+                "/workspace/test0/Calculator.java",
+                "/workspace/test0/com/parasoft/Convertor.java",
+                "/workspace/test0/com/parasoft/another/Convertor.java",
+                "/workspace/test0/com/parasoft/interfaces2/ICalculator.java",
+                "/workspace/test0/com/parasoft/nested/PhoneFactory.java");
+
+        FileNode phoneFactory = tree.findFile("PhoneFactory.java").orElseThrow();
+        assertThat(phoneFactory.getLinesWithCoverage()).hasSize(17);
+        assertThat(phoneFactory.getMissedLines()).containsExactly(6, 24, 25, 26, 27, 35, 36);
+    }
+
+    @Test
+    void shouldCreateRelativePathsForWorkingDirectory() {
+        ModuleNode tree = readReport(PARASOFT_COVERAGE, new ParasoftCoverageParser(WORKING_DIRECTORY));
+
+        assertThat(tree.getAll(PACKAGE)).extracting(Node::getName).containsExactly("<none>",
+                "com.parasoft",
+                "com.parasoft.another",
+                "com.parasoft.interfaces2",
+                "com.parasoft.nested");
+        assertThat(tree.getAllFileNodes()).extracting(FileNode::getRelativePath).containsExactly(
+                "Calculator.java",
+                "com/parasoft/Convertor.java",
+                "com/parasoft/another/Convertor.java",
+                "com/parasoft/interfaces2/ICalculator.java",
+                "com/parasoft/nested/PhoneFactory.java");
+    }
+
+    @Test
+    void shouldCreateSameTreeAsCoberturaConversion(@TempDir final Path tempDir) {
+        assertThat(readReport(PARASOFT_COVERAGE))
+                .isEqualTo(convertAndReadCoberturaReport(tempDir, ""));
+        assertThat(readReport(PARASOFT_COVERAGE, new ParasoftCoverageParser(WORKING_DIRECTORY)))
+                .isEqualTo(convertAndReadCoberturaReport(tempDir, WORKING_DIRECTORY));
+    }
+
+    @Test
+    void shouldFailWhenReportHasNoCoverageData() {
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(() -> readReport("/com/parasoft/findings/jenkins/coverage/parasoft_coverage_no_data.xml"))
+                .withMessage("No coverage information found in the specified file.");
+    }
+
+    private ModuleNode readReport(final String fileName, final ParasoftCoverageParser parser) {
+        try (Reader reader = Files.newBufferedReader(getResourcePath(fileName), StandardCharsets.UTF_8)) {
+            return parser.parse(reader, getLog());
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private ModuleNode convertAndReadCoberturaReport(final Path tempDir, final String workingDirectory) {
+        try {
+            Path cobertura = Files.createTempFile(tempDir, "cobertura", ".xml");
+            new ConversionService().convert(new StreamSource(getResourcePath(COBERTURA_XSL).toFile()),
+                    getResourcePath(PARASOFT_COVERAGE).toFile(), cobertura.toFile(),
+                    Map.of(new QName("pipelineBuildWorkingDirectory"), new XdmAtomicValue(workingDirectory)));
+            try (Reader reader = Files.newBufferedReader(cobertura, StandardCharsets.UTF_8)) {
+                return new CoberturaParser().parse(reader, new FilteredLog("Errors"));
+            }
+        }
+        catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private Path getResourcePath(final String fileName) {
+        try {
+            return Paths.get(Objects.requireNonNull(ParasoftCoverageParserTest.class.getResource(fileName)).toURI());
+        }
+        catch (URISyntaxException e) {
+            throw new AssertionError(e);
+        }
+    }
+}